@@ -0,0 +1,64 @@
+package swdmt.redistricting;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+/**
+ * Benchmarks enumeration of all districts of a specific size
+ * by {@link AllDistrictGen}.
+ * {@link DedupeBaselineBenchmark} compares the former linear-scan
+ * deduplication at sizes where it finishes.
+ *
+ * @author agent
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AllDistrictGenBenchmark {
+    /** Side length of the square grid. */
+    @Param({"6", "8", "12"})
+    private int gridSize;
+
+    /** Number of locations in each district. */
+    @Param({"4", "6"})
+    private int districtSize;
+
+    /**
+     * Collects every district into a list.
+     * @return the districts
+     */
+    @Benchmark
+    public List<District> generateDistricts() {
+        return AllDistrictGen.generateDistricts(this.gridSize, this.gridSize,
+                                                this.districtSize);
+    }
+
+    /**
+     * Walks the lazy iterator without collecting the districts.
+     * @return the number of districts
+     */
+    @Benchmark
+    public long districtIterator() {
+        long count = 0;
+        Iterator<District> it = AllDistrictGen.districtIterator(
+                this.gridSize, this.gridSize, this.districtSize);
+        while (it.hasNext()) {
+            it.next();
+            count++;
+        }
+        return count;
+    }
+}
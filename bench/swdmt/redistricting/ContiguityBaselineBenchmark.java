@@ -0,0 +1,96 @@
+package swdmt.redistricting;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+/**
+ * Compares {@link District#contiguityValid()} with the former pass-based
+ * flood fill on snake-shaped districts, the worst case for the former
+ * algorithm.  The former algorithm takes time quadratic or worse in the
+ * size of the snake, so only small snakes are measured here; see
+ * {@link ContiguityBenchmark} for large ones.
+ *
+ * @author agent
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ContiguityBaselineBenchmark {
+    /** Approximate number of cells in the district. */
+    @Param({"250", "500", "1000"})
+    private int snakeCells;
+
+    /** The snake-shaped district. */
+    private District snake;
+
+    /** Builds the snake for this trial. */
+    @Setup(Level.Trial)
+    public void buildSnake() {
+        this.snake = new District(ContiguityBenchmark.snake(this.snakeCells));
+        if (!formerContiguityValid(this.snake.locations())) {
+            throw new IllegalStateException("Former check disagrees");
+        }
+    }
+
+    /**
+     * Checks the contiguity of the snake in linear time.
+     * @return true, since the snake is contiguous
+     */
+    @Benchmark
+    public boolean contiguityValid() {
+        return this.snake.contiguityValid();
+    }
+
+    /**
+     * Checks the contiguity of the snake with the former algorithm.
+     * @return true, since the snake is contiguous
+     */
+    @Benchmark
+    public boolean formerContiguityValid() {
+        return formerContiguityValid(this.snake.locations());
+    }
+
+    /**
+     * The former contiguity check: repeatedly scans every location
+     * for neighbors of the locations reached so far.
+     * @param theLocations the locations of the district
+     * @return true if all locations are contiguous; false otherwise
+     */
+    static boolean formerContiguityValid(
+                               final Collection<Location> theLocations) {
+        if (theLocations.size() < 2) {
+            return true;
+        }
+        Set<Location> reached = new TreeSet<>();
+        Set<Location> found = new TreeSet<>();
+        reached.add(theLocations.iterator().next());
+        boolean growing = true;
+        while (reached.size() < theLocations.size() && growing) {
+            reached.forEach(current -> theLocations
+                    .stream()
+                    .filter(current::isAdjacentTo)
+                    .filter(loc -> !reached.contains(loc))
+                    .forEach(found::add));
+            growing = !found.isEmpty();
+            reached.addAll(found);
+            found.clear();
+        }
+        return reached.size() == theLocations.size();
+    }
+}
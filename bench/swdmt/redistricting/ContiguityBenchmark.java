@@ -0,0 +1,78 @@
+package swdmt.redistricting;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+/**
+ * Benchmarks {@link District#contiguityValid()} on snake-shaped
+ * districts: full rows joined alternately at their right and left
+ * ends by single cells.
+ * {@link ContiguityBaselineBenchmark} compares the former algorithm
+ * at sizes where it finishes.
+ *
+ * @author agent
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ContiguityBenchmark {
+    /** Width of the box the snake winds through. */
+    private static final int SNAKE_WIDTH = 50;
+
+    /** Approximate number of cells in the district. */
+    @Param({"1000", "10000", "100000"})
+    private int snakeCells;
+
+    /** The snake-shaped district. */
+    private District snake;
+
+    /** Builds the snake for this trial. */
+    @Setup(Level.Trial)
+    public void buildSnake() {
+        this.snake = new District(snake(this.snakeCells));
+    }
+
+    /**
+     * Builds a snake: full rows joined alternately at their right
+     * and left ends by single connecting cells.
+     * @param size approximate number of cells
+     * @return the cells of the snake
+     */
+    static List<Location> snake(final int size) {
+        List<Location> cells = new ArrayList<>(size);
+        int y = 0;
+        while (cells.size() < size) {
+            for (int x = 0; x < SNAKE_WIDTH; x++) {
+                cells.add(Location.of(x, y));
+            }
+            int joinX = ((y / 2) % 2 == 0) ? SNAKE_WIDTH - 1 : 0;
+            cells.add(Location.of(joinX, y + 1));
+            y += 2;
+        }
+        return cells;
+    }
+
+    /**
+     * Checks the contiguity of the snake.
+     * @return true, since the snake is contiguous
+     */
+    @Benchmark
+    public boolean contiguityValid() {
+        return this.snake.contiguityValid();
+    }
+}
@@ -0,0 +1,124 @@
+package swdmt.redistricting;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+/**
+ * Compares enumeration of all districts of a specific size by
+ * {@link AllDistrictGen#generateDistricts(int, int, int)} with the
+ * former enumeration, which deduplicated each placement by scanning
+ * every district accepted before it.  The former enumeration takes time
+ * quadratic in the number of districts, so only small grids are
+ * measured here; see {@link AllDistrictGenBenchmark} for larger ones.
+ *
+ * @author agent
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DedupeBaselineBenchmark {
+    /** Side length of the square grid. */
+    @Param({"4", "6", "8"})
+    private int gridSize;
+
+    /** Number of locations in each district. */
+    @Param({"4", "5"})
+    private int districtSize;
+
+    /**
+     * Collects every district with the current generator.
+     * @return the districts
+     */
+    @Benchmark
+    public List<District> generateDistricts() {
+        return AllDistrictGen.generateDistricts(this.gridSize, this.gridSize,
+                                                this.districtSize);
+    }
+
+    /**
+     * Collects every district with the former linear-scan deduplication.
+     * @return the districts
+     */
+    @Benchmark
+    public List<District> linearScan() {
+        return linearScan(this.gridSize, this.gridSize, this.districtSize);
+    }
+
+    /**
+     * Reference enumeration that deduplicates by scanning every
+     * previously accepted district, as the generator originally did.
+     * @param gridWidth width of the grid
+     * @param gridHeight height of the grid
+     * @param districtSize size of a single district
+     * @return all districts of the specified size
+     */
+    static List<District> linearScan(final int gridWidth,
+                                     final int gridHeight,
+                                     final int districtSize) {
+        List<District> accepted = new ArrayList<>();
+        List<? extends List<Location>> patterns =
+                StarGenerator.generatePattern(districtSize);
+        for (int x = 0; x < gridWidth; x++) {
+            for (int y = 0; y < gridHeight; y++) {
+                for (List<Location> pattern : patterns) {
+                    List<Location> placed = new ArrayList<>();
+                    boolean inBounds = true;
+                    for (Location loc : pattern) {
+                        int px = loc.xCoordinate() + x;
+                        int py = loc.yCoordinate() + y;
+                        inBounds &= px >= 0 && py >= 0
+                                    && px < gridWidth && py < gridHeight;
+                        placed.add(new Location(px, py));
+                    }
+                    if (!inBounds) {
+                        continue;
+                    }
+                    District candidate = new District(placed);
+                    boolean duplicate = false;
+                    for (int i = 0; i < accepted.size() && !duplicate; i++) {
+                        duplicate = sameLocations(accepted.get(i), candidate);
+                    }
+                    if (!duplicate) {
+                        accepted.add(candidate);
+                    }
+                }
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Compares two districts location by location.
+     * @param a first district
+     * @param b second district
+     * @return true if both contain the same locations
+     */
+    private static boolean sameLocations(final District a, final District b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (Location locA : a.locations()) {
+            boolean anyMatch = false;
+            for (Location locB : b.locations()) {
+                anyMatch |= locA.equals(locB);
+            }
+            if (!anyMatch) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,117 @@
+package swdmt.redistricting;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+/**
+ * Compares {@link Redistrictor#generateDistricts(Region, int)} with the
+ * former implementation, which copied the region's locations on every
+ * loop iteration.  The former implementation takes time quadratic in
+ * the size of the region, so regions larger than 100x100 are measured
+ * only by {@link RedistrictorBenchmark}.
+ *
+ * @author agent
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GenerateDistrictsBaselineBenchmark {
+    /** Side length of the square region. */
+    @Param({"25", "50", "100"})
+    private int gridSize;
+
+    /** Number of districts to generate. */
+    @Param({"10"})
+    private int districtCount;
+
+    /** The region as a set of locations and voters. */
+    private Region region;
+    /** The region stored densely. */
+    private GridRegion gridRegion;
+
+    /** Builds the regions for this trial. */
+    @Setup(Level.Trial)
+    public void buildRegions() {
+        this.region = new Region(this.gridSize * this.gridSize);
+        this.gridRegion = new GridRegion(this.gridSize, this.gridSize);
+    }
+
+    /**
+     * Generates districts for the Region.
+     * @return the districts
+     */
+    @Benchmark
+    public Set<District> generateDistricts() {
+        return Redistrictor.generateDistricts(this.region, this.districtCount);
+    }
+
+    /**
+     * Generates districts for the GridRegion.
+     * @return the districts
+     */
+    @Benchmark
+    public Set<District> generateDistrictsGridRegion() {
+        return Redistrictor.generateDistricts(this.gridRegion,
+                                              this.districtCount);
+    }
+
+    /**
+     * Generates districts for the Region with the former implementation.
+     * @return the districts
+     */
+    @Benchmark
+    public Set<District> formerGenerateDistricts() {
+        return formerGenerateDistricts(this.region, this.districtCount);
+    }
+
+    /**
+     * The former district generation, which called
+     * {@link Region#locations()} in its loop condition.
+     * @param theRegion the region to be redistricted
+     * @param numDistricts the number of districts
+     * @return the districts
+     */
+    static Set<District> formerGenerateDistricts(final Region theRegion,
+                                                 final int numDistricts) {
+        int perDistrict = theRegion.numberOfVoters() / numDistricts;
+        int augmented = theRegion.numberOfVoters() % numDistricts;
+        Iterator<Location> locit = theRegion.locations().iterator();
+        Location[] snaking = new Location[theRegion.locations().size()];
+        for (int i = 0; i < theRegion.locations().size(); i++) {
+            snaking[i] = locit.next();
+        }
+        Arrays.sort(snaking, new SnakingLocationComparer());
+        Set<District> districts = new HashSet<>();
+        int current = 0;
+        for (int i = 0; i < numDistricts; i++) {
+            List<Location> locList = new ArrayList<>();
+            for (int vi = 0; vi < perDistrict; vi++) {
+                locList.add(snaking[current++]);
+            }
+            if (i < augmented) {
+                locList.add(snaking[current++]);
+            }
+            districts.add(new District(locList));
+        }
+        return districts;
+    }
+}
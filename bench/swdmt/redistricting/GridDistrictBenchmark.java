@@ -0,0 +1,133 @@
+package swdmt.redistricting;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+/**
+ * Benchmarks membership and pairwise intersection of every district
+ * of a specific size, held as {@link District} and as {@link GridDistrict}.
+ *
+ * @author agent
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GridDistrictBenchmark {
+    /** Side length of the square grid. */
+    @Param({"6", "8"})
+    private int gridSize;
+
+    /** Number of locations in each district. */
+    @Param({"4", "6"})
+    private int districtSize;
+
+    /** Every district of the size, as generated. */
+    private District[] districts;
+    /** The same districts as bitmaps. */
+    private GridDistrict[] grids;
+
+    /** Generates the districts in both representations. */
+    @Setup
+    public void setUp() {
+        List<District> all = AllDistrictGen.generateDistricts(
+                this.gridSize, this.gridSize, this.districtSize);
+        this.districts = all.toArray(new District[0]);
+        this.grids = new GridDistrict[this.districts.length];
+        for (int i = 0; i < this.districts.length; i++) {
+            this.grids[i] = new GridDistrict(this.gridSize, this.gridSize,
+                                             this.districts[i]);
+        }
+    }
+
+    /**
+     * Counts, for every cell, the districts containing it,
+     * using the location set of each district.
+     * @return the total count
+     */
+    @Benchmark
+    public long districtContains() {
+        long count = 0;
+        for (int y = 0; y < this.gridSize; y++) {
+            for (int x = 0; x < this.gridSize; x++) {
+                Location loc = Location.of(x, y);
+                for (District d : this.districts) {
+                    if (d.locationsView().contains(loc)) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts, for every cell, the districts containing it,
+     * using the bitmap of each district.
+     * @return the total count
+     */
+    @Benchmark
+    public long gridContains() {
+        long count = 0;
+        for (int y = 0; y < this.gridSize; y++) {
+            for (int x = 0; x < this.gridSize; x++) {
+                for (GridDistrict g : this.grids) {
+                    if (g.contains(x, y)) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts the intersecting pairs of districts,
+     * probing the location set of one with each location of the other.
+     * @return the number of intersecting pairs
+     */
+    @Benchmark
+    public long districtIntersects() {
+        long count = 0;
+        for (int i = 0; i < this.districts.length; i++) {
+            for (int j = i + 1; j < this.districts.length; j++) {
+                for (Location loc : this.districts[i].locationsView()) {
+                    if (this.districts[j].locationsView().contains(loc)) {
+                        count++;
+                        break;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts the intersecting pairs of districts, a word at a time.
+     * @return the number of intersecting pairs
+     */
+    @Benchmark
+    public long gridIntersects() {
+        long count = 0;
+        for (int i = 0; i < this.grids.length; i++) {
+            for (int j = i + 1; j < this.grids.length; j++) {
+                if (this.grids[i].intersects(this.grids[j])) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
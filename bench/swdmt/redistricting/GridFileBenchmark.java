@@ -0,0 +1,101 @@
+package swdmt.redistricting;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+/**
+ * Benchmarks loading a square region, and a plan of it, from grid files.
+ *
+ * @author agent
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GridFileBenchmark {
+    /** Side length of the square region. */
+    @Param({"1000", "4000"})
+    private int gridSize;
+
+    /** Number of districts of the plan. */
+    private static final int DISTRICTS = 100;
+
+    /** The directory of the files. */
+    private Path directory;
+
+    /** The file holding only the region. */
+    private Path regionFile;
+
+    /** The file holding the plan. */
+    private Path planFile;
+
+    /**
+     * Writes the files for this trial.
+     * @throws IOException if the directory cannot be created
+     */
+    @Setup(Level.Trial)
+    public void build() throws IOException {
+        int cells = this.gridSize * this.gridSize;
+        Random random = new Random(1L);
+        byte[] parties = new byte[cells];
+        int[] labels = new int[cells];
+        for (int i = 0; i < cells; i++) {
+            parties[i] = (byte) random.nextInt(Party.values().length);
+            labels[i] = i % DISTRICTS;
+        }
+        GridRegion region = new GridRegion(this.gridSize, this.gridSize,
+                                           parties);
+        this.directory = Files.createTempDirectory("grid-bench");
+        this.regionFile = this.directory.resolve("region.grid");
+        this.planFile = this.directory.resolve("plan.grid");
+        GridFile.write(this.regionFile, region);
+        GridFile.write(this.planFile,
+                       new DistrictPlan(region, DISTRICTS, labels));
+    }
+
+    /**
+     * Deletes the files of this trial.
+     * @throws IOException if a file cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        Files.deleteIfExists(this.regionFile);
+        Files.deleteIfExists(this.planFile);
+        Files.deleteIfExists(this.directory);
+    }
+
+    /**
+     * Loads the region.
+     * @return the region
+     */
+    @Benchmark
+    public GridRegion readRegion() {
+        return GridFile.readRegion(this.regionFile);
+    }
+
+    /**
+     * Loads the plan and its region.
+     * @return the plan
+     */
+    @Benchmark
+    public DistrictPlan readPlan() {
+        return GridFile.readPlan(this.planFile);
+    }
+}
@@ -0,0 +1,71 @@
+package swdmt.redistricting;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+/**
+ * Benchmarks parallel enumeration of all districts of a specific size
+ * with fork-join pools of increasing parallelism.
+ * Compare throughput across the <code>threads</code> parameter to see
+ * how enumeration scales; pass <code>-p threads=1,2,4,...,N</code>
+ * to match the cores of the machine.
+ *
+ * @author agent
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParallelEnumerationBenchmark {
+    /** Side length of the square grid. */
+    @Param({"16"})
+    private int gridSize;
+
+    /** Number of locations in each district. */
+    @Param({"7"})
+    private int districtSize;
+
+    /** Parallelism of the fork-join pool. */
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    /** The pool running the enumeration. */
+    private ForkJoinPool pool;
+
+    /** Creates the pool for this trial. */
+    @Setup(Level.Trial)
+    public void createPool() {
+        this.pool = new ForkJoinPool(this.threads);
+    }
+
+    /** Shuts down the pool after this trial. */
+    @TearDown(Level.Trial)
+    public void shutdownPool() {
+        this.pool.shutdown();
+    }
+
+    /**
+     * Enumerates every district in parallel.
+     * @return the districts
+     */
+    @Benchmark
+    public List<District> generateDistrictsParallel() {
+        return AllDistrictGen.generateDistrictsParallel(
+                this.gridSize, this.gridSize, this.districtSize, this.pool);
+    }
+}
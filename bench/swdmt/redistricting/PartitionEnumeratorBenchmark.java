@@ -0,0 +1,51 @@
+package swdmt.redistricting;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+/**
+ * Benchmarks counting the partitions of an n x n grid into n districts
+ * with {@link PartitionEnumerator}.
+ *
+ * @author agent
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PartitionEnumeratorBenchmark {
+    /** Side length of the square region and number of districts. */
+    @Param({"4", "5", "6"})
+    private int gridSize;
+
+    /** The enumerator being counted. */
+    private PartitionEnumerator enumerator;
+
+    /** Builds the links for this trial. */
+    @Setup(Level.Trial)
+    public void createEnumerator() {
+        this.enumerator = new PartitionEnumerator(
+                new GridRegion(this.gridSize, this.gridSize), this.gridSize);
+    }
+
+    /**
+     * Counts every partition.
+     * @return the number of partitions
+     */
+    @Benchmark
+    public long count() {
+        return this.enumerator.count();
+    }
+}
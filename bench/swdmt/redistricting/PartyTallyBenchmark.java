@@ -0,0 +1,100 @@
+package swdmt.redistricting;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+/**
+ * Benchmarks counting the voters of each party in a square district,
+ * by walking the region's voters and by {@link PartyTally}.
+ *
+ * @author agent
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PartyTallyBenchmark {
+    /** Side length of the square region. */
+    @Param({"100"})
+    private int gridSize;
+
+    /** Side length of the square district. */
+    @Param({"10", "50"})
+    private int districtSize;
+
+    /** The region. */
+    private Region region;
+
+    /** The tally of the region. */
+    private PartyTally tally;
+
+    /** The district, at the middle of the region. */
+    private District district;
+
+    /** Least coordinate of the district. */
+    private int corner;
+
+    /** Builds the region, tally and district for this trial. */
+    @Setup(Level.Trial)
+    public void build() {
+        this.region = GridRegion.of(new Region(this.gridSize * this.gridSize));
+        this.tally = new PartyTally(this.region);
+        this.corner = (this.gridSize - this.districtSize) / 2;
+        List<Location> locs = new ArrayList<>();
+        for (int x = 0; x < this.districtSize; x++) {
+            for (int y = 0; y < this.districtSize; y++) {
+                locs.add(Location.of(this.corner + x, this.corner + y));
+            }
+        }
+        this.district = new District(locs);
+        this.tally.tally(0, 0, 1, 1);
+    }
+
+    /**
+     * Counts by matching every voter of the region against the district.
+     * @return the counts
+     */
+    @Benchmark
+    public int[] voterWalk() {
+        int[] counts = new int[Party.values().length];
+        for (Voter v : this.region.voters()) {
+            if (this.district.locationsView().contains(v.location())) {
+                counts[v.affiliation().ordinal()]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Counts by indexing the party column at each district location.
+     * @return the counts
+     */
+    @Benchmark
+    public int[] districtTally() {
+        return this.tally.tally(this.district);
+    }
+
+    /**
+     * Counts from the summed-area tables.
+     * @return the counts
+     */
+    @Benchmark
+    public int[] rectangleTally() {
+        return this.tally.tally(this.corner, this.corner,
+                                this.districtSize, this.districtSize);
+    }
+}
@@ -0,0 +1,99 @@
+package swdmt.redistricting;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+/**
+ * Benchmarks scoring a district plan with {@link PlanMetrics},
+ * which reuses its buffers from plan to plan, and updating the scores
+ * as a boundary cell moves between districts.
+ *
+ * @author agent
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PlanMetricsBenchmark {
+    /** Side length of the square region. */
+    @Param({"10", "100"})
+    private int gridSize;
+
+    /** Number of districts. */
+    @Param({"10"})
+    private int districts;
+
+    /** The plan to score. */
+    private DistrictPlan plan;
+
+    /** The metrics engine. */
+    private PlanMetrics metrics;
+
+    /** The engine moving a boundary cell back and forth. */
+    private PlanMetrics moving;
+
+    /** X-coordinate of the boundary cell. */
+    private int cellX;
+
+    /** Y-coordinate of the boundary cell. */
+    private int cellY;
+
+    /** District of the neighbor of the boundary cell. */
+    private int other;
+
+    /** Builds the region, plan and engines for this trial. */
+    @Setup(Level.Trial)
+    public void build() {
+        Region region =
+                GridRegion.of(new Region(this.gridSize * this.gridSize));
+        ReComChain chain = new ReComChain(region, this.districts, 1L);
+        for (int i = 0; i < this.districts; i++) {
+            chain.step();
+        }
+        this.plan = chain.plan();
+        this.metrics = new PlanMetrics(region);
+        this.moving = new PlanMetrics(region).evaluate(this.plan);
+        for (int y = 0; y < this.gridSize; y++) {
+            for (int x = 0; x + 1 < this.gridSize; x++) {
+                if (this.plan.district(x, y) != this.plan.district(x + 1, y)) {
+                    this.cellX = x;
+                    this.cellY = y;
+                    this.other = this.plan.district(x + 1, y);
+                }
+            }
+        }
+    }
+
+    /**
+     * Scores the plan.
+     * @return the efficiency gap
+     */
+    @Benchmark
+    public double evaluatePlan() {
+        return this.metrics.evaluate(this.plan).efficiencyGap();
+    }
+
+    /**
+     * Moves the boundary cell to its neighbor's district and back,
+     * updating the scores incrementally.
+     * @return the efficiency gap
+     */
+    @Benchmark
+    public double moveCell() {
+        int from = this.moving.move(this.cellX, this.cellY, this.other);
+        this.moving.move(this.cellX, this.cellY, from);
+        return this.moving.efficiencyGap();
+    }
+}
@@ -0,0 +1,55 @@
+package swdmt.redistricting;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+/**
+ * Benchmarks steps of the {@link ReComChain} sampler.
+ *
+ * @author agent
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ReComBenchmark {
+    /** Side length of the square region. */
+    @Param({"100"})
+    private int gridSize;
+
+    /** Number of districts in each plan. */
+    @Param({"10", "50"})
+    private int districtCount;
+
+    /** The chain being stepped. */
+    private ReComChain chain;
+
+    /** Creates the chain for this trial. */
+    @Setup(Level.Trial)
+    public void createChain() {
+        this.chain = new ReComChain(new GridRegion(this.gridSize,
+                                                   this.gridSize),
+                                    this.districtCount, 1L);
+    }
+
+    /**
+     * Takes one step of the chain.
+     * @return whether the plan changed
+     */
+    @Benchmark
+    public boolean step() {
+        return this.chain.step();
+    }
+}
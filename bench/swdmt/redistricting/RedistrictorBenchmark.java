@@ -0,0 +1,70 @@
+package swdmt.redistricting;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+/**
+ * Benchmarks {@link Redistrictor#generateDistricts(Region, int)}
+ * on square regions held as a Region and as a GridRegion.
+ * {@link GenerateDistrictsBaselineBenchmark} compares the former
+ * implementation at sizes where it finishes.
+ *
+ * @author agent
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RedistrictorBenchmark {
+    /** Side length of the square region. */
+    @Param({"50", "100", "500"})
+    private int gridSize;
+
+    /** Number of districts to generate. */
+    @Param({"5", "50"})
+    private int districtCount;
+
+    /** The region as a set of locations and voters. */
+    private Region region;
+    /** The region stored densely. */
+    private GridRegion gridRegion;
+
+    /** Builds the regions for this trial. */
+    @Setup(Level.Trial)
+    public void buildRegions() {
+        this.region = new Region(this.gridSize * this.gridSize);
+        this.gridRegion = new GridRegion(this.gridSize, this.gridSize);
+    }
+
+    /**
+     * Generates districts for the Region.
+     * @return the districts
+     */
+    @Benchmark
+    public Set<District> generateDistricts() {
+        return Redistrictor.generateDistricts(this.region, this.districtCount);
+    }
+
+    /**
+     * Generates districts for the GridRegion.
+     * @return the districts
+     */
+    @Benchmark
+    public Set<District> generateDistrictsGridRegion() {
+        return Redistrictor.generateDistricts(this.gridRegion,
+                                              this.districtCount);
+    }
+}
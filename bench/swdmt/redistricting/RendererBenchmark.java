@@ -0,0 +1,90 @@
+package swdmt.redistricting;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+/**
+ * Benchmarks {@link Renderer#renderAsASCII(boolean, Region)} and
+ * {@link Renderer#renderAsASCII(Appendable, boolean, Region)}.
+ *
+ * @author agent
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RendererBenchmark {
+    /** Side length of the square region. */
+    @Param({"10", "100", "1000"})
+    private int gridSize;
+
+    /** The region to render. */
+    private Region region;
+
+    /** The same voters as a grid region. */
+    private GridRegion gridRegion;
+
+    /** Destination discarding what is written, counting characters. */
+    private CountingWriter writer;
+
+    /** Builds the region for this trial. */
+    @Setup(Level.Trial)
+    public void buildRegion() {
+        this.region = new Region(this.gridSize * this.gridSize);
+        this.gridRegion = GridRegion.of(this.region);
+        this.writer = new CountingWriter();
+    }
+
+    /**
+     * Renders the region showing party affiliation.
+     * @return the rendering
+     */
+    @Benchmark
+    public String renderAsASCII() {
+        return Renderer.renderAsASCII(true, this.region);
+    }
+
+    /**
+     * Streams the rendering of the grid region to a writer.
+     * @return the number of characters written so far
+     * @throws IOException never, as the writer does not throw
+     */
+    @Benchmark
+    public long renderGridRegionToWriter() throws IOException {
+        Renderer.renderAsASCII(this.writer, true, this.gridRegion);
+        return this.writer.count;
+    }
+
+    /**
+     * A writer that discards characters, counting them.
+     */
+    private static final class CountingWriter extends Writer {
+        /** Number of characters written. */
+        private long count;
+
+        @Override
+        public void write(final char[] cbuf, final int off, final int len) {
+            this.count += len;
+        }
+
+        @Override
+        public void flush() { }
+
+        @Override
+        public void close() { }
+    }
+}
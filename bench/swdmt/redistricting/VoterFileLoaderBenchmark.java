@@ -0,0 +1,118 @@
+package swdmt.redistricting;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+/**
+ * Benchmarks loading a square region from a CSV file of voters
+ * with {@link VoterFileLoader}.
+ * Besides loads per second, JMH reports the voters read per second
+ * as the secondary result "rows".
+ *
+ * @author agent
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class VoterFileLoaderBenchmark {
+    /** Side length of the square region. */
+    @Param({"1000"})
+    private int gridSize;
+
+    /** The file of voters. */
+    private Path file;
+
+    /** The loader. */
+    private final VoterFileLoader loader = new VoterFileLoader();
+
+    /**
+     * Counts the voters read, which JMH reports per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+        /** Number of voters read in the current iteration. */
+        public long rows;
+
+        /** Clears the count for the next iteration. */
+        @Setup(Level.Iteration)
+        public void clear() {
+            this.rows = 0;
+        }
+    }
+
+    /**
+     * Writes the file for this trial.
+     * @throws IOException if the file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void build() throws IOException {
+        Random random = new Random(1L);
+        Party[] parties = Party.values();
+        this.file = Files.createTempFile("voters", ".csv");
+        try (BufferedWriter out = Files.newBufferedWriter(this.file)) {
+            out.write("x,y,party\n");
+            for (int y = 0; y < this.gridSize; y++) {
+                for (int x = 0; x < this.gridSize; x++) {
+                    out.write(x + "," + y + ","
+                              + parties[random.nextInt(parties.length)].id()
+                              + "\n");
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the file of this trial.
+     * @throws IOException if the file cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        Files.deleteIfExists(this.file);
+    }
+
+    /**
+     * Loads the region, finding its dimensions.
+     * @param counter the count of voters read
+     * @return the region
+     */
+    @Benchmark
+    public GridRegion load(final Rows counter) {
+        GridRegion region = this.loader.load(this.file);
+        counter.rows += this.loader.rows();
+        return region;
+    }
+
+    /**
+     * Loads the region given its dimensions.
+     * @param counter the count of voters read
+     * @return the region
+     */
+    @Benchmark
+    public GridRegion loadSized(final Rows counter) {
+        GridRegion region = this.loader.load(this.file, this.gridSize,
+                                             this.gridSize);
+        counter.rows += this.loader.rows();
+        return region;
+    }
+}
@@ -0,0 +1,4 @@
+package swdmt.redistricting.jmh_generated;
+public class AllDistrictGenBenchmark_jmhType extends AllDistrictGenBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package swdmt.redistricting.jmh_generated;
+public class ContiguityBaselineBenchmark_jmhType extends ContiguityBaselineBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package swdmt.redistricting.jmh_generated;
+public class ContiguityBenchmark_jmhType extends ContiguityBenchmark_jmhType_B3 {
+}
+
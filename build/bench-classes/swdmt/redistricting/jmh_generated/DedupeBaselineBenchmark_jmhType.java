@@ -0,0 +1,4 @@
+package swdmt.redistricting.jmh_generated;
+public class DedupeBaselineBenchmark_jmhType extends DedupeBaselineBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package swdmt.redistricting.jmh_generated;
+public class GenerateDistrictsBaselineBenchmark_jmhType extends GenerateDistrictsBaselineBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package swdmt.redistricting.jmh_generated;
+public class GridDistrictBenchmark_jmhType extends GridDistrictBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package swdmt.redistricting.jmh_generated;
+public class GridFileBenchmark_jmhType extends GridFileBenchmark_jmhType_B3 {
+}
+
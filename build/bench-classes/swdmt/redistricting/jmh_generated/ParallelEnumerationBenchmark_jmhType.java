@@ -0,0 +1,4 @@
+package swdmt.redistricting.jmh_generated;
+public class ParallelEnumerationBenchmark_jmhType extends ParallelEnumerationBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package swdmt.redistricting.jmh_generated;
+public class PartitionEnumeratorBenchmark_jmhType extends PartitionEnumeratorBenchmark_jmhType_B3 {
+}
+
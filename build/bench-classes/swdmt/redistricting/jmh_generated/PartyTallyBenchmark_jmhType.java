@@ -0,0 +1,4 @@
+package swdmt.redistricting.jmh_generated;
+public class PartyTallyBenchmark_jmhType extends PartyTallyBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package swdmt.redistricting.jmh_generated;
+public class PlanMetricsBenchmark_jmhType extends PlanMetricsBenchmark_jmhType_B3 {
+}
+
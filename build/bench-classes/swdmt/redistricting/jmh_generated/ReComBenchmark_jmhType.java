@@ -0,0 +1,4 @@
+package swdmt.redistricting.jmh_generated;
+public class ReComBenchmark_jmhType extends ReComBenchmark_jmhType_B3 {
+}
+
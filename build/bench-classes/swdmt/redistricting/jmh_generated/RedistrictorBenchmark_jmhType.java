@@ -0,0 +1,4 @@
+package swdmt.redistricting.jmh_generated;
+public class RedistrictorBenchmark_jmhType extends RedistrictorBenchmark_jmhType_B3 {
+}
+
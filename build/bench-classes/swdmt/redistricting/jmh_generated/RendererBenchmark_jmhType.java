@@ -0,0 +1,4 @@
+package swdmt.redistricting.jmh_generated;
+public class RendererBenchmark_jmhType extends RendererBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package swdmt.redistricting.jmh_generated;
+public class VoterFileLoaderBenchmark_Rows_jmhType extends VoterFileLoaderBenchmark_Rows_jmhType_B3 {
+}
+
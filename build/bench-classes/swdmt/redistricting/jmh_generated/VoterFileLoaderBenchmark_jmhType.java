@@ -0,0 +1,4 @@
+package swdmt.redistricting.jmh_generated;
+public class VoterFileLoaderBenchmark_jmhType extends VoterFileLoaderBenchmark_jmhType_B3 {
+}
+
@@ -1,20 +1,33 @@
 package swdmt.redistricting;
 
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  *
  * AllDistrictGen will generate all possible districts within a
  *    region.
  *
+ * <p>Each pattern is normalized once to the minimum corner of its
+ * bounding box, and is placed only at the corners at which its box
+ * fits in the grid, so no time is spent on placements that do not fit.
+ * Every fixed polyomino is a distinct pattern and every placement of it
+ * has a distinct corner, so no district is produced twice.</p>
  *
  * @author Jessica Trujillo
- * @version 1.0
+ * @author agent
+ * @version 1.1
  */
 public final class AllDistrictGen {
   /**
   * Generates all possible districts in a given grid
   * that are of a specific size.
+  * Districts are listed by pattern, and by corner in column-major
+  * order within a pattern.
   * @param gridWidth width of the grid
   * @param gridHeight height of grid
   * @param districtSize size of a single district
@@ -23,119 +36,338 @@ public final class AllDistrictGen {
   public static ArrayList<District> generateDistricts(final int gridWidth,
                                                       final int gridHeight,
                                                       final int districtSize) {
-     ArrayList<ArrayList<Location>> starPattern =
-                                   StarGenerator.generatePattern(districtSize);
+     Shape[] shapes = shapesOf(PatternCache.shared().patterns(districtSize));
      ArrayList<District> currentDistricts = new ArrayList<District>();
-     for (int x = 0; x < gridWidth; x++) {
-       for (int y = 0; y < gridHeight; y++) {
-         for (ArrayList<Location> pattern : starPattern) {
-           ArrayList<Location> transformed = transformPattern(pattern, x, y);
-           if (!isDistrictInBounds(transformed, gridWidth, gridHeight)) {
-             continue;
-           }
-
-           District transformedAsDistrict = new District(transformed);
-           if (!contains(currentDistricts, transformedAsDistrict)) {
-             currentDistricts.add(transformedAsDistrict);
-           }
-         }
+     for (Shape shape : shapes) {
+       for (int x = 0; x < gridWidth; x++) {
+         placeColumn(shape, x, gridWidth, gridHeight, currentDistricts);
        }
      }
      return currentDistricts;
   }
 
   /**
-  * Returns Y/N on whether or not a similar district
-  * (district with same locations)
-  * exists inside the district collection passed in.
-  * @param districts list of districts
-  * @param district the district to look for inside districts
-  * @return whether or not a similar district was in the districts list
+  * Generates all possible districts in a given grid
+  * that are of a specific size, using the common fork-join pool.
+  * @param gridWidth width of the grid
+  * @param gridHeight height of grid
+  * @param districtSize size of a single district
+  * @return all possible districts of size n in the area: gridWidth x gridHeight
+  * @see #generateDistrictsParallel(int, int, int, ForkJoinPool)
+  */
+  public static ArrayList<District> generateDistrictsParallel(
+                                                  final int gridWidth,
+                                                  final int gridHeight,
+                                                  final int districtSize) {
+    return generateDistrictsParallel(gridWidth, gridHeight, districtSize,
+                                     ForkJoinPool.commonPool());
+  }
+
+  /**
+  * Generates all possible districts in a given grid
+  * that are of a specific size, processing columns in parallel.
+  * The columns of every pattern are split recursively into fork-join
+  * tasks, and partial results are concatenated in order.
+  * The result therefore lists the same districts, in the same order,
+  * as {@link #generateDistricts(int, int, int)}.
+  * @param gridWidth width of the grid
+  * @param gridHeight height of grid
+  * @param districtSize size of a single district
+  * @param pool the pool in which to run the enumeration
+  * @return all possible districts of size n in the area: gridWidth x gridHeight
   */
-  private static boolean contains(final ArrayList<District> districts,
-                                  final District district) {
-    for (District d : districts) {
-      if (equals(d, district)) {
-        return true;
+  public static ArrayList<District> generateDistrictsParallel(
+                                                  final int gridWidth,
+                                                  final int gridHeight,
+                                                  final int districtSize,
+                                                  final ForkJoinPool pool) {
+    if (gridWidth < 1 || gridHeight < 1) {
+      return new ArrayList<District>();
+    }
+    Shape[] shapes = shapesOf(PatternCache.shared().patterns(districtSize));
+    return pool.invoke(new PlacementTask(shapes, gridWidth, gridHeight,
+                                         0, shapes.length * gridWidth));
+  }
+
+  /**
+  * Places a shape at every corner of a column at which it fits,
+  * adding each placement to the given list.
+  * @param shape the shape to place
+  * @param x the X-coordinate of the corners
+  * @param gridWidth width of the grid
+  * @param gridHeight height of grid
+  * @param districts the list receiving new districts
+  */
+  private static void placeColumn(final Shape shape,
+                                  final int x,
+                                  final int gridWidth,
+                                  final int gridHeight,
+                                  final List<District> districts) {
+    if (x < shape.columns(gridWidth)) {
+      int rows = shape.rows(gridHeight);
+      for (int y = 0; y < rows; y++) {
+        districts.add(shape.place(x, y));
       }
     }
-    return false;
   }
 
   /**
-  * checks whether two districts have the same coordinates.
-  * @param districtA first district to compare
-  * @param districtB second district to compare
-  * @return Whether or not districtA has the same Coordinates as districtB
+  * Fork-join task placing shapes in a range of columns.
+  * Columns are numbered in the order generateDistricts visits them:
+  * column c is column x = c % gridWidth of shape c / gridWidth.
   */
-  private static boolean equals(final District districtA,
-                                final District districtB) {
-    if (districtA.size() != districtB.size()) {
-      return false;
+  private static final class PlacementTask
+                             extends RecursiveTask<ArrayList<District>> {
+    /** Serialization version requirement. */
+    private static final long serialVersionUID = 1L;
+    /** Largest number of columns handled without splitting. */
+    private static final int COLUMNS_PER_TASK = 4;
+
+    /** Shapes to place. */
+    private final Shape[] shapes;
+    /** Width of the grid. */
+    private final int gridWidth;
+    /** Height of the grid. */
+    private final int gridHeight;
+    /** First column of this task. */
+    private final int fromColumn;
+    /** One past the last column of this task. */
+    private final int toColumn;
+
+    /**
+    * Creates a task for a range of columns.
+    * @param theShapes the shapes to place
+    * @param width width of the grid
+    * @param height height of the grid
+    * @param from first column of the range
+    * @param to one past the last column of the range
+    */
+    PlacementTask(final Shape[] theShapes,
+                  final int width,
+                  final int height,
+                  final int from,
+                  final int to) {
+      this.shapes = theShapes;
+      this.gridWidth = width;
+      this.gridHeight = height;
+      this.fromColumn = from;
+      this.toColumn = to;
     }
 
-    for (Location coordA : districtA.locations()) {
-      boolean anyMatch = false;
-      for (Location coordB : districtB.locations()) {
-        if (coordA.equals(coordB)) {
-          anyMatch = true;
+    @Override
+    protected ArrayList<District> compute() {
+      if (this.toColumn - this.fromColumn <= COLUMNS_PER_TASK) {
+        ArrayList<District> districts = new ArrayList<District>();
+        for (int c = this.fromColumn; c < this.toColumn; c++) {
+          placeColumn(this.shapes[c / this.gridWidth], c % this.gridWidth,
+                      this.gridWidth, this.gridHeight, districts);
         }
+        return districts;
       }
-      if (!anyMatch) {
-        return false;
+      int middle = (this.fromColumn + this.toColumn) >>> 1;
+      PlacementTask lower = new PlacementTask(this.shapes, this.gridWidth,
+                                              this.gridHeight,
+                                              this.fromColumn, middle);
+      PlacementTask upper = new PlacementTask(this.shapes, this.gridWidth,
+                                              this.gridHeight,
+                                              middle, this.toColumn);
+      upper.fork();
+      ArrayList<District> districts = lower.compute();
+      districts.addAll(upper.join());
+      return districts;
+    }
+  }
+
+  /**
+  * Iterates over all possible districts in a given grid
+  * that are of a specific size, creating each district only
+  * when it is requested.
+  * Apart from the patterns of the requested size, memory use does
+  * not grow with the number of districts, so callers may stop early
+  * without paying for the rest of the enumeration.
+  * Districts are produced in the order of
+  * {@link #generateDistricts(int, int, int)}.
+  * @param gridWidth width of the grid
+  * @param gridHeight height of grid
+  * @param districtSize size of a single district
+  * @return iterator over all districts of size n in the grid
+  */
+  public static Iterator<District> districtIterator(final int gridWidth,
+                                                    final int gridHeight,
+                                                    final int districtSize) {
+    return new PlacementIterator(
+        shapesOf(PatternCache.shared().patterns(districtSize)),
+        gridWidth, gridHeight);
+  }
+
+  /**
+  * Lazily places every shape at every corner of a grid
+  * at which it fits.
+  */
+  private static final class PlacementIterator implements Iterator<District> {
+    /** Shapes to place. */
+    private final Shape[] shapes;
+    /** Width of the grid. */
+    private final int gridWidth;
+    /** Height of the grid. */
+    private final int gridHeight;
+    /** Index of the shape being placed. */
+    private int shapeIndex;
+    /** Number of columns in which the current shape fits. */
+    private int columns;
+    /** Number of rows in which the current shape fits. */
+    private int rows;
+    /** X-coordinate of the next corner. */
+    private int cornerX;
+    /** Y-coordinate of the next corner. */
+    private int cornerY;
+
+    /**
+    * Creates an iterator over placements of the given shapes.
+    * @param theShapes the shapes to place
+    * @param width width of the grid
+    * @param height height of the grid
+    */
+    PlacementIterator(final Shape[] theShapes,
+                      final int width,
+                      final int height) {
+      this.shapes = theShapes;
+      this.gridWidth = width;
+      this.gridHeight = height;
+      this.shapeIndex = -1;
+      nextShape();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return this.shapeIndex < this.shapes.length;
+    }
+
+    @Override
+    public District next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException("No more districts");
       }
+      District result = this.shapes[this.shapeIndex].place(this.cornerX,
+                                                           this.cornerY);
+      this.cornerY++;
+      if (this.cornerY >= this.rows) {
+        this.cornerY = 0;
+        this.cornerX++;
+        if (this.cornerX >= this.columns) {
+          nextShape();
+        }
+      }
+      return result;
+    }
+
+    /**
+    * Advances to the first corner of the next shape that fits.
+    */
+    private void nextShape() {
+      this.cornerX = 0;
+      this.cornerY = 0;
+      do {
+        this.shapeIndex++;
+        if (this.shapeIndex < this.shapes.length) {
+          Shape shape = this.shapes[this.shapeIndex];
+          this.columns = shape.columns(this.gridWidth);
+          this.rows = shape.rows(this.gridHeight);
+        }
+      } while (this.shapeIndex < this.shapes.length
+               && (this.columns == 0 || this.rows == 0));
     }
-    return true;
   }
 
   /**
-  * Creates a new pattern based off of the passed in pattern,
-  * that is translated by X and Y.
-  * @param pattern starting at the origin
-  * @param offsetX the X translation value
-  * @param offsetY the Y translation value
-  * @return pattern translated by X and Y
+  * Normalizes patterns to the minimum corners of their bounding boxes.
+  * @param patterns patterns starting at the origin
+  * @return the shapes of the patterns, in the same order
   */
-  private static ArrayList<Location> transformPattern(
-                                             final ArrayList<Location> pattern,
-                                             final int offsetX,
-                                             final int offsetY) {
-    ArrayList<Location> newPattern = new ArrayList<Location>();
-
-    for (Location coord : pattern) {
-      Location transformedCoord = new Location(coord.xCoordinate() + offsetX,
-                                               coord.yCoordinate() + offsetY);
-      newPattern.add(transformedCoord);
+  private static Shape[] shapesOf(final List<List<Location>> patterns) {
+    Shape[] shapes = new Shape[patterns.size()];
+    for (int i = 0; i < shapes.length; i++) {
+      shapes[i] = new Shape(patterns.get(i));
     }
-    return newPattern;
+    return shapes;
   }
 
   /**
-  * Will check if the district is within a grid defined by the origin stretching
-  * to grid width and height.
-  * @param district the district to check
-  * @param gridWidth the upper-bound of X axis
-  * @param gridHeight the upper-bound of Y axis
-  * @return Whether district is in bounds or not
+  * A pattern translated so that the minimum corner of its bounding box
+  * is the origin, with the dimensions of the box.
   */
-  private static boolean isDistrictInBounds(final ArrayList<Location> district,
-                                            final int gridWidth,
-                                            final int gridHeight) {
-    for (Location cord : district) {
-      if (cord.xCoordinate() < 0) {
-        return false;
-      }
-      if (cord.yCoordinate() < 0) {
-        return false;
+  private static final class Shape {
+    /** X-offsets of the locations from the minimum corner. */
+    private final int[] xs;
+    /** Y-offsets of the locations from the minimum corner. */
+    private final int[] ys;
+    /** Width of the bounding box. */
+    private final int width;
+    /** Height of the bounding box. */
+    private final int height;
+
+    /**
+    * Normalizes a pattern.
+    * @param pattern a pattern containing the origin
+    */
+    Shape(final List<Location> pattern) {
+      int minX = 0;
+      int minY = 0;
+      int maxX = 0;
+      int maxY = 0;
+      for (Location loc : pattern) {
+        minX = Math.min(minX, loc.xCoordinate());
+        minY = Math.min(minY, loc.yCoordinate());
+        maxX = Math.max(maxX, loc.xCoordinate());
+        maxY = Math.max(maxY, loc.yCoordinate());
       }
-      if (cord.xCoordinate() >= gridWidth) {
-        return false;
+      this.xs = new int[pattern.size()];
+      this.ys = new int[pattern.size()];
+      int i = 0;
+      for (Location loc : pattern) {
+        this.xs[i] = loc.xCoordinate() - minX;
+        this.ys[i] = loc.yCoordinate() - minY;
+        i++;
       }
-      if (cord.yCoordinate() >= gridHeight) {
-        return false;
+      this.width = maxX - minX + 1;
+      this.height = maxY - minY + 1;
+    }
+
+    /**
+    * Counts the X-coordinates of the corners at which the shape
+    * lies within a grid: 0 up to this count, exclusive.
+    * @param gridWidth width of the grid
+    * @return the number of columns, 0 if the shape is too wide
+    */
+    int columns(final int gridWidth) {
+      return Math.max(0, gridWidth - this.width + 1);
+    }
+
+    /**
+    * Counts the Y-coordinates of the corners at which the shape
+    * lies within a grid: 0 up to this count, exclusive.
+    * @param gridHeight height of the grid
+    * @return the number of rows, 0 if the shape is too tall
+    */
+    int rows(final int gridHeight) {
+      return Math.max(0, gridHeight - this.height + 1);
+    }
+
+    /**
+    * Creates the district of the shape placed with the minimum corner
+    * of its bounding box at a location.
+    * @param cornerX the X-coordinate of the corner
+    * @param cornerY the Y-coordinate of the corner
+    * @return the district
+    */
+    District place(final int cornerX, final int cornerY) {
+      ArrayList<Location> locations = new ArrayList<Location>(this.xs.length);
+      for (int i = 0; i < this.xs.length; i++) {
+        locations.add(Location.of(cornerX + this.xs[i],
+                                  cornerY + this.ys[i]));
       }
+      return new District(locations);
     }
-    return true;
   }
 
   /**
@@ -0,0 +1,118 @@
+package swdmt.redistricting;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+/**
+ * Tests for AllDistrictGen.
+ *
+ * @author  agent
+ * @version 20261017
+ */
+public class AllDistrictGenTest {
+    /**
+     * Converts districts to their sets of locations, preserving order.
+     * @param districts the districts
+     * @return the locations of each district
+     */
+    private static List<Set<Location>> keys(final List<District> districts) {
+        List<Set<Location>> keys = new ArrayList<>();
+        for (District d : districts) {
+            keys.add(new HashSet<>(d.locations()));
+        }
+        return keys;
+    }
+
+    @Test
+    public void parallelMatchesSequentialTest() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            int[][] cases = {{1, 1, 1}, {3, 3, 4}, {4, 4, 2}, {5, 3, 4},
+                             {2, 7, 3}, {6, 6, 5}};
+            for (int[] c : cases) {
+                List<District> sequential =
+                        AllDistrictGen.generateDistricts(c[0], c[1], c[2]);
+                List<District> parallel =
+                        AllDistrictGen.generateDistrictsParallel(c[0], c[1],
+                                                                 c[2], pool);
+                assertThat(keys(parallel), is(keys(sequential)));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void iteratorMatchesSequentialTest() {
+        int[][] cases = {{1, 1, 3}, {3, 3, 4}, {4, 4, 2}, {5, 3, 4},
+                         {2, 7, 3}, {6, 6, 5}};
+        for (int[] c : cases) {
+            List<District> iterated = new ArrayList<>();
+            Iterator<District> it =
+                    AllDistrictGen.districtIterator(c[0], c[1], c[2]);
+            while (it.hasNext()) {
+                iterated.add(it.next());
+            }
+            assertThat(keys(iterated),
+                       is(keys(AllDistrictGen.generateDistricts(c[0], c[1],
+                                                                c[2]))));
+        }
+    }
+
+    @Test
+    public void parallelEmptyGridTest() {
+        assertThat(AllDistrictGen.generateDistrictsParallel(0, 5, 2).size(),
+                   is(0));
+        assertThat(AllDistrictGen.generateDistrictsParallel(5, 0, 2).size(),
+                   is(0));
+    }
+
+    @Test
+    public void generateDistrictsRectangularCountTest() {
+        // Dominoes in a 2x3 grid: 3 pairs along x and 4 along y.
+        assertThat(AllDistrictGen.generateDistricts(2, 3, 2).size(), is(7));
+        assertThat(AllDistrictGen.generateDistrictsParallel(2, 3, 2).size(),
+                   is(7));
+    }
+
+    @Test
+    public void everyFittingPlacementOnceTest() {
+        int[][] cases = {{5, 3, 4}, {3, 5, 4}, {6, 6, 5}, {2, 7, 3}};
+        for (int[] c : cases) {
+            long expected = 0;
+            for (List<Location> pattern : StarGenerator.generatePattern(c[2])) {
+                int minX = 0;
+                int maxX = 0;
+                int maxY = 0;
+                for (Location loc : pattern) {
+                    minX = Math.min(minX, loc.xCoordinate());
+                    maxX = Math.max(maxX, loc.xCoordinate());
+                    maxY = Math.max(maxY, loc.yCoordinate());
+                }
+                expected += (long) Math.max(0, c[0] - (maxX - minX))
+                            * Math.max(0, c[1] - maxY);
+            }
+            List<District> districts =
+                    AllDistrictGen.generateDistricts(c[0], c[1], c[2]);
+            assertThat((long) districts.size(), is(expected));
+            assertThat(new HashSet<>(keys(districts)).size(),
+                       is(districts.size()));
+            for (District d : districts) {
+                assertThat(d.size(), is(c[2]));
+                assertTrue(d.contiguityValid());
+                for (Location loc : d.locationsView()) {
+                    assertTrue(loc.xCoordinate() >= 0
+                               && loc.xCoordinate() < c[0]
+                               && loc.yCoordinate() >= 0
+                               && loc.yCoordinate() < c[1]);
+                }
+            }
+        }
+    }
+}
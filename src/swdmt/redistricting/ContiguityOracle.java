@@ -0,0 +1,264 @@
+package swdmt.redistricting;
+import java.util.Arrays;
+import java.util.List;
+/**
+ * Answers whether moving a single cell out of its district keeps that
+ * district contiguous, for the districts of a rectangular grid.
+ * The cell at (x, y) has index <code>y * width + x</code>, and each cell
+ * is labeled with the number of its district, or {@link #NO_DISTRICT}.
+ * <p>Most queries are settled by looking only at the eight cells
+ * surrounding the cell in question: if the district's cells among the
+ * four adjacent neighbors are joined to one another around that ring,
+ * removing the cell cannot disconnect anything.
+ * Otherwise a breadth-first search within the district decides,
+ * stopping as soon as every adjacent neighbor has been reached.</p>
+ * <p>Queries assume the district is contiguous before the move;
+ * {@link District#contiguityValid()} checks a district from scratch.</p>
+ *
+ * @author agent
+ * @version 20261017
+ */
+public final class ContiguityOracle {
+    /** Label of a cell that belongs to no district. */
+    public static final int NO_DISTRICT = -1;
+
+    /** X-offsets around the ring of eight neighbors, starting north. */
+    private static final int[] RING_DX = {0, 1, 1, 1, 0, -1, -1, -1};
+    /** Y-offsets around the ring of eight neighbors, starting north. */
+    private static final int[] RING_DY = {-1, -1, 0, 1, 1, 1, 0, -1};
+    /** Number of cells in the ring of eight neighbors. */
+    private static final int RING_SIZE = 8;
+
+    /** Width of the grid. */
+    private final int width;
+    /** Height of the grid. */
+    private final int height;
+    /** District label of each cell. */
+    private final int[] districtOf;
+    /** Visit stamps for the fallback search; current stamp marks visited. */
+    private final int[] visited;
+    /** Queue for the fallback search. */
+    private final int[] queue;
+    /** Which ring cells belong to the district of the current query. */
+    private final boolean[] inRing = new boolean[RING_SIZE];
+    /** Stamp identifying the current fallback search. */
+    private int stamp;
+    /** Number of queries that needed the fallback search. */
+    private long searches;
+
+    /**
+     * Creates an oracle for the given cell labels.
+     * The labels are copied; later changes go through
+     * {@link #move(int, int, int)}.
+     * @param gridWidth the width of the grid
+     * @param gridHeight the height of the grid
+     * @param labels the district label of each cell
+     * @throws IllegalArgumentException if the number of labels
+     *         does not match the grid
+     */
+    public ContiguityOracle(final int gridWidth, final int gridHeight,
+                            final int[] labels) {
+        if (gridWidth < 0 || gridHeight < 0
+            || (long) gridWidth * gridHeight != labels.length) {
+            throw new IllegalArgumentException(
+                    "Expected " + gridWidth + "x" + gridHeight
+                    + " labels but found " + labels.length);
+        }
+        this.width = gridWidth;
+        this.height = gridHeight;
+        this.districtOf = labels.clone();
+        this.visited = new int[labels.length];
+        this.queue = new int[labels.length];
+    }
+
+    /**
+     * Creates an oracle for a list of districts in a grid.
+     * The district at position i of the list has label i.
+     * @param gridWidth the width of the grid
+     * @param gridHeight the height of the grid
+     * @param districts the districts
+     * @throws IllegalArgumentException if a location lies outside the grid
+     */
+    public ContiguityOracle(final int gridWidth, final int gridHeight,
+                            final List<District> districts) {
+        this(gridWidth, gridHeight,
+             labels(gridWidth, gridHeight, districts));
+    }
+
+    /**
+     * Labels the cells of a grid by district.
+     * @param gridWidth the width of the grid
+     * @param gridHeight the height of the grid
+     * @param districts the districts
+     * @return the label of each cell
+     * @throws IllegalArgumentException if a location lies outside the grid
+     */
+    private static int[] labels(final int gridWidth, final int gridHeight,
+                                final List<District> districts) {
+        if (gridWidth < 0 || gridHeight < 0) {
+            throw new IllegalArgumentException(
+                    "Invalid grid dimensions " + gridWidth + "x" + gridHeight);
+        }
+        int[] labels = new int[gridWidth * gridHeight];
+        Arrays.fill(labels, NO_DISTRICT);
+        for (int d = 0; d < districts.size(); d++) {
+            for (Location loc : districts.get(d).locationsView()) {
+                int x = loc.xCoordinate();
+                int y = loc.yCoordinate();
+                if (x < 0 || y < 0 || x >= gridWidth || y >= gridHeight) {
+                    throw new IllegalArgumentException(
+                            "Location (" + x + ", " + y + ") outside "
+                            + gridWidth + "x" + gridHeight + " grid");
+                }
+                labels[y * gridWidth + x] = d;
+            }
+        }
+        return labels;
+    }
+
+    /**
+     * Accesses the district label of a cell.
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return the label, or NO_DISTRICT if the cell is outside the grid
+     */
+    public int district(final int x, final int y) {
+        if (x < 0 || y < 0 || x >= this.width || y >= this.height) {
+            return NO_DISTRICT;
+        }
+        return this.districtOf[y * this.width + x];
+    }
+
+    /**
+     * Moves a cell into another district.
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @param toDistrict the label of the receiving district
+     * @throws IllegalArgumentException if the cell is outside the grid
+     */
+    public void move(final int x, final int y, final int toDistrict) {
+        if (x < 0 || y < 0 || x >= this.width || y >= this.height) {
+            throw new IllegalArgumentException(
+                    "Cell (" + x + ", " + y + ") outside grid");
+        }
+        this.districtOf[y * this.width + x] = toDistrict;
+    }
+
+    /**
+     * Accesses the number of queries so far that could not be settled
+     * from the ring of neighbors alone.
+     * @return the number of fallback searches
+     */
+    public long fallbackSearches() {
+        return this.searches;
+    }
+
+    /**
+     * Determines whether the district of a location remains
+     * contiguous once the location is removed from it.
+     * @param loc the location
+     * @return true if the rest of its district stays contiguous
+     */
+    public boolean removalKeepsContiguous(final Location loc) {
+        return removalKeepsContiguous(loc.xCoordinate(), loc.yCoordinate());
+    }
+
+    /**
+     * Determines whether the district of a cell remains contiguous
+     * once the cell is removed from it.
+     * Cells outside every district trivially answer true.
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return true if the rest of its district stays contiguous
+     */
+    public boolean removalKeepsContiguous(final int x, final int y) {
+        int d = district(x, y);
+        if (d == NO_DISTRICT) {
+            return true;
+        }
+        boolean[] ring = this.inRing;
+        int adjacent = 0;
+        for (int i = 0; i < RING_SIZE; i++) {
+            ring[i] = district(x + RING_DX[i], y + RING_DY[i]) == d;
+            if (i % 2 == 0 && ring[i]) {
+                adjacent++;
+            }
+        }
+        if (adjacent < 2) {
+            return true;
+        }
+        int bridged = 0;
+        for (int i = 0; i < RING_SIZE; i += 2) {
+            if (ring[i] && ring[i + 1] && ring[(i + 2) % RING_SIZE]) {
+                bridged++;
+            }
+        }
+        if (bridged >= adjacent - 1) {
+            return true;
+        }
+        this.searches++;
+        return adjacentReconnect(x, y, d, adjacent);
+    }
+
+    /**
+     * Advances the stamp of the fallback search.  When the stamp would
+     * overflow, every visit mark is cleared and stamps restart at 1, so
+     * that no stale mark can equal a later stamp.
+     */
+    private void nextStamp() {
+        if (this.stamp == Integer.MAX_VALUE) {
+            Arrays.fill(this.visited, 0);
+            this.stamp = 0;
+        }
+        this.stamp++;
+    }
+
+    /**
+     * Searches the district, without the given cell, from one adjacent
+     * neighbor until every other adjacent neighbor has been reached.
+     * @param x the x-coordinate of the removed cell
+     * @param y the y-coordinate of the removed cell
+     * @param d the label of the district
+     * @param adjacent number of adjacent neighbors in the district
+     * @return true if all adjacent neighbors remain connected
+     */
+    private boolean adjacentReconnect(final int x, final int y, final int d,
+                                      final int adjacent) {
+        nextStamp();
+        int removed = y * this.width + x;
+        this.visited[removed] = this.stamp;
+        int head = 0;
+        int tail = 0;
+        int remaining = adjacent;
+        for (int i = 0; i < RING_SIZE && tail == 0; i += 2) {
+            if (this.inRing[i]) {
+                int start = removed + RING_DY[i] * this.width + RING_DX[i];
+                this.visited[start] = this.stamp;
+                this.queue[tail++] = start;
+                remaining--;
+            }
+        }
+        while (head < tail && remaining > 0) {
+            int cell = this.queue[head++];
+            int cx = cell % this.width;
+            int cy = cell / this.width;
+            for (int i = 0; i < RING_SIZE; i += 2) {
+                int nx = cx + RING_DX[i];
+                int ny = cy + RING_DY[i];
+                if (district(nx, ny) != d) {
+                    continue;
+                }
+                int next = ny * this.width + nx;
+                if (this.visited[next] == this.stamp) {
+                    continue;
+                }
+                this.visited[next] = this.stamp;
+                this.queue[tail++] = next;
+                if (Location.isAdjacent(nx, ny, x, y)) {
+                    remaining--;
+                }
+            }
+        }
+        return remaining == 0;
+    }
+}
@@ -0,0 +1,124 @@
+package swdmt.redistricting;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+/**
+ * Tests for ContiguityOracle.
+ *
+ * @author  agent
+ * @version 20261017
+ */
+public class ContiguityOracleTest {
+    @Test
+    public void ringDecidesSimpleCasesTest() {
+        // 3x3 district 0 with an extra district 1 cell in a corner.
+        int[] labels = {0, 0, 0,
+                        0, 0, 0,
+                        0, 0, 1};
+        ContiguityOracle oracle = new ContiguityOracle(3, 3, labels);
+        assertTrue(oracle.removalKeepsContiguous(1, 1));
+        assertTrue(oracle.removalKeepsContiguous(0, 0));
+        assertTrue(oracle.removalKeepsContiguous(2, 2));
+        assertThat(oracle.fallbackSearches(), is(0L));
+    }
+
+    @Test
+    public void cutVertexTest() {
+        // A row of three cells; the middle one joins the ends.
+        int[] labels = {0, 0, 0};
+        ContiguityOracle oracle = new ContiguityOracle(3, 1, labels);
+        assertFalse(oracle.removalKeepsContiguous(1, 0));
+        assertTrue(oracle.removalKeepsContiguous(new Location(0, 0)));
+    }
+
+    @Test
+    public void fallbackFindsLongWayAroundTest() {
+        // A ring of district 0 around district 1: removing any ring cell
+        // leaves a path the long way round.
+        int[] labels = {0, 0, 0,
+                        0, 1, 0,
+                        0, 0, 0};
+        ContiguityOracle oracle = new ContiguityOracle(3, 3, labels);
+        assertTrue(oracle.removalKeepsContiguous(1, 0));
+        assertTrue(oracle.fallbackSearches() > 0);
+        oracle.move(1, 2, 1);
+        assertFalse(oracle.removalKeepsContiguous(1, 0));
+        assertThat(oracle.district(1, 2), is(1));
+    }
+
+    @Test
+    public void districtListConstructorTest() {
+        List<District> districts = new ArrayList<>();
+        districts.add(new District(Arrays.asList(new Location(0, 0),
+                                                 new Location(1, 0))));
+        districts.add(new District(Arrays.asList(new Location(0, 1))));
+        ContiguityOracle oracle = new ContiguityOracle(2, 2, districts);
+        assertThat(oracle.district(1, 0), is(0));
+        assertThat(oracle.district(0, 1), is(1));
+        assertThat(oracle.district(1, 1), is(ContiguityOracle.NO_DISTRICT));
+        assertThat(oracle.district(5, 5), is(ContiguityOracle.NO_DISTRICT));
+        assertTrue(oracle.removalKeepsContiguous(1, 1));
+        assertThrows(IllegalArgumentException.class, () -> {
+            new ContiguityOracle(2, 2, new int[3]);
+        });
+    }
+
+    /**
+     * Compares every answer with a from-scratch contiguity check
+     * on random labelings whose districts are contiguous.
+     */
+    @Test
+    public void agreesWithContiguityValidTest() {
+        Random rng = new Random(42L);
+        int width = 6;
+        int height = 5;
+        for (int trial = 0; trial < 200; trial++) {
+            int[] labels = new int[width * height];
+            for (int i = 0; i < labels.length; i++) {
+                labels[i] = rng.nextInt(3);
+            }
+            ContiguityOracle oracle = new ContiguityOracle(width, height, labels);
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    int d = labels[y * width + x];
+                    List<Location> all = cellsOf(labels, width, d, -1);
+                    if (!new District(all).contiguityValid()) {
+                        continue;
+                    }
+                    boolean expected = new District(
+                            cellsOf(labels, width, d, y * width + x))
+                            .contiguityValid();
+                    assertThat("Cell (" + x + ", " + y + ") trial " + trial,
+                               oracle.removalKeepsContiguous(x, y),
+                               is(expected));
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the cells with a given label.
+     * @param labels cell labels
+     * @param width grid width
+     * @param d the label
+     * @param skip index of a cell to leave out, or -1
+     * @return the cells labeled d
+     */
+    private static List<Location> cellsOf(final int[] labels, final int width,
+                                          final int d, final int skip) {
+        List<Location> cells = new ArrayList<>();
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i] == d && i != skip) {
+                cells.add(new Location(i % width, i / width));
+            }
+        }
+        return cells;
+    }
+}
@@ -1,12 +1,14 @@
 package swdmt.redistricting;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
 import java.util.TreeSet;
 /**
  * A district is a contiguous group of locations.
  *
  * @author Dr. Jody Paul
- * @version 20191006
+ * @author agent
+ * @version 20261017
  */
 public class District implements java.io.Serializable {
     /** Serialization version requirement. */
@@ -15,6 +17,9 @@ public class District implements java.io.Serializable {
     /** The locations in this district. */
     private Set<Location> locations = new TreeSet<>();
 
+    /** Unmodifiable view of the locations; created on first use. */
+    private transient Set<Location> locationView;
+
     /**
      * Creates a district with no locations.
      */
@@ -48,42 +53,110 @@ public class District implements java.io.Serializable {
         return new TreeSet<Location>(this.locations);
     }
 
+    /**
+     * Accesses the locations that comprise this district without
+     * copying them.
+     * The view is unmodifiable, ordered as Location orders itself,
+     * and is the same object on every call.
+     * Use {@link #size()} when only the number of locations is needed.
+     * @return an unmodifiable view of the locations
+     */
+    public Collection<Location> locationsView() {
+        if (this.locationView == null) {
+            this.locationView = Collections.unmodifiableSet(this.locations);
+        }
+        return this.locationView;
+    }
+
     /**
      * Verifies that all locations in this district are contiguous.
      * Contiguity is always true for districts of size 0 or 1.
+     * <p>Performs a breadth-first search from an arbitrary location,
+     * finding each location's four possible neighbors through an
+     * open-addressing hash table of coordinates; the check therefore
+     * takes time linear in the size of the district.</p>
      * @return true if all locations are contiguous; false otherwise
      */
-     public boolean contiguityValid() {
-               boolean contiguous = true;
-               if (this.locations.size() > 1) {
-                   Set<Location> contiguousLocations = new TreeSet<>();
-                   Set<Location> filterdLoc = new TreeSet<>();
-                   Location homeLoc = this.locations.iterator().next();
-                   boolean filLocSet = true;
-                   int conLocSize = contiguousLocations.size();
-                   int thisLocSize = this.locations.size();
-                   contiguousLocations.add(homeLoc);
-                   contiguous = false;
-                   while (conLocSize < thisLocSize && filLocSet) {
-                       contiguousLocations.forEach(current ->
-                                   this.locations
-                                       .stream()
-                                       .filter(current::isAdjacentTo)
-                                       .filter(loc1 ->
-                                               !contiguousLocations.contains(loc1))
-                                               .forEach(filterdLoc::add));
-                       if (filterdLoc.isEmpty()) {
-                           filLocSet = false;
-                       }
-                       contiguousLocations.addAll(filterdLoc);
-                       filterdLoc.clear();
-                   }
-                   if (this.locations.size() == contiguousLocations.size()) {
-                       contiguous = true;
-                   }
-               }
-               return contiguous;
-           }
+    public boolean contiguityValid() {
+        int count = this.locations.size();
+        if (count < 2) {
+            return true;
+        }
+        int[] xs = new int[count];
+        int[] ys = new int[count];
+        int[] slots = new int[Integer.highestOneBit(count) << 2];
+        int mask = slots.length - 1;
+        int index = 0;
+        for (Location loc : this.locations) {
+            xs[index] = loc.xCoordinate();
+            ys[index] = loc.yCoordinate();
+            int slot = slotOf(xs[index], ys[index], mask);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index++;
+            slots[slot] = index;
+        }
+        boolean[] reached = new boolean[count];
+        int[] queue = new int[count];
+        int head = 0;
+        int tail = 0;
+        reached[0] = true;
+        queue[tail++] = 0;
+        while (head < tail) {
+            int current = queue[head++];
+            for (int d = 0; d < NEIGHBOR_DX.length; d++) {
+                int neighbor = indexOf(xs, ys, slots, mask,
+                                       xs[current] + NEIGHBOR_DX[d],
+                                       ys[current] + NEIGHBOR_DY[d]);
+                if (neighbor >= 0 && !reached[neighbor]) {
+                    reached[neighbor] = true;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        return tail == count;
+    }
+
+    /** X-offsets of the four adjacent locations. */
+    private static final int[] NEIGHBOR_DX = {1, -1, 0, 0};
+    /** Y-offsets of the four adjacent locations. */
+    private static final int[] NEIGHBOR_DY = {0, 0, 1, -1};
+
+    /**
+     * Computes the home slot of a coordinate pair.
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @param mask the table size minus one
+     * @return the home slot
+     */
+    private static int slotOf(final int x, final int y, final int mask) {
+        return Location.hash(x, y) & mask;
+    }
+
+    /**
+     * Finds the index of a coordinate pair in the hash table.
+     * @param xs x-coordinates by index
+     * @param ys y-coordinates by index
+     * @param slots the table, holding index + 1 or 0 when empty
+     * @param mask the table size minus one
+     * @param x the x-coordinate to find
+     * @param y the y-coordinate to find
+     * @return the index of the coordinates, or -1 if absent
+     */
+    private static int indexOf(final int[] xs, final int[] ys,
+                               final int[] slots, final int mask,
+                               final int x, final int y) {
+        int slot = slotOf(x, y, mask);
+        while (slots[slot] != 0) {
+            int candidate = slots[slot] - 1;
+            if (xs[candidate] == x && ys[candidate] == y) {
+                return candidate;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
 
     @Override
     public String toString() {
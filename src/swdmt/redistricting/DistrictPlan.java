@@ -0,0 +1,262 @@
+package swdmt.redistricting;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+/**
+ * A complete partition of a grid region into numbered districts.
+ * Every cell of the region belongs to exactly one district; the cell
+ * at (x, y) has index <code>y * width + x</code> and its district
+ * is numbered from 0 to <code>numberOfDistricts() - 1</code>.
+ * <p>Plans are immutable.  A plan does not itself require its
+ * districts to be contiguous or balanced; see {@link #isValid()}.</p>
+ *
+ * @author agent
+ * @version 20261017
+ */
+public final class DistrictPlan implements java.io.Serializable {
+    /** Serialization version requirement. */
+    private static final long serialVersionUID = 1L;
+
+    /** The region partitioned by this plan. */
+    private final GridRegion region;
+    /** The number of districts. */
+    private final int numberOfDistricts;
+    /** District number of each cell. */
+    private final int[] districtOf;
+
+    /**
+     * Creates a plan from the district number of each cell.
+     * The array is copied.
+     * @param theRegion the region partitioned
+     * @param districts the number of districts
+     * @param labels the district number of each cell, in row-major order
+     * @throws IllegalArgumentException if the number of labels does not
+     *         match the region, or a label is not a district number
+     */
+    public DistrictPlan(final GridRegion theRegion, final int districts,
+                        final int[] labels) {
+        this(theRegion, districts, labels.clone(), true);
+    }
+
+    /**
+     * Creates a plan that retains the given array.
+     * @param theRegion the region partitioned
+     * @param districts the number of districts
+     * @param labels the district number of each cell, in row-major order
+     * @param validate true to verify each label
+     * @throws IllegalArgumentException if the number of labels does not
+     *         match the region, or (when validating) a label is not
+     *         a district number
+     */
+    DistrictPlan(final GridRegion theRegion, final int districts,
+                 final int[] labels, final boolean validate) {
+        if (labels.length != theRegion.size()) {
+            throw new IllegalArgumentException(
+                    "Expected " + theRegion.size() + " labels but found "
+                    + labels.length);
+        }
+        if (districts < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid number of districts " + districts);
+        }
+        if (validate) {
+            for (int label : labels) {
+                if (label < 0 || label >= districts) {
+                    throw new IllegalArgumentException(
+                            "Invalid district number " + label);
+                }
+            }
+        }
+        this.region = theRegion;
+        this.numberOfDistricts = districts;
+        this.districtOf = labels;
+    }
+
+    /**
+     * Creates the plan whose districts are the given districts.
+     * The district at position i of the iteration order is numbered i.
+     * @param theRegion the region partitioned
+     * @param districts the districts
+     * @return the plan
+     * @throws IllegalArgumentException if the districts do not cover
+     *         every location of the region exactly once
+     */
+    public static DistrictPlan of(final GridRegion theRegion,
+                                  final Collection<District> districts) {
+        int width = theRegion.width();
+        int height = theRegion.height();
+        int[] labels = new int[theRegion.size()];
+        Arrays.fill(labels, -1);
+        int d = 0;
+        for (District district : districts) {
+            for (Location loc : district.locationsView()) {
+                int x = loc.xCoordinate();
+                int y = loc.yCoordinate();
+                if (x < 0 || y < 0 || x >= width || y >= height) {
+                    throw new IllegalArgumentException(
+                            "Location " + loc + " outside region");
+                }
+                int cell = y * width + x;
+                if (labels[cell] >= 0) {
+                    throw new IllegalArgumentException(
+                            "Location " + loc + " in several districts");
+                }
+                labels[cell] = d;
+            }
+            d++;
+        }
+        for (int cell = 0; cell < labels.length; cell++) {
+            if (labels[cell] < 0) {
+                throw new IllegalArgumentException(
+                        "Location " + Location.of(cell % width, cell / width)
+                        + " in no district");
+            }
+        }
+        return new DistrictPlan(theRegion, d, labels, false);
+    }
+
+    /**
+     * Accesses the region partitioned by this plan.
+     * @return the region
+     */
+    public GridRegion region() {
+        return this.region;
+    }
+
+    /**
+     * Accesses the number of districts in this plan.
+     * @return the number of districts
+     */
+    public int numberOfDistricts() {
+        return this.numberOfDistricts;
+    }
+
+    /**
+     * Accesses the district number of a location.
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return the district number of the location
+     * @throws IndexOutOfBoundsException if (x, y) is outside the region
+     */
+    public int district(final int x, final int y) {
+        if (x < 0 || y < 0
+            || x >= this.region.width() || y >= this.region.height()) {
+            throw new IndexOutOfBoundsException(
+                    "(" + x + ", " + y + ") outside region");
+        }
+        return this.districtOf[y * this.region.width() + x];
+    }
+
+    /**
+     * Accesses the district number of every cell, in row-major order,
+     * without copying.  Callers must not modify the array.
+     * @return the district numbers
+     */
+    int[] labels() {
+        return this.districtOf;
+    }
+
+    /**
+     * Computes the number of locations in each district.
+     * @return the size of each district, indexed by district number
+     */
+    public int[] districtSizes() {
+        int[] sizes = new int[this.numberOfDistricts];
+        for (int label : this.districtOf) {
+            sizes[label]++;
+        }
+        return sizes;
+    }
+
+    /**
+     * Creates the districts of this plan.
+     * @return the districts, indexed by district number
+     */
+    public List<District> toDistrictList() {
+        List<List<Location>> members = new ArrayList<>(this.numberOfDistricts);
+        int[] sizes = districtSizes();
+        for (int d = 0; d < this.numberOfDistricts; d++) {
+            members.add(new ArrayList<Location>(sizes[d]));
+        }
+        int width = this.region.width();
+        for (int cell = 0; cell < this.districtOf.length; cell++) {
+            members.get(this.districtOf[cell])
+                   .add(Location.of(cell % width, cell / width));
+        }
+        List<District> districts = new ArrayList<>(this.numberOfDistricts);
+        for (List<Location> locs : members) {
+            districts.add(new District(locs));
+        }
+        return districts;
+    }
+
+    /**
+     * Creates the districts of this plan.
+     * @return the districts
+     */
+    public Set<District> toDistricts() {
+        return new HashSet<District>(toDistrictList());
+    }
+
+    /**
+     * Determines whether this plan satisfies the redistricting
+     * constraints: every district is non-empty and contiguous,
+     * and district sizes differ by at most one.
+     * @return true if the plan is valid; false otherwise
+     */
+    public boolean isValid() {
+        int[] sizes = districtSizes();
+        int smallest = Integer.MAX_VALUE;
+        int largest = 0;
+        for (int size : sizes) {
+            smallest = Math.min(smallest, size);
+            largest = Math.max(largest, size);
+        }
+        if (smallest == 0 || largest - smallest > 1) {
+            return false;
+        }
+        for (District district : toDistrictList()) {
+            if (!district.contiguityValid()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines whether the specified object is a plan of an equal
+     * region with the same district number at every location.
+     * @param obj an Object to be compared with this plan
+     * @return true if obj is an equal plan; false otherwise
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof DistrictPlan)) {
+            return false;
+        }
+        DistrictPlan that = (DistrictPlan) obj;
+        return this.numberOfDistricts == that.numberOfDistricts
+               && this.region.width() == that.region.width()
+               && Arrays.equals(this.districtOf, that.districtOf)
+               && Arrays.equals(this.region.partyOrdinals(),
+                                that.region.partyOrdinals());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.districtOf);
+    }
+
+    @Override
+    public String toString() {
+        return "[DistrictPlan@" + this.hashCode() + "; districts: "
+               + this.numberOfDistricts + "; region: " + this.region.width()
+               + "x" + this.region.height() + "]";
+    }
+}
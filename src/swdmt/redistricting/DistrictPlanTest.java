@@ -0,0 +1,110 @@
+package swdmt.redistricting;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+/**
+ * Tests for DistrictPlan.
+ *
+ * @author  agent
+ * @version 20261017
+ */
+public class DistrictPlanTest {
+    @Test
+    public void labelsTest() {
+        GridRegion region = new GridRegion(3, 2);
+        DistrictPlan plan = new DistrictPlan(region, 2,
+                                             new int[] {0, 0, 1,
+                                                        0, 1, 1});
+        assertThat(plan.numberOfDistricts(), is(2));
+        assertThat(plan.district(2, 0), is(1));
+        assertThat(plan.district(0, 1), is(0));
+        assertThat(plan.districtSizes()[0], is(3));
+        assertTrue(plan.isValid());
+        assertThrows(IndexOutOfBoundsException.class,
+                     () -> plan.district(3, 0));
+    }
+
+    @Test
+    public void invalidLabelsTest() {
+        GridRegion region = new GridRegion(2, 2);
+        assertThrows(IllegalArgumentException.class,
+                     () -> new DistrictPlan(region, 2, new int[] {0, 1, 0}));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new DistrictPlan(region, 2,
+                                            new int[] {0, 1, 2, 0}));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new DistrictPlan(region, 0, new int[4]));
+    }
+
+    @Test
+    public void labelsAreCopiedTest() {
+        int[] labels = {0, 0, 1, 1};
+        DistrictPlan plan = new DistrictPlan(new GridRegion(2, 2), 2, labels);
+        labels[0] = 1;
+        assertThat(plan.district(0, 0), is(0));
+    }
+
+    @Test
+    public void roundTripTest() {
+        GridRegion region = new GridRegion(4, 4);
+        Set<District> districts = Redistrictor.generateDistricts(region, 3);
+        DistrictPlan plan = DistrictPlan.of(region, districts);
+        assertThat(plan.numberOfDistricts(), is(3));
+        Set<Set<Location>> expected = new HashSet<>();
+        for (District district : districts) {
+            expected.add(new HashSet<>(district.locations()));
+        }
+        Set<Set<Location>> actual = new HashSet<>();
+        for (District district : plan.toDistricts()) {
+            actual.add(new HashSet<>(district.locations()));
+        }
+        assertThat(actual, is(expected));
+        assertTrue(plan.isValid());
+    }
+
+    @Test
+    public void ofRejectsIncompleteCoverTest() {
+        GridRegion region = new GridRegion(2, 2);
+        List<District> districts = new ArrayList<>();
+        districts.add(new District(Arrays.asList(new Location(0, 0),
+                                                 new Location(1, 0))));
+        assertThrows(IllegalArgumentException.class,
+                     () -> DistrictPlan.of(region, districts));
+        districts.add(new District(Arrays.asList(new Location(1, 0),
+                                                 new Location(0, 1),
+                                                 new Location(1, 1))));
+        assertThrows(IllegalArgumentException.class,
+                     () -> DistrictPlan.of(region, districts));
+    }
+
+    @Test
+    public void invalidPlansTest() {
+        GridRegion region = new GridRegion(3, 1);
+        assertFalse(new DistrictPlan(region, 2, new int[] {0, 1, 0})
+                    .isValid());
+        assertFalse(new DistrictPlan(region, 2, new int[] {0, 0, 0})
+                    .isValid());
+        GridRegion wide = new GridRegion(4, 1);
+        assertFalse(new DistrictPlan(wide, 2, new int[] {0, 1, 1, 1})
+                    .isValid());
+        assertTrue(new DistrictPlan(wide, 2, new int[] {0, 0, 1, 1})
+                   .isValid());
+    }
+
+    @Test
+    public void equalityTest() {
+        GridRegion region = new GridRegion(2, 1);
+        DistrictPlan plan = new DistrictPlan(region, 2, new int[] {0, 1});
+        assertThat(plan, is(new DistrictPlan(region, 2, new int[] {0, 1})));
+        assertFalse(plan.equals(new DistrictPlan(region, 2,
+                                                 new int[] {1, 0})));
+    }
+}
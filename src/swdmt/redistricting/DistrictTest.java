@@ -1,14 +1,21 @@
 package swdmt.redistricting;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.Test;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static java.time.Duration.ofMillis;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 /**
  * Tests for District objects.
  *
  * @author  Dr. Jody Paul
+ * @author  agent
  * @version 20191006
  */
 public class DistrictTest {
@@ -104,4 +111,40 @@ public class DistrictTest {
         assertTrue(district1.contiguityValid());
 
    }
+
+    /**
+     * Checks contiguity of a 10000-cell snake, with and without
+     * a cell in the middle of one of its rows.
+     */
+    @Test
+    public void contiguityLargeSnakeDistrictTest() {
+        List<Location> locations = new ArrayList<>();
+        for (int y = 0; y < 200; y += 2) {
+            for (int x = 0; x < 99; x++) {
+                locations.add(new Location(x, y));
+            }
+            locations.add(new Location(((y / 2) % 2 == 0) ? 98 : 0, y + 1));
+        }
+        List<Location> cut = new ArrayList<>(locations);
+        cut.remove(locations.size() / 2 + 49);
+        assertTimeout(ofMillis(1000L), () -> {
+            assertTrue(new District(locations).contiguityValid());
+            assertFalse(new District(cut).contiguityValid());
+        });
+    }
+
+    @Test
+    public void locationsViewTest() {
+        HashSet<Location> locations = new HashSet<>();
+        locations.add(new Location(0, 0));
+        locations.add(new Location(0, 1));
+        District district1 = new District(locations);
+        assertThat(district1.locationsView().size(), is(2));
+        assertTrue(district1.locationsView().containsAll(locations));
+        assertSame(district1.locationsView(), district1.locationsView());
+        assertThrows(UnsupportedOperationException.class, () -> {
+            district1.locationsView().clear();
+        });
+        assertThat(district1.size(), is(2));
+    }
 }
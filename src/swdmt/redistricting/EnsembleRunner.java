@@ -0,0 +1,128 @@
+package swdmt.redistricting;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+/**
+ * Runs several independent ReCom chains over a region in parallel and
+ * summarizes the plans they visit.
+ * <p>Each chain has its own random number generator, split in order
+ * from a generator seeded with the master seed, and every chain starts
+ * from the same plan.  Each thread records its chain's plans directly
+ * into shared {@link EnsembleStatistics}, whose accumulators are
+ * lock-free and order-independent; the statistics of a run therefore
+ * depend only on the master seed and the run parameters, not on the
+ * number of threads or how they are scheduled.</p>
+ *
+ * @author agent
+ * @version 20261017
+ */
+public final class EnsembleRunner {
+    /** The plan every chain starts from. */
+    private final DistrictPlan initialPlan;
+    /** The master seed. */
+    private final long masterSeed;
+
+    /**
+     * Creates a runner for partitions of a region into the specified
+     * number of districts.
+     * @param theRegion the region, which must be a fully-populated
+     *        rectangle anchored at (0, 0)
+     * @param districts the number of districts
+     * @param seed the master seed
+     * @throws IllegalArgumentException if the region is not a rectangle
+     *         anchored at (0, 0), or the number of districts is less than
+     *         one or more than the number of locations
+     */
+    public EnsembleRunner(final Region theRegion, final int districts,
+                          final long seed) {
+        this.initialPlan = ReComChain.initialPlan(theRegion, districts);
+        this.masterSeed = seed;
+    }
+
+    /**
+     * Runs the chains, one thread per available processor.
+     * @param chains the number of chains
+     * @param plansPerChain the number of plans each chain records
+     * @param stepsBetweenPlans the number of steps between recorded plans
+     * @return the statistics of the recorded plans
+     * @throws IllegalArgumentException if a count is invalid
+     * @throws InterruptedException if interrupted while waiting for chains
+     */
+    public EnsembleStatistics run(final int chains, final long plansPerChain,
+                                  final int stepsBetweenPlans)
+            throws InterruptedException {
+        return run(chains, plansPerChain, stepsBetweenPlans,
+                   Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Runs the chains on a fixed pool of threads.
+     * @param chains the number of chains
+     * @param plansPerChain the number of plans each chain records
+     * @param stepsBetweenPlans the number of steps between recorded plans
+     * @param threads the number of threads
+     * @return the statistics of the recorded plans
+     * @throws IllegalArgumentException if a count is invalid
+     * @throws InterruptedException if interrupted while waiting for chains
+     */
+    public EnsembleStatistics run(final int chains, final long plansPerChain,
+                                  final int stepsBetweenPlans,
+                                  final int threads)
+            throws InterruptedException {
+        if (chains < 0 || plansPerChain < 0 || stepsBetweenPlans < 1
+            || threads < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid ensemble of " + chains + " chains of "
+                    + plansPerChain + " plans every " + stepsBetweenPlans
+                    + " steps on " + threads + " threads");
+        }
+        EnsembleStatistics statistics =
+                new EnsembleStatistics(this.initialPlan.numberOfDistricts());
+        SplittableRandom master = new SplittableRandom(this.masterSeed);
+        List<Runnable> tasks = new ArrayList<>(chains);
+        for (int c = 0; c < chains; c++) {
+            ReComChain chain = new ReComChain(this.initialPlan, master.split());
+            tasks.add(() -> runChain(chain, plansPerChain, stepsBetweenPlans,
+                                     statistics));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(chains);
+            for (Runnable task : tasks) {
+                futures.add(pool.submit(task));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Chain failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return statistics;
+    }
+
+    /**
+     * Runs one chain, recording every so many of its plans.
+     * @param chain the chain
+     * @param plans the number of plans to record
+     * @param stepsBetweenPlans the number of steps between recorded plans
+     * @param statistics the statistics receiving the plans
+     */
+    private static void runChain(final ReComChain chain, final long plans,
+                                 final int stepsBetweenPlans,
+                                 final EnsembleStatistics statistics) {
+        byte[] parties = chain.region().partyOrdinals();
+        int[] scratch = new int[0];
+        for (long p = 0; p < plans; p++) {
+            for (int s = 0; s < stepsBetweenPlans; s++) {
+                chain.step();
+            }
+            scratch = statistics.record(chain.labels(), parties, scratch);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package swdmt.redistricting;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+/**
+ * Tests for EnsembleRunner.
+ *
+ * @author  agent
+ * @version 20261017
+ */
+public class EnsembleRunnerTest {
+    @Test
+    public void countsPlansTest() throws InterruptedException {
+        EnsembleRunner runner =
+                new EnsembleRunner(GridRegions.random(8, 8, 0.5, 1L), 4, 9L);
+        EnsembleStatistics stats = runner.run(3, 20, 2, 2);
+        assertThat(stats.plans(), is(60L));
+        assertThat(stats.numberOfDistricts(), is(4));
+        long histogramTotal = Arrays.stream(stats.seatHistogram(Party.PARTY0))
+                                    .sum();
+        assertThat(histogramTotal, is(60L));
+    }
+
+    @Test
+    public void reproducibleAcrossThreadCountsTest()
+            throws InterruptedException {
+        GridRegion region = GridRegions.random(10, 10, 0.5, 2L);
+        EnsembleStatistics one = new EnsembleRunner(region, 5, 42L)
+                                     .run(4, 50, 1, 1);
+        EnsembleStatistics many = new EnsembleRunner(region, 5, 42L)
+                                      .run(4, 50, 1, 4);
+        assertThat(many.seats(Party.PARTY0), is(one.seats(Party.PARTY0)));
+        assertThat(many.seatHistogram(Party.PARTY1),
+                   is(one.seatHistogram(Party.PARTY1)));
+        assertThat(many.meanEfficiencyGap(), is(one.meanEfficiencyGap()));
+        assertThat(many.efficiencyGapDeviation(),
+                   is(one.efficiencyGapDeviation()));
+    }
+
+    @Test
+    public void seedMattersTest() throws InterruptedException {
+        GridRegion region = GridRegions.random(10, 10, 0.5, 3L);
+        EnsembleStatistics first = new EnsembleRunner(region, 5, 1L)
+                                       .run(2, 100, 1, 1);
+        EnsembleStatistics second = new EnsembleRunner(region, 5, 2L)
+                                        .run(2, 100, 1, 1);
+        assertFalse(first.meanEfficiencyGap() == second.meanEfficiencyGap()
+                    && Arrays.equals(first.seatHistogram(Party.PARTY0),
+                                     second.seatHistogram(Party.PARTY0)));
+    }
+
+    @Test
+    public void invalidArgumentsTest() {
+        EnsembleRunner runner = new EnsembleRunner(new GridRegion(4, 4), 2, 0L);
+        assertThrows(IllegalArgumentException.class,
+                     () -> runner.run(1, 1, 0, 1));
+        assertThrows(IllegalArgumentException.class,
+                     () -> runner.run(1, 1, 1, 0));
+        assertThrows(IllegalArgumentException.class,
+                     () -> runner.run(-1, 1, 1));
+    }
+}
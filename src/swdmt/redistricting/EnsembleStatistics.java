@@ -0,0 +1,216 @@
+package swdmt.redistricting;
+import java.util.Arrays;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+/**
+ * Summary statistics of an ensemble of district plans,
+ * accumulated concurrently without locking.
+ * <p>For each plan, a district is won by the party with the most voters
+ * in it; a district whose leading parties tie is won by no party.
+ * The efficiency gap compares the votes wasted by PARTY0 and PARTY1:
+ * in each district the winner wastes the votes beyond half of the
+ * district's two-party vote and the loser wastes all of its votes.
+ * The gap is PARTY0's wasted votes less PARTY1's, divided by the
+ * two-party vote of the region, so a positive gap indicates a plan
+ * that disadvantages PARTY0.</p>
+ * <p>Seat counts and the sum of efficiency gaps are held as integers, so
+ * they do not depend on the order in which plans are recorded.  The sum
+ * of squared gaps, which would overflow a long for large regions and
+ * long runs, is held as a double; the standard deviation may therefore
+ * differ in its last digits from one order of recording to another.</p>
+ *
+ * @author agent
+ * @version 20261017
+ */
+public final class EnsembleStatistics {
+    /** The known parties, indexed by ordinal. */
+    private static final Party[] PARTIES = Party.values();
+
+    /** The number of districts of each plan. */
+    private final int numberOfDistricts;
+    /** The number of plans recorded. */
+    private final LongAdder plans = new LongAdder();
+    /** Seats won by each party, summed over plans. */
+    private final LongAdder[] seats;
+    /** Number of plans in which each party wins each number of seats. */
+    private final LongAdder[][] seatHistogram;
+    /** Twice the efficiency gap numerator, summed over plans. */
+    private final LongAdder gapSum = new LongAdder();
+    /** Square of twice the efficiency gap numerator, summed over plans. */
+    private final DoubleAdder gapSquareSum = new DoubleAdder();
+    /** Two-party vote of the region; zero until a plan is recorded. */
+    private volatile long twoPartyVotes;
+
+    /**
+     * Creates empty statistics for plans with the given number of districts.
+     * @param districts the number of districts of each plan
+     */
+    public EnsembleStatistics(final int districts) {
+        this.numberOfDistricts = districts;
+        this.seats = new LongAdder[PARTIES.length];
+        this.seatHistogram = new LongAdder[PARTIES.length][districts + 1];
+        for (int p = 0; p < PARTIES.length; p++) {
+            this.seats[p] = new LongAdder();
+            for (int s = 0; s <= districts; s++) {
+                this.seatHistogram[p][s] = new LongAdder();
+            }
+        }
+    }
+
+    /**
+     * Records a plan.
+     * @param plan the plan
+     * @throws IllegalArgumentException if the plan has a different
+     *         number of districts
+     */
+    public void record(final DistrictPlan plan) {
+        if (plan.numberOfDistricts() != this.numberOfDistricts) {
+            throw new IllegalArgumentException(
+                    "Expected " + this.numberOfDistricts
+                    + " districts but found " + plan.numberOfDistricts());
+        }
+        record(plan.labels(), plan.region().partyOrdinals(), new int[0]);
+    }
+
+    /**
+     * Records a plan given the district number and party ordinal of each
+     * cell, using the supplied array for per-district tallies and seats
+     * when it is large enough.
+     * @param labels the district number of each cell
+     * @param parties the party ordinal of each cell
+     * @param scratch tally and seat space, reused between calls
+     *        by one thread
+     * @return the tally space used, for reuse by the caller
+     */
+    int[] record(final int[] labels, final byte[] parties,
+                 final int[] scratch) {
+        int width = PARTIES.length;
+        // The seats won by each party follow the district tallies.
+        int seatsBase = this.numberOfDistricts * width;
+        int[] tally = scratch;
+        if (tally.length < seatsBase + width) {
+            tally = new int[seatsBase + width];
+        }
+        Arrays.fill(tally, 0);
+        for (int cell = 0; cell < labels.length; cell++) {
+            tally[labels[cell] * width + parties[cell]]++;
+        }
+        long gap = 0;
+        long votes = 0;
+        int zero = Party.PARTY0.ordinal();
+        int one = Party.PARTY1.ordinal();
+        for (int d = 0; d < this.numberOfDistricts; d++) {
+            int base = d * width;
+            int winner = PartyTally.leader(tally, base, width);
+            if (winner != PartyTally.TIE) {
+                tally[seatsBase + winner]++;
+            }
+            long a = tally[base + zero];
+            long b = tally[base + one];
+            gap += PartyTally.doubledWastedVotes(a, b)
+                   - PartyTally.doubledWastedVotes(b, a);
+            votes += a + b;
+        }
+        for (int p = 0; p < width; p++) {
+            int won = tally[seatsBase + p];
+            this.seats[p].add(won);
+            this.seatHistogram[p][won].increment();
+        }
+        this.gapSum.add(gap);
+        this.gapSquareSum.add((double) gap * gap);
+        this.twoPartyVotes = votes;
+        this.plans.increment();
+        return tally;
+    }
+
+    /**
+     * Accesses the number of districts of each plan.
+     * @return the number of districts
+     */
+    public int numberOfDistricts() {
+        return this.numberOfDistricts;
+    }
+
+    /**
+     * Accesses the number of plans recorded.
+     * @return the number of plans
+     */
+    public long plans() {
+        return this.plans.sum();
+    }
+
+    /**
+     * Accesses the total seats won by a party over all plans recorded.
+     * @param party the party
+     * @return the number of seats
+     */
+    public long seats(final Party party) {
+        return this.seats[party.ordinal()].sum();
+    }
+
+    /**
+     * Computes the mean number of seats won by a party per plan.
+     * @param party the party
+     * @return the mean number of seats, or 0 if no plan was recorded
+     */
+    public double meanSeats(final Party party) {
+        long count = plans();
+        return (count == 0) ? 0.0 : (double) seats(party) / count;
+    }
+
+    /**
+     * Accesses the number of plans in which a party won each number
+     * of seats.
+     * @param party the party
+     * @return the number of plans indexed by seats won,
+     *         from 0 to the number of districts
+     */
+    public long[] seatHistogram(final Party party) {
+        LongAdder[] adders = this.seatHistogram[party.ordinal()];
+        long[] histogram = new long[adders.length];
+        for (int s = 0; s < adders.length; s++) {
+            histogram[s] = adders[s].sum();
+        }
+        return histogram;
+    }
+
+    /**
+     * Computes the mean efficiency gap over all plans recorded.
+     * @return the mean efficiency gap, or 0 if no plan was recorded
+     *         or the region has no two-party voters
+     */
+    public double meanEfficiencyGap() {
+        long count = plans();
+        long votes = this.twoPartyVotes;
+        if (count == 0 || votes == 0) {
+            return 0.0;
+        }
+        return (double) this.gapSum.sum() / (2.0 * votes * count);
+    }
+
+    /**
+     * Computes the standard deviation of the efficiency gap
+     * over all plans recorded.
+     * @return the standard deviation, or 0 if no plan was recorded
+     *         or the region has no two-party voters
+     */
+    public double efficiencyGapDeviation() {
+        long count = plans();
+        long votes = this.twoPartyVotes;
+        if (count == 0 || votes == 0) {
+            return 0.0;
+        }
+        double mean = (double) this.gapSum.sum() / count;
+        double meanSquare = this.gapSquareSum.sum() / count;
+        double variance = Math.max(0.0, meanSquare - mean * mean);
+        return Math.sqrt(variance) / (2.0 * votes);
+    }
+
+    @Override
+    public String toString() {
+        return "[EnsembleStatistics; plans: " + plans()
+               + "; PARTY0 mean seats: " + meanSeats(Party.PARTY0)
+               + "; PARTY1 mean seats: " + meanSeats(Party.PARTY1)
+               + "; mean efficiency gap: " + meanEfficiencyGap() + "]";
+    }
+}
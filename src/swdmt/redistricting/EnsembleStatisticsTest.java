@@ -0,0 +1,62 @@
+package swdmt.redistricting;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static swdmt.redistricting.GridRegions.P0;
+import static swdmt.redistricting.GridRegions.P1;
+import org.junit.jupiter.api.Test;
+/**
+ * Tests for EnsembleStatistics.
+ *
+ * @author  agent
+ * @version 20261017
+ */
+public class EnsembleStatisticsTest {
+    @Test
+    public void emptyTest() {
+        EnsembleStatistics stats = new EnsembleStatistics(3);
+        assertThat(stats.plans(), is(0L));
+        assertThat(stats.meanSeats(Party.PARTY0), is(0.0));
+        assertThat(stats.meanEfficiencyGap(), is(0.0));
+        assertThat(stats.seatHistogram(Party.PARTY1).length, is(4));
+    }
+
+    @Test
+    public void seatsAndGapTest() {
+        // District 0 is won by PARTY0 with one wasted vote;
+        // district 1 is a tie in which each party wastes one vote.
+        GridRegion region = new GridRegion(4, 1, new byte[] {P0, P0, P0, P1});
+        DistrictPlan plan = new DistrictPlan(region, 2, new int[] {0, 0, 1, 1});
+        EnsembleStatistics stats = new EnsembleStatistics(2);
+        stats.record(plan);
+        assertThat(stats.plans(), is(1L));
+        assertThat(stats.seats(Party.PARTY0), is(1L));
+        assertThat(stats.seats(Party.PARTY1), is(0L));
+        assertThat(stats.seatHistogram(Party.PARTY0)[1], is(1L));
+        assertThat(stats.meanEfficiencyGap(), is(0.25));
+        assertThat(stats.efficiencyGapDeviation(), is(0.0));
+    }
+
+    @Test
+    public void averagesTest() {
+        GridRegion region = new GridRegion(4, 1, new byte[] {P0, P1, P1, P0});
+        EnsembleStatistics stats = new EnsembleStatistics(2);
+        // Both districts tied: no seats, no gap.
+        stats.record(new DistrictPlan(region, 2, new int[] {0, 0, 1, 1}));
+        // PARTY0 wins district 0 and PARTY1 district 1: no gap.
+        stats.record(new DistrictPlan(region, 2, new int[] {0, 1, 1, 0}));
+        assertThat(stats.plans(), is(2L));
+        assertThat(stats.meanSeats(Party.PARTY0), is(0.5));
+        assertThat(stats.seatHistogram(Party.PARTY1)[0], is(1L));
+        assertThat(stats.seatHistogram(Party.PARTY1)[1], is(1L));
+        assertThat(stats.meanEfficiencyGap(), is(0.0));
+    }
+
+    @Test
+    public void wrongDistrictCountTest() {
+        DistrictPlan plan = new DistrictPlan(new GridRegion(2, 1), 2,
+                                             new int[] {0, 1});
+        assertThrows(IllegalArgumentException.class,
+                     () -> new EnsembleStatistics(3).record(plan));
+    }
+}
@@ -0,0 +1,347 @@
+package swdmt.redistricting;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+/**
+ * Finds, with proof, a plan that maximizes the number of districts
+ * favoring a party, for regions of at most 64 locations.
+ * A district favors the party with the most voters in it.
+ * <p>Plans are exact covers of the region by candidate districts:
+ * every contiguous placement of the district sizes, as enumerated by
+ * {@link Redistrictor#allDistrictsOfSpecificSize(Region, int)}.
+ * Each candidate is a 64-bit mask of the cells it covers, and the search
+ * (Knuth's Algorithm X over bitmasks) always covers the least uncovered
+ * cell, trying only the candidates whose least cell it is.</p>
+ * <p>Branch and bound prunes the search.  The incumbent starts as the
+ * plan found by a short {@link PartyOptimizer} run with a fixed seed
+ * and no time budget, so the same region always yields the same
+ * certificate, however fast the machine.  At each node the
+ * uncovered cells are split into connected components; a component
+ * whose size no combination of the remaining district sizes fills ends
+ * the branch, and otherwise each component can add at most as many
+ * favoring districts as it has room for and as its voters for the
+ * party can supply.  A branch that cannot beat the incumbent is
+ * abandoned, so the final incumbent is optimal.</p>
+ *
+ * @author agent
+ * @version 20261017
+ */
+public final class ExactPartySolver {
+    /** The known parties, indexed by ordinal. */
+    private static final Party[] PARTIES = Party.values();
+    /** Largest number of cells a region may have. */
+    public static final int MAX_CELLS = Long.SIZE;
+    /** Iteration budget of the optimizer supplying the incumbent. */
+    private static final long INCUMBENT_ITERATIONS = 100_000L;
+
+    /** The region. */
+    private final GridRegion region;
+    /** The number of districts. */
+    private final int numberOfDistricts;
+    /** The party to favor. */
+    private final Party party;
+    /** Size of the smaller districts. */
+    private final int smallSize;
+    /** Number of districts with one extra location. */
+    private final int largeCount;
+    /** Fewest voters of the party with which a district may favor it. */
+    private final int votesNeeded;
+    /** Mask of every cell of the region. */
+    private final long fullMask;
+    /** Mask of the cells whose voter belongs to the party. */
+    private final long partyMask;
+    /** Mask of the cells not in the first column. */
+    private final long notFirstColumn;
+    /** Mask of the cells not in the last column. */
+    private final long notLastColumn;
+    /** Candidate masks grouped by least cell. */
+    private final long[][] candidateMasks;
+    /** Whether each candidate favors the party, grouped by least cell. */
+    private final boolean[][] candidateFavors;
+    /** Total number of candidates. */
+    private final int candidateCount;
+
+    /** Masks of the candidates on the current branch. */
+    private final long[] chosen;
+    /** Masks of the districts of the best plan found. */
+    private final long[] best;
+    /** Number of favoring districts in the best plan found. */
+    private int bestSeats;
+    /** Whether a plan better than the incumbent has been found. */
+    private boolean improved;
+    /** Number of search nodes visited. */
+    private long nodes;
+
+    /**
+     * Creates a solver.
+     * @param theRegion the region, which must be a fully-populated
+     *        rectangle anchored at (0, 0) of at most 64 locations
+     * @param districts the number of districts
+     * @param favored the party to favor
+     * @throws IllegalArgumentException if the region is not a rectangle
+     *         anchored at (0, 0), has more than 64 locations, or the
+     *         number of districts is less than one or more than the
+     *         number of locations
+     */
+    public ExactPartySolver(final Region theRegion, final int districts,
+                            final Party favored) {
+        if (theRegion.size() > MAX_CELLS) {
+            throw new IllegalArgumentException(
+                    "Region of " + theRegion.size()
+                    + " locations is too large to solve exactly");
+        }
+        if (districts < 1 || districts > theRegion.size()) {
+            throw new IllegalArgumentException(
+                    "Cannot divide " + theRegion.size() + " locations into "
+                    + districts + " districts");
+        }
+        this.region = GridRegion.of(theRegion);
+        this.numberOfDistricts = districts;
+        this.party = favored;
+        int cells = this.region.size();
+        this.smallSize = cells / districts;
+        this.largeCount = cells % districts;
+        this.fullMask = (cells == MAX_CELLS) ? -1L : (1L << cells) - 1;
+        int width = this.region.width();
+        byte[] ordinals = this.region.partyOrdinals();
+        long partyCells = 0;
+        long first = 0;
+        long last = 0;
+        boolean[] present = new boolean[PARTIES.length];
+        for (int cell = 0; cell < cells; cell++) {
+            if (ordinals[cell] == favored.ordinal()) {
+                partyCells |= 1L << cell;
+            }
+            present[ordinals[cell]] = true;
+            if (cell % width == 0) {
+                first |= 1L << cell;
+            }
+            if (cell % width == width - 1) {
+                last |= 1L << cell;
+            }
+        }
+        int rivals = 0;
+        for (int p = 0; p < PARTIES.length; p++) {
+            if (present[p] && p != favored.ordinal()) {
+                rivals++;
+            }
+        }
+        // With r rival parties, a district of s voters favors the party
+        // only if s <= v + r(v - 1) for its v voters of the party.
+        this.votesNeeded = (this.smallSize + 2 * rivals) / (rivals + 1);
+        this.partyMask = partyCells;
+        this.notFirstColumn = this.fullMask & ~first;
+        this.notLastColumn = this.fullMask & ~last;
+
+        List<List<Long>> groups = new ArrayList<>(cells);
+        for (int cell = 0; cell < cells; cell++) {
+            groups.add(new ArrayList<Long>());
+        }
+        int count = addCandidates(groups, this.smallSize);
+        if (this.largeCount > 0) {
+            count += addCandidates(groups, this.smallSize + 1);
+        }
+        this.candidateCount = count;
+        this.candidateMasks = new long[cells][];
+        this.candidateFavors = new boolean[cells][];
+        for (int cell = 0; cell < cells; cell++) {
+            List<Long> group = groups.get(cell);
+            // Try favoring candidates first to find good plans early,
+            // then by mask so the search does not depend on the order
+            // in which the candidates were enumerated.
+            group.sort((a, b) -> (favors(a) == favors(b))
+                                 ? Long.compareUnsigned(a, b)
+                                 : Boolean.compare(favors(b), favors(a)));
+            this.candidateMasks[cell] = new long[group.size()];
+            this.candidateFavors[cell] = new boolean[group.size()];
+            for (int i = 0; i < group.size(); i++) {
+                this.candidateMasks[cell][i] = group.get(i);
+                this.candidateFavors[cell][i] = favors(group.get(i));
+            }
+        }
+        this.chosen = new long[districts];
+        this.best = new long[districts];
+    }
+
+    /**
+     * Adds the masks of all candidate districts of a size to the groups
+     * of their least cells.
+     * @param groups the candidate masks of each least cell
+     * @param size the district size
+     * @return the number of candidates added
+     */
+    private int addCandidates(final List<List<Long>> groups,
+                              final int size) {
+        Collection<District> districts =
+                Redistrictor.allDistrictsOfSpecificSize(this.region, size);
+        int width = this.region.width();
+        for (District district : districts) {
+            long mask = 0;
+            for (Location loc : district.locationsView()) {
+                mask |= 1L << (loc.yCoordinate() * width + loc.xCoordinate());
+            }
+            groups.get(Long.numberOfTrailingZeros(mask)).add(mask);
+        }
+        return districts.size();
+    }
+
+    /**
+     * Determines whether the district with the given mask favors the party.
+     * @param mask the cells of the district
+     * @return true if the party has more voters than any other party
+     */
+    private boolean favors(final long mask) {
+        int[] counts = new int[PARTIES.length];
+        byte[] ordinals = this.region.partyOrdinals();
+        for (long m = mask; m != 0; m &= m - 1) {
+            counts[ordinals[Long.numberOfTrailingZeros(m)]]++;
+        }
+        return PartyTally.leader(counts) == this.party;
+    }
+
+    /**
+     * Searches for an optimal plan.
+     * @return the certificate of an optimal plan
+     */
+    public PartyCertificate solve() {
+        PartyOptimizer heuristic = new PartyOptimizer(
+                this.region, this.numberOfDistricts, this.party, 0L);
+        DistrictPlan incumbent = heuristic.optimize(INCUMBENT_ITERATIONS);
+        this.bestSeats = heuristic.bestSeats();
+        this.improved = false;
+        this.nodes = 0;
+        search(0L, 0, 0, 0);
+        DistrictPlan plan = this.improved ? planOf(this.best) : incumbent;
+        return new PartyCertificate(plan, this.party, this.bestSeats,
+                                    this.candidateCount, this.nodes);
+    }
+
+    /**
+     * Extends the current branch by each candidate covering the least
+     * uncovered cell, abandoning branches that cannot beat the best plan.
+     * @param covered the cells covered so far
+     * @param placed the number of districts placed so far
+     * @param large the number of larger districts placed so far
+     * @param seats the number of favoring districts placed so far
+     */
+    private void search(final long covered, final int placed, final int large,
+                        final int seats) {
+        this.nodes++;
+        if (covered == this.fullMask) {
+            if (seats > this.bestSeats) {
+                this.bestSeats = seats;
+                this.improved = true;
+                System.arraycopy(this.chosen, 0, this.best, 0, placed);
+            }
+            return;
+        }
+        int bound = upperBound(covered, placed, large);
+        if (bound < 0 || seats + bound <= this.bestSeats) {
+            return;
+        }
+        int cell = Long.numberOfTrailingZeros(~covered);
+        long[] masks = this.candidateMasks[cell];
+        boolean[] favor = this.candidateFavors[cell];
+        for (int i = 0; i < masks.length; i++) {
+            long mask = masks[i];
+            if ((mask & covered) != 0) {
+                continue;
+            }
+            boolean isLarge = Long.bitCount(mask) > this.smallSize;
+            if (isLarge ? large == this.largeCount
+                        : placed - large
+                          == this.numberOfDistricts - this.largeCount) {
+                continue;
+            }
+            this.chosen[placed] = mask;
+            search(covered | mask, placed + 1, isLarge ? large + 1 : large,
+                   favor[i] ? seats + 1 : seats);
+        }
+    }
+
+    /**
+     * Bounds the number of favoring districts the uncovered cells can add.
+     * @param covered the cells covered so far
+     * @param placed the number of districts placed so far
+     * @param large the number of larger districts placed so far
+     * @return an upper bound, or -1 if the uncovered cells cannot be
+     *         filled by the remaining districts
+     */
+    private int upperBound(final long covered, final int placed,
+                           final int large) {
+        int smallLeft = this.numberOfDistricts - this.largeCount
+                        - (placed - large);
+        int largeLeft = this.largeCount - large;
+        long remaining = this.fullMask & ~covered;
+        int bound = 0;
+        while (remaining != 0) {
+            long component = component(remaining & -remaining, remaining);
+            remaining &= ~component;
+            int size = Long.bitCount(component);
+            if (!fillable(size, smallLeft, largeLeft)) {
+                return -1;
+            }
+            bound += Math.min(size / this.smallSize,
+                              Long.bitCount(component & this.partyMask)
+                              / this.votesNeeded);
+        }
+        return Math.min(bound, smallLeft + largeLeft);
+    }
+
+    /**
+     * Finds the connected component containing the seed cells.
+     * @param seed the seed cells
+     * @param within the cells the component may contain
+     * @return the component
+     */
+    private long component(final long seed, final long within) {
+        int width = this.region.width();
+        long grown = seed;
+        long previous;
+        do {
+            previous = grown;
+            grown |= ((grown << 1) & this.notFirstColumn)
+                     | ((grown >>> 1) & this.notLastColumn)
+                     | (grown << width) | (grown >>> width);
+            grown &= within;
+        } while (grown != previous);
+        return grown;
+    }
+
+    /**
+     * Determines whether some combination of the remaining districts
+     * has exactly the given number of cells.
+     * @param size the number of cells
+     * @param smallLeft the number of smaller districts remaining
+     * @param largeLeft the number of larger districts remaining
+     * @return true if the cells can be exactly filled
+     */
+    private boolean fillable(final int size, final int smallLeft,
+                             final int largeLeft) {
+        int largeSize = this.smallSize + 1;
+        for (int l = 0; l <= largeLeft && l * largeSize <= size; l++) {
+            int rest = size - l * largeSize;
+            if (rest % this.smallSize == 0
+                && rest / this.smallSize <= smallLeft) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates the plan whose districts have the given masks.
+     * @param masks the cells of each district
+     * @return the plan
+     */
+    private DistrictPlan planOf(final long[] masks) {
+        int[] labels = new int[this.region.size()];
+        for (int d = 0; d < masks.length; d++) {
+            for (long m = masks[d]; m != 0; m &= m - 1) {
+                labels[Long.numberOfTrailingZeros(m)] = d;
+            }
+        }
+        return new DistrictPlan(this.region, this.numberOfDistricts, labels,
+                                false);
+    }
+}
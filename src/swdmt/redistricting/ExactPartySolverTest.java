@@ -0,0 +1,176 @@
+package swdmt.redistricting;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static java.time.Duration.ofMillis;
+import static swdmt.redistricting.GridRegions.P0;
+import static swdmt.redistricting.GridRegions.P1;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+/**
+ * Tests for ExactPartySolver.
+ *
+ * @author  agent
+ * @version 20261017
+ */
+public class ExactPartySolverTest {
+    /**
+     * Finds the most districts favoring PARTY0 over every plan,
+     * by exhaustive search over candidate districts.
+     * @param region the region
+     * @param districts the number of districts
+     * @return the most favoring districts of any plan
+     */
+    private static int bruteForce(final GridRegion region,
+                                  final int districts) {
+        int small = region.size() / districts;
+        List<District> candidates = new ArrayList<>(
+                Redistrictor.allDistrictsOfSpecificSize(region, small));
+        if (region.size() % districts != 0) {
+            candidates.addAll(
+                    Redistrictor.allDistrictsOfSpecificSize(region, small + 1));
+        }
+        List<District> plan = new ArrayList<>();
+        return bruteForce(region, districts, candidates, plan,
+                          new boolean[region.size()]);
+    }
+
+    /**
+     * Extends a partial plan in every way, covering the least free cell.
+     * @param region the region
+     * @param districts the number of districts
+     * @param candidates the candidate districts
+     * @param plan the partial plan
+     * @param covered the cells covered by the partial plan
+     * @return the most favoring districts of any completion, or -1
+     */
+    private static int bruteForce(final GridRegion region, final int districts,
+                                  final List<District> candidates,
+                                  final List<District> plan,
+                                  final boolean[] covered) {
+        int free = 0;
+        while (free < covered.length && covered[free]) {
+            free++;
+        }
+        if (free == covered.length) {
+            if (plan.size() != districts) {
+                return -1;
+            }
+            DistrictPlan complete = DistrictPlan.of(region, plan);
+            return complete.isValid()
+                   ? PartyOptimizer.seats(complete, Party.PARTY0) : -1;
+        }
+        Location target = Location.of(free % region.width(),
+                                      free / region.width());
+        int best = -1;
+        for (District candidate : candidates) {
+            if (!candidate.locations().contains(target)) {
+                continue;
+            }
+            boolean fits = true;
+            for (Location loc : candidate.locations()) {
+                fits &= !covered[loc.yCoordinate() * region.width()
+                                 + loc.xCoordinate()];
+            }
+            if (!fits) {
+                continue;
+            }
+            for (Location loc : candidate.locations()) {
+                covered[loc.yCoordinate() * region.width()
+                        + loc.xCoordinate()] = true;
+            }
+            plan.add(candidate);
+            best = Math.max(best, bruteForce(region, districts, candidates,
+                                             plan, covered));
+            plan.remove(plan.size() - 1);
+            for (Location loc : candidate.locations()) {
+                covered[loc.yCoordinate() * region.width()
+                        + loc.xCoordinate()] = false;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Checks the example region of the specification: Party A (PARTY0)
+     * can be favored in at most 3 of 5 districts, Party B in all 5.
+     */
+    @Test
+    public void specificationExampleTest() {
+        byte[] parties = new byte[25];
+        Arrays.fill(parties, P1);
+        int[][] partyA = {{0, 0}, {0, 1}, {1, 1}, {1, 2}, {1, 4},
+                          {2, 0}, {3, 2}, {3, 3}, {4, 4}};
+        for (int[] loc : partyA) {
+            parties[loc[0] * 5 + loc[1]] = P0;
+        }
+        GridRegion region = new GridRegion(5, 5, parties);
+        PartyCertificate a = new ExactPartySolver(region, 5, Party.PARTY0)
+                                 .solve();
+        assertThat(a.seats(), is(3));
+        assertTrue(a.verify());
+        PartyCertificate b = new ExactPartySolver(region, 5, Party.PARTY1)
+                                 .solve();
+        assertThat(b.seats(), is(5));
+        assertTrue(b.verify());
+    }
+
+    @Test
+    public void matchesExhaustiveSearchTest() {
+        for (long seed = 1; seed <= 4; seed++) {
+            GridRegion square = GridRegions.random(4, 4, 0.4, seed);
+            assertThat(new ExactPartySolver(square, 4, Party.PARTY0)
+                           .solve().seats(),
+                       is(bruteForce(square, 4)));
+            // 15 locations into 4 districts: sizes 3, 4, 4 and 4.
+            GridRegion oblong = GridRegions.random(5, 3, 0.4, seed);
+            PartyCertificate certificate =
+                    new ExactPartySolver(oblong, 4, Party.PARTY0).solve();
+            assertThat(certificate.seats(), is(bruteForce(oblong, 4)));
+            assertTrue(certificate.verify());
+        }
+    }
+
+    @Test
+    public void sevenBySevenTest() {
+        GridRegion region = GridRegions.random(7, 7, 0.4, 11L);
+        assertTimeout(ofMillis(20_000L), () -> {
+            PartyCertificate certificate =
+                    new ExactPartySolver(region, 7, Party.PARTY0).solve();
+            assertTrue(certificate.verify());
+            assertThat(certificate.plan().numberOfDistricts(), is(7));
+            PartyOptimizer heuristic =
+                    new PartyOptimizer(region, 7, Party.PARTY0, 5L);
+            heuristic.optimize(100_000L, 10_000L);
+            assertTrue(certificate.seats() >= heuristic.bestSeats());
+        });
+    }
+
+    @Test
+    public void deterministicTest() {
+        GridRegion region = GridRegions.random(5, 5, 0.4, 3L);
+        PartyCertificate first =
+                new ExactPartySolver(region, 5, Party.PARTY0).solve();
+        for (int run = 0; run < 3; run++) {
+            PartyCertificate again =
+                    new ExactPartySolver(region, 5, Party.PARTY0).solve();
+            assertThat(again.plan(), is(first.plan()));
+            assertThat(again.seats(), is(first.seats()));
+            assertThat(again.nodes(), is(first.nodes()));
+        }
+    }
+
+    @Test
+    public void invalidArgumentsTest() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new ExactPartySolver(new GridRegion(9, 9), 9,
+                                                Party.PARTY0));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new ExactPartySolver(new GridRegion(3, 3), 10,
+                                                Party.PARTY0));
+    }
+}
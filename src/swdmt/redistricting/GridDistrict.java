@@ -0,0 +1,294 @@
+package swdmt.redistricting;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+/**
+ * A district within a rectangular grid of known dimensions,
+ * represented as a bitmap with one bit per grid cell.
+ * The cell at (x, y) is bit <code>y * width + x</code>.
+ * <p>Membership is a single bit test, and comparisons between
+ * districts of the same grid (equality, intersection, union)
+ * proceed a 64-bit word at a time.
+ * Grid districts are immutable; their hash code is computed once.</p>
+ *
+ * @author agent
+ * @version 20261017
+ */
+public final class GridDistrict implements java.io.Serializable {
+    /** Serialization version requirement. */
+    private static final long serialVersionUID = 1L;
+    /** Number of bits in a word of the bitmap. */
+    private static final int WORD_BITS = 64;
+    /** Shift converting a cell index to a word index. */
+    private static final int WORD_SHIFT = 6;
+
+    /** Width of the grid. */
+    private final int width;
+    /** Height of the grid. */
+    private final int height;
+    /** The bitmap of cells in this district. */
+    private final long[] words;
+    /** The number of cells in this district. */
+    private final int size;
+    /** Cached hash code. */
+    private final int hash;
+
+    /**
+     * Creates an empty district in a grid of the specified dimensions.
+     * @param gridWidth the width of the grid
+     * @param gridHeight the height of the grid
+     * @throws IllegalArgumentException if either dimension is negative
+     */
+    public GridDistrict(final int gridWidth, final int gridHeight) {
+        this(gridWidth, gridHeight, new ArrayList<Location>());
+    }
+
+    /**
+     * Creates a district comprised of the specified locations
+     * in a grid of the specified dimensions.
+     * @param gridWidth the width of the grid
+     * @param gridHeight the height of the grid
+     * @param theLocations the locations comprising this district
+     * @throws IllegalArgumentException if either dimension is negative
+     *         or any location lies outside the grid
+     */
+    public GridDistrict(final int gridWidth, final int gridHeight,
+                        final Collection<Location> theLocations) {
+        this(gridWidth, gridHeight,
+             bitmap(gridWidth, gridHeight, theLocations));
+    }
+
+    /**
+     * Creates a grid district with the same locations as
+     * the specified district.
+     * @param gridWidth the width of the grid
+     * @param gridHeight the height of the grid
+     * @param district the district to convert
+     * @throws IllegalArgumentException if either dimension is negative
+     *         or any location of the district lies outside the grid
+     */
+    public GridDistrict(final int gridWidth, final int gridHeight,
+                        final District district) {
+        this(gridWidth, gridHeight, district.locationsView());
+    }
+
+    /**
+     * Creates a district from a bitmap, which is retained.
+     * @param gridWidth the width of the grid
+     * @param gridHeight the height of the grid
+     * @param bitmap the bitmap of cells in the district
+     */
+    private GridDistrict(final int gridWidth, final int gridHeight,
+                         final long[] bitmap) {
+        this.width = gridWidth;
+        this.height = gridHeight;
+        this.words = bitmap;
+        int count = 0;
+        for (long word : bitmap) {
+            count += Long.bitCount(word);
+        }
+        this.size = count;
+        this.hash = Arrays.hashCode(bitmap);
+    }
+
+    /**
+     * Builds the bitmap of the specified locations.
+     * @param gridWidth the width of the grid
+     * @param gridHeight the height of the grid
+     * @param theLocations the locations to include
+     * @return the bitmap
+     * @throws IllegalArgumentException if either dimension is negative
+     *         or any location lies outside the grid
+     */
+    private static long[] bitmap(final int gridWidth, final int gridHeight,
+                                 final Collection<Location> theLocations) {
+        long cells = (long) gridWidth * gridHeight;
+        if (gridWidth < 0 || gridHeight < 0 || cells > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Invalid grid dimensions " + gridWidth + "x" + gridHeight);
+        }
+        long[] bitmap = new long[(int) ((cells + WORD_BITS - 1) / WORD_BITS)];
+        for (Location loc : theLocations) {
+            int x = loc.xCoordinate();
+            int y = loc.yCoordinate();
+            if (x < 0 || y < 0 || x >= gridWidth || y >= gridHeight) {
+                throw new IllegalArgumentException(
+                        "Location (" + x + ", " + y + ") outside "
+                        + gridWidth + "x" + gridHeight + " grid");
+            }
+            int cell = y * gridWidth + x;
+            bitmap[cell >>> WORD_SHIFT] |= 1L << cell;
+        }
+        return bitmap;
+    }
+
+    /**
+     * Accesses the width of the grid containing this district.
+     * @return the grid width
+     */
+    public int width() {
+        return this.width;
+    }
+
+    /**
+     * Accesses the height of the grid containing this district.
+     * @return the grid height
+     */
+    public int height() {
+        return this.height;
+    }
+
+    /**
+     * Accesses the number of locations in this district.
+     * @return the number of locations
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Determines whether the cell at the specified coordinates
+     * belongs to this district.
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return true if the cell is in this district; false otherwise
+     */
+    public boolean contains(final int x, final int y) {
+        if (x < 0 || y < 0 || x >= this.width || y >= this.height) {
+            return false;
+        }
+        int cell = y * this.width + x;
+        return (this.words[cell >>> WORD_SHIFT] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Determines whether the specified location belongs to this district.
+     * @param loc the location
+     * @return true if the location is in this district; false otherwise
+     */
+    public boolean contains(final Location loc) {
+        return loc != null && contains(loc.xCoordinate(), loc.yCoordinate());
+    }
+
+    /**
+     * Determines whether this district shares any location
+     * with another district of the same grid.
+     * @param other the other district
+     * @return true if the districts overlap; false otherwise
+     * @throws IllegalArgumentException if the grids differ
+     */
+    public boolean intersects(final GridDistrict other) {
+        requireSameGrid(other);
+        for (int i = 0; i < this.words.length; i++) {
+            if ((this.words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates the district comprised of the locations in either this
+     * district or another district of the same grid.
+     * @param other the other district
+     * @return the union of the two districts
+     * @throws IllegalArgumentException if the grids differ
+     */
+    public GridDistrict union(final GridDistrict other) {
+        requireSameGrid(other);
+        long[] bitmap = new long[this.words.length];
+        for (int i = 0; i < bitmap.length; i++) {
+            bitmap[i] = this.words[i] | other.words[i];
+        }
+        return new GridDistrict(this.width, this.height, bitmap);
+    }
+
+    /**
+     * Creates the district comprised of the locations in both this
+     * district and another district of the same grid.
+     * @param other the other district
+     * @return the intersection of the two districts
+     * @throws IllegalArgumentException if the grids differ
+     */
+    public GridDistrict intersection(final GridDistrict other) {
+        requireSameGrid(other);
+        long[] bitmap = new long[this.words.length];
+        for (int i = 0; i < bitmap.length; i++) {
+            bitmap[i] = this.words[i] & other.words[i];
+        }
+        return new GridDistrict(this.width, this.height, bitmap);
+    }
+
+    /**
+     * Verifies that another district belongs to the same grid.
+     * @param other the other district
+     * @throws IllegalArgumentException if the grids differ
+     */
+    private void requireSameGrid(final GridDistrict other) {
+        if (other.width != this.width || other.height != this.height) {
+            throw new IllegalArgumentException(
+                    "Cannot combine districts of " + this.width + "x"
+                    + this.height + " and " + other.width + "x"
+                    + other.height + " grids");
+        }
+    }
+
+    /**
+     * Accesses the locations that comprise this district,
+     * in row-major order.
+     * @return a collection of locations
+     */
+    public Collection<Location> locations() {
+        List<Location> result = new ArrayList<>(this.size);
+        for (int w = 0; w < this.words.length; w++) {
+            long word = this.words[w];
+            while (word != 0) {
+                int cell = (w << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+                result.add(Location.of(cell % this.width, cell / this.width));
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates a district with the same locations as this grid district.
+     * @return the equivalent district
+     */
+    public District toDistrict() {
+        return new District(locations());
+    }
+
+    /**
+     * Determines whether the specified object is a grid district
+     * of the same grid with the same locations.
+     * @param obj an Object to be compared with this district
+     * @return true if obj is an equal grid district; false otherwise
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof GridDistrict)) {
+            return false;
+        }
+        GridDistrict that = (GridDistrict) obj;
+        return this.hash == that.hash
+               && this.width == that.width
+               && this.height == that.height
+               && Arrays.equals(this.words, that.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    @Override
+    public String toString() {
+        return "[GridDistrict@" + this.hashCode() + "; size: " + this.size
+               + "; grid: " + this.width + "x" + this.height + "]";
+    }
+}
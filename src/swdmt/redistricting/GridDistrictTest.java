@@ -0,0 +1,93 @@
+package swdmt.redistricting;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+/**
+ * Tests for GridDistrict objects.
+ *
+ * @author  agent
+ * @version 20261017
+ */
+public class GridDistrictTest {
+    @Test
+    public void emptyGridDistrictTest() {
+        GridDistrict district = new GridDistrict(3, 3);
+        assertThat(district.size(), is(0));
+        assertFalse(district.contains(0, 0));
+        assertThat(district.locations().size(), is(0));
+    }
+
+    @Test
+    public void containsTest() {
+        List<Location> locs = Arrays.asList(new Location(0, 0),
+                                            new Location(9, 0),
+                                            new Location(3, 7));
+        GridDistrict district = new GridDistrict(10, 8, locs);
+        assertThat(district.size(), is(3));
+        for (Location loc : locs) {
+            assertTrue(district.contains(loc));
+        }
+        assertFalse(district.contains(new Location(1, 0)));
+        assertFalse(district.contains(new Location(-1, 0)));
+        assertFalse(district.contains(10, 0));
+        assertFalse(district.contains(null));
+    }
+
+    @Test
+    public void locationOutsideGridShouldRaiseAnException() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new GridDistrict(2, 2, Arrays.asList(new Location(2, 0)));
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new GridDistrict(-1, 2);
+        });
+    }
+
+    @Test
+    public void districtRoundTripTest() {
+        District district = new District(Arrays.asList(new Location(1, 1),
+                                                       new Location(1, 2),
+                                                       new Location(2, 2)));
+        GridDistrict grid = new GridDistrict(5, 5, district);
+        assertThat(new TreeSet<>(grid.locations()),
+                   is(new TreeSet<>(district.locations())));
+        assertThat(grid.toDistrict().size(), is(3));
+    }
+
+    @Test
+    public void setOperationsTest() {
+        GridDistrict a = new GridDistrict(70, 2, Arrays.asList(
+                new Location(0, 0), new Location(69, 1)));
+        GridDistrict b = new GridDistrict(70, 2, Arrays.asList(
+                new Location(69, 1), new Location(5, 1)));
+        GridDistrict c = new GridDistrict(70, 2, Arrays.asList(
+                new Location(5, 0)));
+        assertTrue(a.intersects(b));
+        assertFalse(a.intersects(c));
+        assertThat(a.union(b).size(), is(3));
+        assertThat(a.intersection(b).size(), is(1));
+        assertTrue(a.intersection(b).contains(69, 1));
+        assertThrows(IllegalArgumentException.class, () -> {
+            a.intersects(new GridDistrict(2, 70));
+        });
+    }
+
+    @Test
+    public void equalsAndHashCodeTest() {
+        GridDistrict a = new GridDistrict(4, 4, Arrays.asList(
+                new Location(0, 1), new Location(1, 1)));
+        GridDistrict b = new GridDistrict(4, 4, Arrays.asList(
+                new Location(1, 1), new Location(0, 1)));
+        assertThat(a, is(b));
+        assertThat(a.hashCode(), is(b.hashCode()));
+        assertThat(a, is(not(new GridDistrict(4, 4))));
+        assertThat(a, is(not(new GridDistrict(8, 2, a.locations()))));
+    }
+}
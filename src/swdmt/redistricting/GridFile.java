@@ -0,0 +1,294 @@
+package swdmt.redistricting;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+/**
+ * Reads and writes grid regions and district plans in a compact,
+ * versioned binary format, in place of Java serialization.
+ * <p>A file holds, in big-endian order:</p>
+ * <ol>
+ * <li>a header of six ints: the magic number, the format version, the
+ *     width and height of the region, the number of districts of the
+ *     plan (0 for a region without a plan), and the number of bytes of
+ *     each district number (0, 2 or 4);</li>
+ * <li>the party ordinal of each cell, one byte per cell, in row-major
+ *     order;</li>
+ * <li>for a plan, the district number of each cell, in row-major order,
+ *     as unsigned shorts when there are at most 65536 districts and as
+ *     ints otherwise.</li>
+ * </ol>
+ * <p>Files are read through {@link FileChannel#map}: the party bytes are
+ * copied in bulk straight into the region's array and the district
+ * numbers are read through a view of the mapping, so loading creates no
+ * object per cell.  Files are written to a temporary file that then
+ * replaces the target, so readers never see a partial file.</p>
+ *
+ * @author agent
+ * @version 20261017
+ */
+public final class GridFile {
+    /** First value of a grid file. */
+    private static final int MAGIC = 0x47524944;
+    /** Version of the grid file format. */
+    private static final int FORMAT_VERSION = 1;
+    /** Number of bytes of the header. */
+    private static final int HEADER_BYTES = 6 * Integer.BYTES;
+    /** Largest number of districts stored as unsigned shorts. */
+    private static final int MAX_SHORT_DISTRICTS = 1 << Short.SIZE;
+    /** Mask converting a short to an unsigned value. */
+    private static final int UNSIGNED_SHORT = 0xFFFF;
+    /** Largest number of bytes mapped or buffered at once. */
+    private static final int CHUNK_BYTES = 1 << 26;
+    /** Number of bytes of the buffer used to write district numbers. */
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    /**
+     * Writes a region without a plan.
+     * @param file the file, replaced if it exists
+     * @param region the region
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public static void write(final Path file, final GridRegion region) {
+        write(file, region, 0, null);
+    }
+
+    /**
+     * Writes a plan along with its region.
+     * @param file the file, replaced if it exists
+     * @param plan the plan
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public static void write(final Path file, final DistrictPlan plan) {
+        write(file, plan.region(), plan.numberOfDistricts(), plan.labels());
+    }
+
+    /**
+     * Reads the region of a file, ignoring any plan.
+     * @param file the file
+     * @return the region
+     * @throws IllegalArgumentException if the file is malformed
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public static GridRegion readRegion(final Path file) {
+        try (FileChannel channel = FileChannel.open(file,
+                                                    StandardOpenOption.READ)) {
+            return readRegion(channel, readHeader(file, channel));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the plan of a file, along with its region.
+     * @param file the file
+     * @return the plan
+     * @throws IllegalArgumentException if the file is malformed
+     *         or holds no plan
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public static DistrictPlan readPlan(final Path file) {
+        try (FileChannel channel = FileChannel.open(file,
+                                                    StandardOpenOption.READ)) {
+            int[] header = readHeader(file, channel);
+            int districts = header[2];
+            if (districts == 0) {
+                throw new IllegalArgumentException(
+                        "No plan in grid file " + file);
+            }
+            GridRegion region = readRegion(channel, header);
+            int cells = region.size();
+            int[] labels = new int[cells];
+            long position = HEADER_BYTES + (long) cells;
+            int labelBytes = header[3];
+            int perChunk = CHUNK_BYTES / labelBytes;
+            for (int from = 0; from < cells; from += perChunk) {
+                int count = Math.min(perChunk, cells - from);
+                MappedByteBuffer mapped = channel.map(
+                        FileChannel.MapMode.READ_ONLY,
+                        position + (long) from * labelBytes,
+                        (long) count * labelBytes);
+                if (labelBytes == Short.BYTES) {
+                    ShortBuffer shorts = mapped.asShortBuffer();
+                    for (int i = 0; i < count; i++) {
+                        labels[from + i] = shorts.get(i) & UNSIGNED_SHORT;
+                    }
+                } else {
+                    IntBuffer ints = mapped.asIntBuffer();
+                    ints.get(labels, from, count);
+                }
+            }
+            return new DistrictPlan(region, districts, labels, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads and verifies the header of a file, including that the file
+     * has exactly the length the header implies.
+     * @param file the file, for messages
+     * @param channel the open file
+     * @return the width, height, number of districts, and bytes per
+     *         district number
+     * @throws IOException if the file cannot be read
+     */
+    private static int[] readHeader(final Path file,
+                                    final FileChannel channel)
+            throws IOException {
+        long size = channel.size();
+        if (size < HEADER_BYTES) {
+            throw new IllegalArgumentException(
+                    "Truncated grid file " + file);
+        }
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY,
+                                        0, HEADER_BYTES);
+        if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+            throw new IllegalArgumentException(
+                    "Malformed grid file " + file);
+        }
+        int width = header.getInt();
+        int height = header.getInt();
+        int districts = header.getInt();
+        int labelBytes = header.getInt();
+        long cells = (long) width * height;
+        boolean planValid = (districts == 0) ? labelBytes == 0
+                : districts > 0 && labelBytes == labelBytesOf(districts);
+        if (width < 0 || height < 0 || cells > Integer.MAX_VALUE
+            || !planValid
+            || size != HEADER_BYTES + cells * (1 + labelBytes)) {
+            throw new IllegalArgumentException(
+                    "Malformed grid file " + file);
+        }
+        return new int[] {width, height, districts, labelBytes};
+    }
+
+    /**
+     * Reads the region of a file whose header has been verified.
+     * @param channel the open file
+     * @param header the verified header
+     * @return the region
+     * @throws IOException if the file cannot be read
+     */
+    private static GridRegion readRegion(final FileChannel channel,
+                                         final int[] header)
+            throws IOException {
+        int width = header[0];
+        int height = header[1];
+        byte[] parties = new byte[width * height];
+        for (int from = 0; from < parties.length; from += CHUNK_BYTES) {
+            int count = Math.min(CHUNK_BYTES, parties.length - from);
+            channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_BYTES + (long) from, count)
+                   .get(parties, from, count);
+        }
+        return new GridRegion(width, height, parties, true);
+    }
+
+    /**
+     * Writes a region and optional plan, replacing any existing file
+     * only once the new one is complete.
+     * @param file the file
+     * @param region the region
+     * @param districts the number of districts, or 0 for no plan
+     * @param labels the district number of each cell, or null for no plan
+     */
+    private static void write(final Path file, final GridRegion region,
+                              final int districts, final int[] labels) {
+        int labelBytes = (labels == null) ? 0 : labelBytesOf(districts);
+        Path temporary = null;
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            temporary = Files.createTempFile(directory, "grid-", ".tmp");
+            try (FileChannel channel = FileChannel.open(
+                    temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putInt(FORMAT_VERSION)
+                      .putInt(region.width()).putInt(region.height())
+                      .putInt(districts).putInt(labelBytes).flip();
+                writeFully(channel, header);
+                writeFully(channel, ByteBuffer.wrap(region.partyOrdinals()));
+                if (labels != null) {
+                    writeLabels(channel, labels, labelBytes);
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+            temporary = null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (temporary != null) {
+                temporary.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * Writes district numbers through a reused buffer.
+     * @param channel the open file
+     * @param labels the district numbers
+     * @param labelBytes the number of bytes of each district number
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeLabels(final FileChannel channel,
+                                    final int[] labels,
+                                    final int labelBytes)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+        int perBuffer = WRITE_BUFFER_BYTES / labelBytes;
+        for (int from = 0; from < labels.length; from += perBuffer) {
+            int count = Math.min(perBuffer, labels.length - from);
+            buffer.clear();
+            if (labelBytes == Short.BYTES) {
+                for (int i = from; i < from + count; i++) {
+                    buffer.putShort((short) labels[i]);
+                }
+            } else {
+                buffer.asIntBuffer().put(labels, from, count);
+                buffer.position(count * labelBytes);
+            }
+            buffer.flip();
+            writeFully(channel, buffer);
+        }
+    }
+
+    /**
+     * Writes every remaining byte of a buffer.
+     * @param channel the open file
+     * @param buffer the buffer
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeFully(final FileChannel channel,
+                                   final ByteBuffer buffer)
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Determines the number of bytes of each district number of a plan.
+     * @param districts the number of districts
+     * @return 2 if the numbers fit in unsigned shorts, 4 otherwise
+     */
+    private static int labelBytesOf(final int districts) {
+        return (districts <= MAX_SHORT_DISTRICTS) ? Short.BYTES
+                                                  : Integer.BYTES;
+    }
+
+    /**
+     * Constructor is private, methods are static only and this class
+     * should never be instantiated.
+     */
+    private GridFile() {
+    }
+}
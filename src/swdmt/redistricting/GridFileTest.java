@@ -0,0 +1,108 @@
+package swdmt.redistricting;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+/**
+ * Tests for GridFile.
+ *
+ * @author  agent
+ * @version 20261017
+ */
+public class GridFileTest {
+    /** Number of bytes of a grid file's header. */
+    private static final int HEADER_BYTES = 24;
+
+    @Test
+    public void regionRoundTripTest(@TempDir final Path directory)
+            throws IOException {
+        GridRegion region = GridRegions.random(7, 3, 1L);
+        Path file = directory.resolve("region.grid");
+        GridFile.write(file, region);
+        assertThat(Files.size(file), is((long) HEADER_BYTES + 21));
+        GridRegion read = GridFile.readRegion(file);
+        assertThat(read.width(), is(7));
+        assertThat(read.height(), is(3));
+        assertThat(read.partyOrdinals(), is(region.partyOrdinals()));
+        assertThat(read.voters(), is(region.voters()));
+        assertThrows(IllegalArgumentException.class,
+                     () -> GridFile.readPlan(file));
+    }
+
+    @Test
+    public void planRoundTripTest(@TempDir final Path directory)
+            throws IOException {
+        GridRegion region = GridRegions.random(6, 5, 2L);
+        DistrictPlan plan = new ReComChain(region, 5, 3L).plan();
+        Path file = directory.resolve("plan.grid");
+        GridFile.write(file, plan);
+        assertThat(Files.size(file), is((long) HEADER_BYTES + 30 * 3));
+        assertThat(GridFile.readPlan(file), is(plan));
+        assertThat(GridFile.readRegion(file).partyOrdinals(),
+                   is(region.partyOrdinals()));
+        DistrictPlan replaced = new ReComChain(region, 3, 4L).plan();
+        GridFile.write(file, replaced);
+        assertThat(GridFile.readPlan(file), is(replaced));
+    }
+
+    @Test
+    public void wideDistrictNumbersTest(@TempDir final Path directory)
+            throws IOException {
+        int side = 300;
+        int[] labels = new int[side * side];
+        Arrays.setAll(labels, i -> i);
+        DistrictPlan plan = new DistrictPlan(new GridRegion(side, side),
+                                             labels.length, labels);
+        Path file = directory.resolve("cells.grid");
+        GridFile.write(file, plan);
+        assertThat(Files.size(file),
+                   is((long) HEADER_BYTES + labels.length * 5L));
+        DistrictPlan read = GridFile.readPlan(file);
+        assertThat(read, is(plan));
+        assertThat(read.district(side - 1, side - 1), is(labels.length - 1));
+    }
+
+    @Test
+    public void largeRegionTest(@TempDir final Path directory) {
+        GridRegion region = GridRegions.random(4000, 4000, 5L);
+        Path file = directory.resolve("large.grid");
+        GridFile.write(file, region);
+        GridRegion read = GridFile.readRegion(file);
+        assertThat(read.partyOrdinals(), is(region.partyOrdinals()));
+    }
+
+    @Test
+    public void malformedFileTest(@TempDir final Path directory)
+            throws IOException {
+        Path file = directory.resolve("bad.grid");
+        GridFile.write(file, new ReComChain(GridRegions.random(4, 4, 6L),
+                                            2, 7L).plan());
+        byte[] valid = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(valid, valid.length - 1));
+        assertThrows(IllegalArgumentException.class,
+                     () -> GridFile.readPlan(file));
+        Files.write(file, Arrays.copyOf(valid, HEADER_BYTES - 1));
+        assertThrows(IllegalArgumentException.class,
+                     () -> GridFile.readRegion(file));
+        byte[] badMagic = valid.clone();
+        badMagic[0]++;
+        Files.write(file, badMagic);
+        assertThrows(IllegalArgumentException.class,
+                     () -> GridFile.readRegion(file));
+        byte[] badParty = valid.clone();
+        badParty[HEADER_BYTES] = (byte) Party.values().length;
+        Files.write(file, badParty);
+        assertThrows(IllegalArgumentException.class,
+                     () -> GridFile.readRegion(file));
+        byte[] badDistrict = valid.clone();
+        badDistrict[HEADER_BYTES + 16 + 1] = 2;
+        Files.write(file, badDistrict);
+        assertThrows(IllegalArgumentException.class,
+                     () -> GridFile.readPlan(file));
+    }
+}
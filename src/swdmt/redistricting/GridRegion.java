@@ -0,0 +1,354 @@
+package swdmt.redistricting;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+/**
+ * A fully-populated rectangular region stored densely.
+ * Every location (x, y) with 0 &lt;= x &lt; width and 0 &lt;= y &lt; height
+ * belongs to the region and has exactly one voter.
+ * The party affiliation of the voter at (x, y) is held as one byte,
+ * the party's ordinal, at cell index <code>y * width + x</code>.
+ * <p>The location view and the voters of a grid region are views
+ * created on demand: iterating them creates Location and Voter objects
+ * as needed (in row-major order, matching the ordering of Location), and
+ * nothing is copied when they are accessed.  As for every region,
+ * {@link #locations()} instead returns a new mutable set.</p>
+ *
+ * @author agent
+ * @version 20261017
+ */
+public class GridRegion extends Region {
+    /** Serialization version requirement. */
+    private static final long serialVersionUID = 1L;
+    /** The known parties, indexed by ordinal. */
+    private static final Party[] PARTIES = Party.values();
+
+    /** The width of this region. */
+    private final int width;
+    /** The height of this region. */
+    private final int height;
+    /** Party ordinal of the voter in each cell. */
+    private final byte[] parties;
+    /** View of the locations; created on first use. */
+    private transient Set<Location> locationView;
+    /** View of the voters; created on first use. */
+    private transient Set<Voter> voterView;
+
+    /**
+     * Creates a rectangular region with one voter of unknown party
+     * (Party.NONE) at each location.
+     * @param regionWidth the number of columns
+     * @param regionHeight the number of rows
+     * @throws IllegalArgumentException if either dimension is negative
+     *         or the region would have more than Integer.MAX_VALUE cells
+     */
+    public GridRegion(final int regionWidth, final int regionHeight) {
+        this(regionWidth, regionHeight,
+             new byte[checkedCells(regionWidth, regionHeight)], false);
+        Arrays.fill(this.parties, (byte) Party.NONE.ordinal());
+    }
+
+    /**
+     * Creates a rectangular region from party ordinals in row-major order.
+     * The array is copied.
+     * @param regionWidth the number of columns
+     * @param regionHeight the number of rows
+     * @param partyOrdinals party ordinal of the voter in each cell
+     * @throws IllegalArgumentException if the dimensions are invalid,
+     *         the array length does not match them, or an ordinal
+     *         does not identify a party
+     */
+    public GridRegion(final int regionWidth, final int regionHeight,
+                      final byte[] partyOrdinals) {
+        this(regionWidth, regionHeight, partyOrdinals.clone(), true);
+    }
+
+    /**
+     * Creates a rectangular region that retains the given array.
+     * @param regionWidth the number of columns
+     * @param regionHeight the number of rows
+     * @param partyOrdinals party ordinal of the voter in each cell
+     * @param validate true to verify each ordinal
+     * @throws IllegalArgumentException if the dimensions are invalid,
+     *         the array length does not match them, or (when validating)
+     *         an ordinal does not identify a party
+     */
+    GridRegion(final int regionWidth, final int regionHeight,
+               final byte[] partyOrdinals, final boolean validate) {
+        super();
+        if (checkedCells(regionWidth, regionHeight) != partyOrdinals.length) {
+            throw new IllegalArgumentException(
+                    "Expected " + regionWidth + "x" + regionHeight
+                    + " parties but found " + partyOrdinals.length);
+        }
+        if (validate) {
+            for (byte ordinal : partyOrdinals) {
+                if (ordinal < 0 || ordinal >= PARTIES.length) {
+                    throw new IllegalArgumentException(
+                            "Invalid party ordinal " + ordinal);
+                }
+            }
+        }
+        this.width = regionWidth;
+        this.height = regionHeight;
+        this.parties = partyOrdinals;
+    }
+
+    /**
+     * Computes the number of cells of a grid, verifying the dimensions.
+     * @param regionWidth the number of columns
+     * @param regionHeight the number of rows
+     * @return the number of cells
+     * @throws IllegalArgumentException if either dimension is negative
+     *         or there would be more than Integer.MAX_VALUE cells
+     */
+    private static int checkedCells(final int regionWidth,
+                                    final int regionHeight) {
+        long cells = (long) regionWidth * regionHeight;
+        if (regionWidth < 0 || regionHeight < 0 || cells > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Invalid region dimensions " + regionWidth + "x"
+                    + regionHeight);
+        }
+        return (int) cells;
+    }
+
+    /**
+     * Converts a region to a grid region.
+     * A grid region is returned unchanged.  Any other region must
+     * occupy every location of a rectangle whose corner is (0, 0),
+     * with exactly one voter per location.
+     * @param region the region to convert
+     * @return a grid region with the same locations and affiliations
+     * @throws IllegalArgumentException if the region is not a
+     *         fully-populated rectangle anchored at (0, 0)
+     */
+    public static GridRegion of(final Region region) {
+        if (region instanceof GridRegion) {
+            return (GridRegion) region;
+        }
+        int maxX = -1;
+        int maxY = -1;
+        for (Location loc : region.locationsView()) {
+            if (loc.xCoordinate() < 0 || loc.yCoordinate() < 0) {
+                throw new IllegalArgumentException(
+                        "Region has location with negative coordinate " + loc);
+            }
+            maxX = Math.max(maxX, loc.xCoordinate());
+            maxY = Math.max(maxY, loc.yCoordinate());
+        }
+        int regionWidth = maxX + 1;
+        int regionHeight = maxY + 1;
+        if ((long) regionWidth * regionHeight != region.size()
+            || region.numberOfVoters() != region.size()) {
+            throw new IllegalArgumentException(
+                    "Region is not a fully-populated rectangle");
+        }
+        byte[] ordinals = new byte[region.size()];
+        boolean[] filled = new boolean[ordinals.length];
+        for (Voter v : region.voters()) {
+            int cell = v.location().yCoordinate() * regionWidth
+                       + v.location().xCoordinate();
+            if (filled[cell]) {
+                throw new IllegalArgumentException(
+                        "Region has several voters at " + v.location());
+            }
+            filled[cell] = true;
+            ordinals[cell] = (byte) v.affiliation().ordinal();
+        }
+        return new GridRegion(regionWidth, regionHeight, ordinals, false);
+    }
+
+    /**
+     * Accesses the number of columns of this region.
+     * @return the width
+     */
+    public int width() {
+        return this.width;
+    }
+
+    /**
+     * Accesses the number of rows of this region.
+     * @return the height
+     */
+    public int height() {
+        return this.height;
+    }
+
+    /**
+     * Accesses the party affiliation of the voter at a location.
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return the party of the voter at (x, y)
+     * @throws IndexOutOfBoundsException if (x, y) is outside the region
+     */
+    public Party party(final int x, final int y) {
+        if (x < 0 || y < 0 || x >= this.width || y >= this.height) {
+            throw new IndexOutOfBoundsException(
+                    "(" + x + ", " + y + ") outside " + this.width + "x"
+                    + this.height + " region");
+        }
+        return PARTIES[this.parties[y * this.width + x]];
+    }
+
+    /**
+     * Accesses the party ordinal of every cell, in row-major order,
+     * without copying.  Callers must not modify the array.
+     * @return the party ordinals
+     */
+    byte[] partyOrdinals() {
+        return this.parties;
+    }
+
+    @Override
+    public int size() {
+        return this.parties.length;
+    }
+
+    @Override
+    public int numberOfVoters() {
+        return this.parties.length;
+    }
+
+    /**
+     * Accesses the locations in this region.
+     * As for any region, the result is a new mutable set that the caller
+     * may change freely; use {@link #locationsView()} to avoid the copy.
+     * @return a new set of the locations
+     */
+    @Override
+    public Set<Location> locations() {
+        return new TreeSet<Location>(locationsView());
+    }
+
+    /**
+     * Accesses the locations in this region as an unmodifiable view,
+     * creating each location only as it is iterated.
+     * @return the locations
+     */
+    @Override
+    public Set<Location> locationsView() {
+        if (this.locationView == null) {
+            this.locationView = new LocationView();
+        }
+        return this.locationView;
+    }
+
+    /**
+     * Accesses the voters in this region as an unmodifiable view.
+     * Each iteration creates fresh Voter objects; a voter is considered
+     * contained if its location is in this region and its affiliation
+     * matches the party recorded there.
+     * @return the voters
+     */
+    @Override
+    public Set<Voter> voters() {
+        if (this.voterView == null) {
+            this.voterView = new VoterView();
+        }
+        return this.voterView;
+    }
+
+    /**
+     * Determines whether a location lies within this region.
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return true if the location is in this region
+     */
+    private boolean inside(final int x, final int y) {
+        return x >= 0 && y >= 0 && x < this.width && y < this.height;
+    }
+
+    /**
+     * Iterator over the cell indexes of this region.
+     * @param <E> the type of element produced for each cell
+     */
+    private abstract class CellIterator<E> implements Iterator<E> {
+        /** The next cell index. */
+        private int cell;
+
+        @Override
+        public boolean hasNext() {
+            return this.cell < GridRegion.this.parties.length;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more cells");
+            }
+            int index = this.cell++;
+            return element(Location.of(index % GridRegion.this.width,
+                                       index / GridRegion.this.width),
+                           index);
+        }
+
+        /**
+         * Produces the element for a cell.
+         * @param loc the location of the cell
+         * @param index the index of the cell
+         * @return the element
+         */
+        abstract E element(Location loc, int index);
+    }
+
+    /** Unmodifiable view of the locations of this region. */
+    private final class LocationView extends AbstractSet<Location> {
+        @Override
+        public int size() {
+            return GridRegion.this.size();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            if (!(o instanceof Location)) {
+                return false;
+            }
+            Location loc = (Location) o;
+            return inside(loc.xCoordinate(), loc.yCoordinate());
+        }
+
+        @Override
+        public Iterator<Location> iterator() {
+            return new CellIterator<Location>() {
+                @Override
+                Location element(final Location loc, final int index) {
+                    return loc;
+                }
+            };
+        }
+    }
+
+    /** Unmodifiable view of the voters of this region. */
+    private final class VoterView extends AbstractSet<Voter> {
+        @Override
+        public int size() {
+            return GridRegion.this.numberOfVoters();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            if (!(o instanceof Voter)) {
+                return false;
+            }
+            Voter v = (Voter) o;
+            int x = v.location().xCoordinate();
+            int y = v.location().yCoordinate();
+            return inside(x, y) && party(x, y) == v.affiliation();
+        }
+
+        @Override
+        public Iterator<Voter> iterator() {
+            return new CellIterator<Voter>() {
+                @Override
+                Voter element(final Location loc, final int index) {
+                    return new Voter(PARTIES[GridRegion.this.parties[index]],
+                                     loc);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package swdmt.redistricting;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static java.time.Duration.ofMillis;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+/**
+ * Tests for class GridRegion.
+ *
+ * @author  agent
+ * @version 20261017
+ */
+public class GridRegionTest {
+    @Test
+    public void sizeAndVotersTest() {
+        GridRegion region = new GridRegion(4, 3);
+        assertThat(region.size(), is(12));
+        assertThat(region.numberOfVoters(), is(12));
+        assertThat(region.width(), is(4));
+        assertThat(region.height(), is(3));
+        assertThat(region.locations().size(), is(12));
+        assertThat(region.voters().size(), is(12));
+        for (Voter v : region.voters()) {
+            assertThat(v.affiliation(), is(Party.NONE));
+        }
+        assertThat(new GridRegion(0, 0).size(), is(0));
+    }
+
+    @Test
+    public void locationsMatchSquareRegionTest() {
+        Region square = new Region(16);
+        GridRegion grid = new GridRegion(4, 4);
+        assertThat(grid.locations(), is(square.locations()));
+        assertThat(new ArrayList<>(grid.locations()),
+                   is(new ArrayList<>(square.locations())));
+        assertThat(grid.sideSize(), is(square.sideSize()));
+        assertTrue(grid.locations().contains(new Location(3, 3)));
+        assertFalse(grid.locations().contains(new Location(4, 0)));
+        assertFalse(grid.locations().contains(new Location(0, -1)));
+    }
+
+    @Test
+    public void partiesTest() {
+        byte[] ordinals = {(byte) Party.PARTY0.ordinal(),
+                           (byte) Party.PARTY1.ordinal(),
+                           (byte) Party.THIRDPARTY.ordinal(),
+                           (byte) Party.UNAFFILIATED.ordinal()};
+        GridRegion region = new GridRegion(2, 2, ordinals);
+        ordinals[0] = (byte) Party.NONE.ordinal();
+        assertThat(region.party(0, 0), is(Party.PARTY0));
+        assertThat(region.party(1, 0), is(Party.PARTY1));
+        assertThat(region.party(0, 1), is(Party.THIRDPARTY));
+        assertThat(region.party(1, 1), is(Party.UNAFFILIATED));
+        assertTrue(region.voters().contains(
+                new Voter(Party.PARTY1, new Location(1, 0))));
+        assertFalse(region.voters().contains(
+                new Voter(Party.PARTY0, new Location(1, 0))));
+        assertThrows(IndexOutOfBoundsException.class, () -> {
+            region.party(2, 0);
+        });
+    }
+
+    @Test
+    public void invalidArgumentsShouldRaiseAnException() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new GridRegion(-1, 3);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new GridRegion(2, 2, new byte[3]);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new GridRegion(1, 1, new byte[] {42});
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new GridRegion(65536, 65536);
+        });
+    }
+
+    @Test
+    public void ofRegionTest() {
+        List<Voter> voters = new ArrayList<>();
+        for (int y = 0; y < 2; y++) {
+            for (int x = 0; x < 3; x++) {
+                voters.add(new Voter((x + y) % 2 == 0 ? Party.PARTY0
+                                                      : Party.PARTY1,
+                                     new Location(x, y)));
+            }
+        }
+        GridRegion grid = GridRegion.of(new Region(voters));
+        assertThat(grid.width(), is(3));
+        assertThat(grid.height(), is(2));
+        assertThat(grid.party(2, 1), is(Party.PARTY1));
+        assertThat(grid.party(2, 0), is(Party.PARTY0));
+        assertSame(grid, GridRegion.of(grid));
+        assertThat(GridRegion.of(new Region(9)).size(), is(9));
+    }
+
+    @Test
+    public void ofIncompleteRegionShouldRaiseAnException() {
+        Set<Location> locs = new HashSet<>();
+        locs.add(new Location(0, 0));
+        locs.add(new Location(1, 1));
+        assertThrows(IllegalArgumentException.class, () -> {
+            GridRegion.of(new Region(locs, new HashSet<Voter>()));
+        });
+    }
+
+    @Test
+    public void largeRegionTest() {
+        assertTimeout(ofMillis(1000L), () -> {
+            GridRegion region = new GridRegion(2000, 2000);
+            assertThat(region.size(), is(4000000));
+            assertThat(region.locationsView().size(), is(4000000));
+        });
+    }
+
+    @Test
+    public void locationsAreMutableCopyTest() {
+        GridRegion grid = new GridRegion(2, 2);
+        Set<Location> locs = grid.locations();
+        assertTrue(locs.remove(Location.of(0, 0)));
+        assertTrue(locs.add(Location.of(5, 5)));
+        assertThat(grid.locations().size(), is(4));
+        assertTrue(grid.locations().contains(Location.of(0, 0)));
+        assertFalse(grid.locationsView().contains(Location.of(5, 5)));
+        assertThrows(UnsupportedOperationException.class,
+                     () -> grid.locationsView().clear());
+    }
+}
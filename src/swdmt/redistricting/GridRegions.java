@@ -0,0 +1,58 @@
+package swdmt.redistricting;
+import java.util.Random;
+/**
+ * Regions shared by the unit tests.
+ *
+ * @author  agent
+ * @version 20261017
+ */
+final class GridRegions {
+    /** Ordinal of PARTY0. */
+    static final byte P0 = (byte) Party.PARTY0.ordinal();
+    /** Ordinal of PARTY1. */
+    static final byte P1 = (byte) Party.PARTY1.ordinal();
+
+    /**
+     * Creates a region in which each voter belongs to PARTY0 with the
+     * given probability and otherwise to PARTY1.
+     * @param width the width of the region
+     * @param height the height of the region
+     * @param share the probability of PARTY0
+     * @param seed the seed choosing the parties
+     * @return the region
+     */
+    static GridRegion random(final int width, final int height,
+                             final double share, final long seed) {
+        Random random = new Random(seed);
+        byte[] parties = new byte[width * height];
+        for (int i = 0; i < parties.length; i++) {
+            parties[i] = (random.nextDouble() < share) ? P0 : P1;
+        }
+        return new GridRegion(width, height, parties);
+    }
+
+    /**
+     * Creates a region in which each voter belongs to any party,
+     * including Party.NONE, with equal probability.
+     * @param width the width of the region
+     * @param height the height of the region
+     * @param seed the seed choosing the parties
+     * @return the region
+     */
+    static GridRegion random(final int width, final int height,
+                             final long seed) {
+        Random random = new Random(seed);
+        byte[] parties = new byte[width * height];
+        for (int i = 0; i < parties.length; i++) {
+            parties[i] = (byte) random.nextInt(Party.values().length);
+        }
+        return new GridRegion(width, height, parties);
+    }
+
+    /**
+     * Constructor is private, methods are static only and this class
+     * should never be instantiated.
+     */
+    private GridRegions() {
+    }
+}
@@ -1,18 +1,40 @@
 package swdmt.redistricting;
 /**
  * A distinguished location.
+ * <p>Locations are immutable.  {@link #of(int, int)} returns shared
+ * instances for small non-negative coordinates, and the static
+ * utilities operating on packed <code>long</code> coordinates let
+ * performance-sensitive code avoid creating locations at all.</p>
  *
  * @author Dr. Jody Paul
- * @version 20191006.1
+ * @author agent
+ * @version 20261017
  */
 public class Location implements Comparable<Object>, java.io.Serializable {
     /** Serialization version requirement. */
     private static final long serialVersionUID = 3L;
 
     /** The x-coordinate. */
-    private int xCoordinate;
+    private final int xCoordinate;
     /** The y-coordinate. */
-    private int yCoordinate;
+    private final int yCoordinate;
+
+    /** Side length of the square of coordinates whose locations are shared. */
+    private static final int CACHE_SIDE = 256;
+    /**
+     * Shared locations, indexed by y * CACHE_SIDE + x.
+     * Entries are filled on first use without locking; a race at worst
+     * creates an extra, equal location, and final fields make each
+     * entry safe to publish.
+     */
+    private static final Location[] CACHE =
+            new Location[CACHE_SIDE * CACHE_SIDE];
+    /** Number of bits to shift the x-coordinate when packing. */
+    private static final int X_SHIFT = 32;
+    /** Mask selecting the y-coordinate bits of a packed value. */
+    private static final long Y_MASK = 0xFFFFFFFFL;
+    /** Odd multiplier (2^64 divided by the golden ratio) for hashing. */
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
 
     /**
      * Constructs a location.
@@ -24,6 +46,107 @@ public class Location implements Comparable<Object>, java.io.Serializable {
         this.yCoordinate = yCoord;
     }
 
+    /**
+     * Provides a location with the specified coordinates.
+     * Locations with both coordinates in [0, 256) are shared,
+     * so repeated requests return the same instance; other
+     * coordinates produce a new location.
+     * @param xCoord the x-coordinate value
+     * @param yCoord the y-coordinate value
+     * @return a location with the specified coordinates
+     */
+    public static Location of(final int xCoord, final int yCoord) {
+        if (xCoord < 0 || yCoord < 0
+            || xCoord >= CACHE_SIDE || yCoord >= CACHE_SIDE) {
+            return new Location(xCoord, yCoord);
+        }
+        int index = yCoord * CACHE_SIDE + xCoord;
+        Location loc = CACHE[index];
+        if (loc == null) {
+            loc = new Location(xCoord, yCoord);
+            CACHE[index] = loc;
+        }
+        return loc;
+    }
+
+    /**
+     * Provides the location encoded by a packed coordinate value.
+     * @param packedCoords coordinates packed by {@link #pack(int, int)}
+     * @return a location with the packed coordinates
+     */
+    public static Location ofPacked(final long packedCoords) {
+        return of(unpackX(packedCoords), unpackY(packedCoords));
+    }
+
+    /**
+     * Packs a coordinate pair into a single long value.
+     * The x-coordinate occupies the high 32 bits
+     * and the y-coordinate the low 32 bits.
+     * @param xCoord the x-coordinate value
+     * @param yCoord the y-coordinate value
+     * @return the packed coordinates
+     */
+    public static long pack(final int xCoord, final int yCoord) {
+        return ((long) xCoord << X_SHIFT) | (yCoord & Y_MASK);
+    }
+
+    /**
+     * Extracts the x-coordinate from a packed coordinate value.
+     * @param packedCoords coordinates packed by {@link #pack(int, int)}
+     * @return the x-coordinate value
+     */
+    public static int unpackX(final long packedCoords) {
+        return (int) (packedCoords >> X_SHIFT);
+    }
+
+    /**
+     * Extracts the y-coordinate from a packed coordinate value.
+     * @param packedCoords coordinates packed by {@link #pack(int, int)}
+     * @return the y-coordinate value
+     */
+    public static int unpackY(final long packedCoords) {
+        return (int) packedCoords;
+    }
+
+    /**
+     * Computes the hash code of a coordinate pair without creating
+     * a location; equal to the hashCode of a location with
+     * those coordinates.
+     * The packed coordinates are multiplied by an odd constant and
+     * their halves folded together, so neighboring coordinates spread
+     * across the whole int range.
+     * @param xCoord the x-coordinate value
+     * @param yCoord the y-coordinate value
+     * @return the hash code
+     */
+    public static int hash(final int xCoord, final int yCoord) {
+        long h = pack(xCoord, yCoord) * HASH_MULTIPLIER;
+        return (int) (h ^ (h >>> X_SHIFT));
+    }
+
+    /**
+     * Determines whether two coordinate pairs are adjacent,
+     * as {@link #isAdjacentTo(Location)} does for locations.
+     * @param x1 the first x-coordinate
+     * @param y1 the first y-coordinate
+     * @param x2 the second x-coordinate
+     * @param y2 the second y-coordinate
+     * @return true if the coordinates share an edge; false otherwise
+     */
+    public static boolean isAdjacent(final int x1, final int y1,
+                                     final int x2, final int y2) {
+        return Math.abs(x1 - x2) + Math.abs(y1 - y2) == 1;
+    }
+
+    /**
+     * Accesses the packed coordinates of this location.
+     * @return the packed coordinates
+     * @see #pack(int, int)
+     */
+    public long packed() {
+        return pack(this.xCoordinate, this.yCoordinate);
+    }
+
     /**
      * Accesses the x-coordinate.
      * @return the x-coordinate value
@@ -134,16 +257,13 @@ public class Location implements Comparable<Object>, java.io.Serializable {
             && (this.yCoordinate == that.yCoordinate);
     }
 
-    /** Hashcode Base. */
-    private static final int HASHBASE1 = 13;
-    /** Hashcode Base. */
-    private static final int HASHBASE2 = 23;
     /**
      * Returns the hashcode for this Location.
      * @return the hashcode for this Location
+     * @see #hash(int, int)
      */
     @Override
     public int hashCode() {
-        return (HASHBASE1 * this.xCoordinate) + (HASHBASE2 * this.yCoordinate);
+        return hash(this.xCoordinate, this.yCoordinate);
     }
 }
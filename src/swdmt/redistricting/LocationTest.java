@@ -5,12 +5,16 @@ import static org.hamcrest.number.OrderingComparison.greaterThan;
 import static org.hamcrest.number.OrderingComparison.lessThan;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import org.junit.jupiter.api.Test;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Tests for objects of type Location.
  *
  * @author  Dr. Jody Paul
+ * @author  agent
  * @version 20191006
  */
 public class LocationTest {
@@ -195,5 +199,60 @@ public class LocationTest {
         location2 = new Location(Integer.MIN_VALUE, Integer.MAX_VALUE);
         assertThat(location1.compareTo(location2), greaterThan(0));
     }
-}
 
+    /**
+     * Verifies that the factory shares small grid locations
+     * and creates equal locations elsewhere.
+     */
+    @Test
+    public void ofSharesGridLocationsTest() {
+        assertSame(Location.of(3, 7), Location.of(3, 7));
+        assertSame(Location.of(255, 255), Location.of(255, 255));
+        assertThat(Location.of(3, 7), is(new Location(3, 7)));
+        assertThat(Location.of(-1, 5), is(new Location(-1, 5)));
+        assertThat(Location.of(256, 0), is(new Location(256, 0)));
+    }
+
+    /**
+     * Verifies that packing and unpacking coordinates round-trips,
+     * including negative and extreme values.
+     */
+    @Test
+    public void packRoundTripTest() {
+        int[] values = {0, 1, -1, 42, -42, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        for (int x : values) {
+            for (int y : values) {
+                long packed = Location.pack(x, y);
+                assertThat(Location.unpackX(packed), is(x));
+                assertThat(Location.unpackY(packed), is(y));
+                assertThat(new Location(x, y).packed(), is(packed));
+                assertThat(Location.ofPacked(packed), is(new Location(x, y)));
+            }
+        }
+    }
+
+    /**
+     * Verifies that the static hash matches hashCode and spreads
+     * the locations of a grid across distinct values.
+     */
+    @Test
+    public void hashDistributionTest() {
+        Set<Integer> hashes = new HashSet<>();
+        for (int x = 0; x < 500; x++) {
+            for (int y = 0; y < 500; y++) {
+                int h = Location.hash(x, y);
+                assertThat(new Location(x, y).hashCode(), is(h));
+                hashes.add(h);
+            }
+        }
+        assertThat(hashes.size(), greaterThan(249000));
+    }
+
+    @Test
+    public void staticAdjacencyTest() {
+        assertTrue(Location.isAdjacent(0, 0, 1, 0));
+        assertTrue(Location.isAdjacent(0, 0, 0, -1));
+        assertFalse(Location.isAdjacent(0, 0, 1, 1));
+        assertFalse(Location.isAdjacent(0, 0, 0, 0));
+    }
+}
@@ -0,0 +1,347 @@
+package swdmt.redistricting;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+/**
+ * Enumerates every partition of a region into a given number of
+ * contiguous districts of equal size.
+ * <p>Partitions are the exact covers of the region's locations by the
+ * candidate districts of
+ * {@link Redistrictor#allDistrictsOfSpecificSize(Region, int)}, found
+ * with Knuth's dancing links (Algorithm DLX): each candidate is a row,
+ * each location is a column, and the search always branches on the
+ * location covered by the fewest remaining candidates.</p>
+ * <p>The links are built once; every search works on its own copy, so
+ * an enumerator may be counted and streamed concurrently.</p>
+ *
+ * @author agent
+ * @version 20261017
+ */
+public final class PartitionEnumerator {
+    /** Index of the root of the column list. */
+    private static final int ROOT = 0;
+
+    /** The region. */
+    private final GridRegion region;
+    /** The number of districts. */
+    private final int numberOfDistricts;
+    /** Number of candidate districts. */
+    private final int candidateCount;
+    /** Left link of each node. */
+    private final int[] left;
+    /** Right link of each node. */
+    private final int[] right;
+    /** Up link of each node. */
+    private final int[] up;
+    /** Down link of each node. */
+    private final int[] down;
+    /** Column header of each node. */
+    private final int[] column;
+    /** Number of candidates covering each column. */
+    private final int[] length;
+
+    /**
+     * Creates an enumerator.
+     * @param theRegion the region, which must be a fully-populated
+     *        rectangle anchored at (0, 0)
+     * @param districts the number of districts
+     * @throws IllegalArgumentException if the region is not a rectangle
+     *         anchored at (0, 0), or the number of districts is less than
+     *         one or does not divide the number of locations
+     */
+    public PartitionEnumerator(final Region theRegion, final int districts) {
+        if (districts < 1 || theRegion.size() % districts != 0) {
+            throw new IllegalArgumentException(
+                    "Cannot divide " + theRegion.size() + " locations into "
+                    + districts + " districts of equal size");
+        }
+        this.region = GridRegion.of(theRegion);
+        this.numberOfDistricts = districts;
+        int cells = this.region.size();
+        int width = this.region.width();
+        int size = cells / districts;
+        Set<District> candidates =
+                Redistrictor.allDistrictsOfSpecificSize(this.region, size);
+        this.candidateCount = candidates.size();
+        int nodes = cells + 1 + this.candidateCount * size;
+        this.left = new int[nodes];
+        this.right = new int[nodes];
+        this.up = new int[nodes];
+        this.down = new int[nodes];
+        this.column = new int[nodes];
+        this.length = new int[cells + 1];
+        for (int c = 0; c <= cells; c++) {
+            this.left[c] = (c == 0) ? cells : c - 1;
+            this.right[c] = (c == cells) ? ROOT : c + 1;
+            this.up[c] = c;
+            this.down[c] = c;
+            this.column[c] = c;
+        }
+        int next = cells + 1;
+        int[] members = new int[size];
+        for (District d : candidates) {
+            int count = 0;
+            for (Location loc : d.locationsView()) {
+                members[count++] = loc.yCoordinate() * width
+                                   + loc.xCoordinate();
+            }
+            Arrays.sort(members);
+            int first = next;
+            for (int i = 0; i < size; i++) {
+                int c = members[i] + 1;
+                int node = next++;
+                this.column[node] = c;
+                this.up[node] = this.up[c];
+                this.down[node] = c;
+                this.down[this.up[c]] = node;
+                this.up[c] = node;
+                this.length[c]++;
+                this.left[node] = (i == 0) ? first + size - 1 : node - 1;
+                this.right[node] = (i == size - 1) ? first : node + 1;
+            }
+        }
+    }
+
+    /**
+     * Accesses the region.
+     * @return the region
+     */
+    public GridRegion region() {
+        return this.region;
+    }
+
+    /**
+     * Accesses the number of districts of each partition.
+     * @return the number of districts
+     */
+    public int numberOfDistricts() {
+        return this.numberOfDistricts;
+    }
+
+    /**
+     * Accesses the number of candidate districts.
+     * @return the number of contiguous districts of the partition size
+     */
+    public int candidates() {
+        return this.candidateCount;
+    }
+
+    /**
+     * Counts the partitions without building them.
+     * @return the number of partitions
+     */
+    public long count() {
+        Search search = new Search();
+        long partitions = 0;
+        while (search.advance()) {
+            partitions++;
+        }
+        return partitions;
+    }
+
+    /**
+     * Provides an iterator over the partitions.
+     * Each partition is found only when requested.
+     * @return an iterator over every partition, each exactly once
+     */
+    public Iterator<DistrictPlan> iterator() {
+        return new PlanIterator();
+    }
+
+    /**
+     * Provides a lazy stream of the partitions.
+     * Districts of each plan are numbered in order of their least
+     * location, so equal partitions yield equal plans.
+     * @return a sequential stream of every partition, each exactly once
+     */
+    public Stream<DistrictPlan> stream() {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(
+                        iterator(),
+                        Spliterator.DISTINCT | Spliterator.NONNULL),
+                false);
+    }
+
+    /**
+     * An iterator building a plan from each solution of a search.
+     */
+    private final class PlanIterator implements Iterator<DistrictPlan> {
+        /** The search. */
+        private final Search search = new Search();
+        /** Whether the search holds a solution not yet returned. */
+        private boolean pending;
+        /** Whether the search is exhausted. */
+        private boolean done;
+
+        @Override
+        public boolean hasNext() {
+            if (!this.pending && !this.done) {
+                this.pending = this.search.advance();
+                this.done = !this.pending;
+            }
+            return this.pending;
+        }
+
+        @Override
+        public DistrictPlan next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.pending = false;
+            return this.search.plan();
+        }
+    }
+
+    /**
+     * One run of Algorithm DLX over a private copy of the links,
+     * suspended after each solution.
+     */
+    private final class Search {
+        /** Left links. */
+        private final int[] l = PartitionEnumerator.this.left.clone();
+        /** Right links. */
+        private final int[] r = PartitionEnumerator.this.right.clone();
+        /** Up links. */
+        private final int[] u = PartitionEnumerator.this.up.clone();
+        /** Down links. */
+        private final int[] d = PartitionEnumerator.this.down.clone();
+        /** Column lengths. */
+        private final int[] len = PartitionEnumerator.this.length.clone();
+        /** Node chosen at each level. */
+        private final int[] choice =
+                new int[PartitionEnumerator.this.numberOfDistricts + 1];
+        /** Current level. */
+        private int level;
+        /** Whether the search has started. */
+        private boolean started;
+        /** Whether the search is exhausted. */
+        private boolean finished;
+
+        /**
+         * Finds the next solution.
+         * @return true if a solution was found; false if there are no more
+         */
+        boolean advance() {
+            if (this.finished) {
+                return false;
+            }
+            boolean descending = !this.started;
+            this.started = true;
+            while (true) {
+                if (descending) {
+                    if (this.r[ROOT] == ROOT) {
+                        return true;
+                    }
+                    int c = chooseColumn();
+                    cover(c);
+                    this.choice[this.level] = this.d[c];
+                } else {
+                    if (this.level == 0) {
+                        this.finished = true;
+                        return false;
+                    }
+                    this.level--;
+                    int x = this.choice[this.level];
+                    for (int p = this.l[x]; p != x; p = this.l[p]) {
+                        uncover(PartitionEnumerator.this.column[p]);
+                    }
+                    this.choice[this.level] = this.d[x];
+                }
+                int x = this.choice[this.level];
+                int c = PartitionEnumerator.this.column[x];
+                if (x == c) {
+                    uncover(c);
+                    descending = false;
+                    continue;
+                }
+                for (int p = this.r[x]; p != x; p = this.r[p]) {
+                    cover(PartitionEnumerator.this.column[p]);
+                }
+                this.level++;
+                descending = true;
+            }
+        }
+
+        /**
+         * Chooses the uncovered column with the fewest candidates.
+         * @return the column
+         */
+        private int chooseColumn() {
+            int best = this.r[ROOT];
+            for (int c = this.r[best]; c != ROOT; c = this.r[c]) {
+                if (this.len[c] < this.len[best]) {
+                    best = c;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Removes a column and every candidate covering it.
+         * @param c the column
+         */
+        private void cover(final int c) {
+            this.l[this.r[c]] = this.l[c];
+            this.r[this.l[c]] = this.r[c];
+            for (int i = this.d[c]; i != c; i = this.d[i]) {
+                for (int j = this.r[i]; j != i; j = this.r[j]) {
+                    this.u[this.d[j]] = this.u[j];
+                    this.d[this.u[j]] = this.d[j];
+                    this.len[PartitionEnumerator.this.column[j]]--;
+                }
+            }
+        }
+
+        /**
+         * Restores a column removed by {@link #cover(int)}.
+         * @param c the column
+         */
+        private void uncover(final int c) {
+            for (int i = this.u[c]; i != c; i = this.u[i]) {
+                for (int j = this.l[i]; j != i; j = this.l[j]) {
+                    this.len[PartitionEnumerator.this.column[j]]++;
+                    this.u[this.d[j]] = j;
+                    this.d[this.u[j]] = j;
+                }
+            }
+            this.l[this.r[c]] = c;
+            this.r[this.l[c]] = c;
+        }
+
+        /**
+         * Builds the plan of the current solution.
+         * @return the plan
+         */
+        DistrictPlan plan() {
+            int[] columns = PartitionEnumerator.this.column;
+            int cells = PartitionEnumerator.this.region.size();
+            int[] candidateOf = new int[cells];
+            for (int i = 0; i < this.level; i++) {
+                int x = this.choice[i];
+                int p = x;
+                do {
+                    candidateOf[columns[p] - 1] = i;
+                    p = this.r[p];
+                } while (p != x);
+            }
+            int[] numberOf = new int[this.level];
+            Arrays.fill(numberOf, -1);
+            int[] labels = new int[cells];
+            int assigned = 0;
+            for (int cell = 0; cell < cells; cell++) {
+                int i = candidateOf[cell];
+                if (numberOf[i] < 0) {
+                    numberOf[i] = assigned++;
+                }
+                labels[cell] = numberOf[i];
+            }
+            return new DistrictPlan(PartitionEnumerator.this.region,
+                                    this.level, labels, false);
+        }
+    }
+}
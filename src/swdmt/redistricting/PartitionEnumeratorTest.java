@@ -0,0 +1,144 @@
+package swdmt.redistricting;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+/**
+ * Tests for PartitionEnumerator.
+ *
+ * @author  agent
+ * @version 20261017
+ */
+public class PartitionEnumeratorTest {
+    @Test
+    public void knownCountsTest() {
+        // Partitions of an n x n grid into n equal contiguous districts.
+        assertThat(new PartitionEnumerator(new GridRegion(2, 2), 2).count(),
+                   is(2L));
+        assertThat(new PartitionEnumerator(new GridRegion(3, 3), 3).count(),
+                   is(10L));
+        assertThat(new PartitionEnumerator(new GridRegion(4, 4), 4).count(),
+                   is(117L));
+        assertThat(new PartitionEnumerator(new GridRegion(5, 5), 5).count(),
+                   is(4006L));
+    }
+
+    @Test
+    public void dominoTilingsTest() {
+        assertThat(new PartitionEnumerator(new GridRegion(4, 4), 8).count(),
+                   is(36L));
+        assertThat(new PartitionEnumerator(new GridRegion(3, 2), 3).count(),
+                   is(3L));
+    }
+
+    @Test
+    public void trivialPartitionsTest() {
+        assertThat(new PartitionEnumerator(new GridRegion(4, 3), 12).count(),
+                   is(1L));
+        assertThat(new PartitionEnumerator(new GridRegion(4, 3), 1).count(),
+                   is(1L));
+    }
+
+    @Test
+    public void streamMatchesCountTest() {
+        PartitionEnumerator enumerator =
+                new PartitionEnumerator(new GridRegion(4, 4), 4);
+        Set<DistrictPlan> plans =
+                enumerator.stream().collect(Collectors.toSet());
+        assertThat((long) plans.size(), is(enumerator.count()));
+        for (DistrictPlan plan : plans) {
+            assertTrue(plan.isValid());
+            assertThat(plan.numberOfDistricts(), is(4));
+            assertThat(plan.district(0, 0), is(0));
+        }
+    }
+
+    @Test
+    public void matchesRecountTest() {
+        // Every 3 x 4 plan of 3 districts of 4 found by the stream
+        // is valid, and no valid plan is missed.
+        GridRegion region = new GridRegion(3, 4);
+        Set<DistrictPlan> plans = new PartitionEnumerator(region, 3)
+                .stream().collect(Collectors.toSet());
+        Set<DistrictPlan> brute = new HashSet<>();
+        int[] labels = new int[region.size()];
+        int total = 1;
+        for (int i = 0; i < region.size(); i++) {
+            total *= 3;
+        }
+        for (int code = 0; code < total; code++) {
+            int rest = code;
+            for (int cell = 0; cell < labels.length; cell++) {
+                labels[cell] = rest % 3;
+                rest /= 3;
+            }
+            DistrictPlan plan = new DistrictPlan(region, 3, labels);
+            if (plan.isValid() && labels[0] == 0) {
+                brute.add(canonical(plan));
+            }
+        }
+        assertThat(plans, is(brute));
+    }
+
+    @Test
+    public void streamIsLazyTest() {
+        PartitionEnumerator enumerator =
+                new PartitionEnumerator(new GridRegion(6, 6), 6);
+        Optional<DistrictPlan> first = assertTimeoutPreemptively(
+                Duration.ofSeconds(5),
+                () -> enumerator.stream().findFirst());
+        assertTrue(first.isPresent());
+        assertTrue(first.get().isValid());
+    }
+
+    @Test
+    public void iteratorTest() {
+        Iterator<DistrictPlan> it =
+                new PartitionEnumerator(new GridRegion(2, 2), 2).iterator();
+        assertTrue(it.hasNext());
+        assertTrue(it.hasNext());
+        it.next();
+        it.next();
+        assertFalse(it.hasNext());
+        assertThrows(NoSuchElementException.class, it::next);
+    }
+
+    @Test
+    public void invalidArgumentsTest() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new PartitionEnumerator(new GridRegion(3, 3), 2));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new PartitionEnumerator(new GridRegion(3, 3), 0));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new PartitionEnumerator(new GridRegion(3, 3), 10));
+    }
+
+    /**
+     * Renumbers the districts of a plan in order of least location.
+     * @param plan the plan
+     * @return the renumbered plan
+     */
+    private static DistrictPlan canonical(final DistrictPlan plan) {
+        int[] labels = plan.labels();
+        int[] numberOf = {-1, -1, -1};
+        int[] renumbered = new int[labels.length];
+        int assigned = 0;
+        for (int cell = 0; cell < labels.length; cell++) {
+            if (numberOf[labels[cell]] < 0) {
+                numberOf[labels[cell]] = assigned++;
+            }
+            renumbered[cell] = numberOf[labels[cell]];
+        }
+        return new DistrictPlan(plan.region(), 3, renumbered);
+    }
+}
@@ -0,0 +1,103 @@
+package swdmt.redistricting;
+/**
+ * The result of an exact search for the plan most favoring a party,
+ * with the evidence needed to check it.
+ * The plan is a witness that the reported number of favoring districts
+ * can be achieved; the search statistics record the exhaustive search
+ * showing that no valid plan achieves more.
+ *
+ * @author agent
+ * @version 20261017
+ * @see ExactPartySolver
+ */
+public final class PartyCertificate implements java.io.Serializable {
+    /** Serialization version requirement. */
+    private static final long serialVersionUID = 1L;
+
+    /** An optimal plan. */
+    private final DistrictPlan plan;
+    /** The party favored. */
+    private final Party party;
+    /** Number of districts of the plan favoring the party. */
+    private final int seats;
+    /** Number of candidate districts considered. */
+    private final int candidates;
+    /** Number of search nodes visited. */
+    private final long nodes;
+
+    /**
+     * Creates a certificate.
+     * @param optimalPlan an optimal plan
+     * @param favored the party favored
+     * @param optimalSeats the number of districts favoring the party
+     * @param candidateCount the number of candidate districts considered
+     * @param nodeCount the number of search nodes visited
+     */
+    PartyCertificate(final DistrictPlan optimalPlan, final Party favored,
+                     final int optimalSeats, final int candidateCount,
+                     final long nodeCount) {
+        this.plan = optimalPlan;
+        this.party = favored;
+        this.seats = optimalSeats;
+        this.candidates = candidateCount;
+        this.nodes = nodeCount;
+    }
+
+    /**
+     * Accesses the optimal plan.
+     * @return the plan
+     */
+    public DistrictPlan plan() {
+        return this.plan;
+    }
+
+    /**
+     * Accesses the party favored.
+     * @return the party
+     */
+    public Party party() {
+        return this.party;
+    }
+
+    /**
+     * Accesses the optimal number of districts favoring the party.
+     * @return the number of districts
+     */
+    public int seats() {
+        return this.seats;
+    }
+
+    /**
+     * Accesses the number of candidate districts the search considered.
+     * @return the number of candidates
+     */
+    public int candidates() {
+        return this.candidates;
+    }
+
+    /**
+     * Accesses the number of nodes the search visited.
+     * @return the number of nodes
+     */
+    public long nodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Verifies the witness: the plan is valid and has the
+     * reported number of districts favoring the party.
+     * @return true if the witness checks; false otherwise
+     */
+    public boolean verify() {
+        return this.plan.isValid()
+               && PartyOptimizer.seats(this.plan, this.party) == this.seats;
+    }
+
+    @Override
+    public String toString() {
+        return "[PartyCertificate; party: " + this.party + "; seats: "
+               + this.seats + " of " + this.plan.numberOfDistricts()
+               + "; candidates: " + this.candidates + "; nodes: "
+               + this.nodes + "]";
+    }
+}
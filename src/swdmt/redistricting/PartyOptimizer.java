@@ -0,0 +1,383 @@
+package swdmt.redistricting;
+import java.util.SplittableRandom;
+/**
+ * Searches for a plan that maximizes the number of districts favoring
+ * a party, by simulated annealing over moves of boundary locations.
+ * A district favors the party with the most voters in it; a district
+ * whose leading parties tie favors no party.
+ * <p>The search starts from the snaking plan of
+ * {@link Redistrictor#generateDistricts(Region, int)} and only visits
+ * plans whose districts are contiguous and differ in size by at most one.
+ * A move takes a location on the boundary between two districts and
+ * gives it to the neighboring district, when that district is the
+ * smaller; between districts of equal size it also gives back a nearby
+ * location the other way.  Per-district party tallies are kept up to
+ * date, so scoring a move takes constant time, and a
+ * {@link ContiguityOracle} settles most contiguity checks locally.</p>
+ * <p>Besides the number of favoring districts, the score rewards
+ * unfavorable districts for being close to favoring the party, which
+ * guides the search across the many plans of equal seat count.</p>
+ *
+ * @author agent
+ * @version 20261017
+ */
+public final class PartyOptimizer {
+    /** The known parties, indexed by ordinal. */
+    private static final Party[] PARTIES = Party.values();
+    /** X-offsets of the four adjacent neighbors. */
+    private static final int[] NEIGHBOR_DX = {1, -1, 0, 0};
+    /** Y-offsets of the four adjacent neighbors. */
+    private static final int[] NEIGHBOR_DY = {0, 0, 1, -1};
+    /** Number of adjacent neighbors of a location. */
+    private static final int NEIGHBORS = 4;
+    /** Distance from a moved location searched for one to give back. */
+    private static final int SWAP_RADIUS = 2;
+    /** Weight of closeness to favoring, relative to one district won. */
+    private static final double CLOSENESS_WEIGHT = 0.5;
+    /** Temperature at the start of the search. */
+    private static final double INITIAL_TEMPERATURE = 1.0;
+    /** Temperature at the end of the search. */
+    private static final double FINAL_TEMPERATURE = 0.01;
+    /** Iterations between checks of the clock. */
+    private static final int CLOCK_INTERVAL = 1024;
+
+    /** The region being districted. */
+    private final GridRegion region;
+    /** The party to favor. */
+    private final Party party;
+    /** Width of the region. */
+    private final int width;
+    /** Height of the region. */
+    private final int height;
+    /** Number of districts. */
+    private final int numberOfDistricts;
+    /** Party ordinal of each cell. */
+    private final byte[] parties;
+    /** District number of each cell in the current plan. */
+    private final int[] districtOf;
+    /** Contiguity oracle tracking the current plan. */
+    private final ContiguityOracle oracle;
+    /** Number of voters of each party in each district. */
+    private final int[] tally;
+    /** Number of cells in each district. */
+    private final int[] sizes;
+    /** Source of randomness. */
+    private final SplittableRandom random;
+    /** District number of each cell in the best plan found. */
+    private final int[] best;
+    /** Number of favoring districts in the current plan. */
+    private int seats;
+    /** Number of favoring districts in the best plan found. */
+    private int bestSeats;
+    /** Number of iterations performed. */
+    private long iterations;
+
+    /**
+     * Creates an optimizer.
+     * @param theRegion the region, which must be a fully-populated
+     *        rectangle anchored at (0, 0)
+     * @param districts the number of districts
+     * @param favored the party to favor
+     * @param seed the seed of the random number generator
+     * @throws IllegalArgumentException if the region is not a rectangle
+     *         anchored at (0, 0), or the number of districts is less than
+     *         one or more than the number of locations
+     */
+    public PartyOptimizer(final Region theRegion, final int districts,
+                          final Party favored, final long seed) {
+        DistrictPlan initial = ReComChain.initialPlan(theRegion, districts);
+        this.region = initial.region();
+        this.party = favored;
+        this.width = this.region.width();
+        this.height = this.region.height();
+        this.numberOfDistricts = districts;
+        this.parties = this.region.partyOrdinals();
+        this.districtOf = initial.labels().clone();
+        this.oracle = new ContiguityOracle(this.width, this.height,
+                                           this.districtOf);
+        this.tally = new int[districts * PARTIES.length];
+        this.sizes = new int[districts];
+        for (int cell = 0; cell < this.districtOf.length; cell++) {
+            int d = this.districtOf[cell];
+            this.tally[d * PARTIES.length + this.parties[cell]]++;
+            this.sizes[d]++;
+        }
+        this.random = new SplittableRandom(seed);
+        this.best = this.districtOf.clone();
+        for (int d = 0; d < districts; d++) {
+            this.seats += favors(d);
+        }
+        this.bestSeats = this.seats;
+    }
+
+    /**
+     * Accesses the number of iterations performed so far.
+     * @return the number of iterations
+     */
+    public long iterations() {
+        return this.iterations;
+    }
+
+    /**
+     * Accesses the number of districts favoring the party
+     * in the best plan found so far.
+     * @return the number of favoring districts
+     */
+    public int bestSeats() {
+        return this.bestSeats;
+    }
+
+    /**
+     * Accesses the best plan found so far.
+     * @return the plan with the most favoring districts
+     */
+    public DistrictPlan bestPlan() {
+        return new DistrictPlan(this.region, this.numberOfDistricts,
+                                this.best.clone(), false);
+    }
+
+    /**
+     * Searches for a number of iterations, cooling from the initial to
+     * the final temperature over them.  The search never consults the
+     * clock, so the same seed always yields the same plan.
+     * @param maxIterations the number of iterations to perform
+     * @return the best plan found
+     * @throws IllegalArgumentException if the budget is negative
+     */
+    public DistrictPlan optimize(final long maxIterations) {
+        return optimize(maxIterations, 0L, false);
+    }
+
+    /**
+     * Searches until either budget is exhausted, cooling from the
+     * initial to the final temperature over the budget.
+     * @param maxIterations the largest number of iterations to perform
+     * @param maxMillis the longest time to search, in milliseconds
+     * @return the best plan found
+     * @throws IllegalArgumentException if a budget is negative
+     */
+    public DistrictPlan optimize(final long maxIterations,
+                                 final long maxMillis) {
+        return optimize(maxIterations, maxMillis, true);
+    }
+
+    /**
+     * Searches until the budgets are exhausted.
+     * @param maxIterations the largest number of iterations to perform
+     * @param maxMillis the longest time to search, in milliseconds
+     * @param timed whether the time budget applies
+     * @return the best plan found
+     */
+    private DistrictPlan optimize(final long maxIterations,
+                                  final long maxMillis,
+                                  final boolean timed) {
+        if (maxIterations < 0 || maxMillis < 0) {
+            throw new IllegalArgumentException(
+                    "Invalid budget of " + maxIterations + " iterations and "
+                    + maxMillis + " ms");
+        }
+        long start = timed ? System.currentTimeMillis() : 0L;
+        double cooling = Math.log(FINAL_TEMPERATURE / INITIAL_TEMPERATURE);
+        double temperature = INITIAL_TEMPERATURE;
+        for (long i = 0; i < maxIterations; i++) {
+            if (i % CLOCK_INTERVAL == 0) {
+                double progress = (double) i / maxIterations;
+                if (timed) {
+                    long elapsed = System.currentTimeMillis() - start;
+                    if (elapsed >= maxMillis) {
+                        break;
+                    }
+                    progress = Math.max(progress,
+                                        elapsed / (double) maxMillis);
+                }
+                temperature = INITIAL_TEMPERATURE
+                              * Math.exp(cooling * progress);
+            }
+            this.iterations++;
+            attemptMove(temperature);
+        }
+        return bestPlan();
+    }
+
+    /**
+     * Proposes a random move, accepting it by the Metropolis criterion.
+     * @param temperature the current temperature
+     */
+    private void attemptMove(final double temperature) {
+        if (this.numberOfDistricts < 2) {
+            return;
+        }
+        int cell = this.random.nextInt(this.districtOf.length);
+        int dir = this.random.nextInt(NEIGHBORS);
+        int x = cell % this.width;
+        int y = cell / this.width;
+        int from = this.districtOf[cell];
+        int to = this.oracle.district(x + NEIGHBOR_DX[dir],
+                                      y + NEIGHBOR_DY[dir]);
+        if (to == ContiguityOracle.NO_DISTRICT || to == from
+            || this.sizes[from] < 2 || this.sizes[from] < this.sizes[to]
+            || !this.oracle.removalKeepsContiguous(x, y)) {
+            return;
+        }
+        double before = districtScore(from) + districtScore(to);
+        int seatsBefore = favors(from) + favors(to);
+        flip(cell, from, to);
+        int back = -1;
+        if (this.sizes[to] > this.sizes[from] + 1) {
+            back = giveBack(x, y, to, from);
+            if (back < 0) {
+                flip(cell, to, from);
+                return;
+            }
+        }
+        double delta = districtScore(from) + districtScore(to) - before;
+        if (delta < 0
+            && this.random.nextDouble() >= Math.exp(delta / temperature)) {
+            if (back >= 0) {
+                flip(back, from, to);
+            }
+            flip(cell, to, from);
+            return;
+        }
+        this.seats += favors(from) + favors(to) - seatsBefore;
+        if (this.seats > this.bestSeats) {
+            this.bestSeats = this.seats;
+            System.arraycopy(this.districtOf, 0, this.best, 0,
+                             this.best.length);
+        }
+    }
+
+    /**
+     * Moves a location, chosen at random near a given location, from one
+     * district to another, keeping both districts contiguous.
+     * @param x the x-coordinate near which to search
+     * @param y the y-coordinate near which to search
+     * @param from the district giving up a location
+     * @param to the district receiving it
+     * @return the cell moved, or -1 if no location could be moved
+     */
+    private int giveBack(final int x, final int y, final int from,
+                         final int to) {
+        int chosen = -1;
+        int candidates = 0;
+        for (int ny = y - SWAP_RADIUS; ny <= y + SWAP_RADIUS; ny++) {
+            for (int nx = x - SWAP_RADIUS; nx <= x + SWAP_RADIUS; nx++) {
+                if ((nx == x && ny == y)
+                    || this.oracle.district(nx, ny) != from
+                    || !touches(nx, ny, to)) {
+                    continue;
+                }
+                candidates++;
+                if (this.random.nextInt(candidates) == 0) {
+                    chosen = ny * this.width + nx;
+                }
+            }
+        }
+        if (chosen < 0 || !this.oracle.removalKeepsContiguous(
+                chosen % this.width, chosen / this.width)) {
+            return -1;
+        }
+        flip(chosen, from, to);
+        return chosen;
+    }
+
+    /**
+     * Determines whether a location is adjacent to a district.
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @param d the district
+     * @return true if some adjacent location belongs to the district
+     */
+    private boolean touches(final int x, final int y, final int d) {
+        for (int dir = 0; dir < NEIGHBORS; dir++) {
+            if (this.oracle.district(x + NEIGHBOR_DX[dir],
+                                     y + NEIGHBOR_DY[dir]) == d) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves a cell between districts, updating tallies and the oracle.
+     * @param cell the cell
+     * @param from its current district
+     * @param to its new district
+     */
+    private void flip(final int cell, final int from, final int to) {
+        int p = this.parties[cell];
+        this.tally[from * PARTIES.length + p]--;
+        this.tally[to * PARTIES.length + p]++;
+        this.sizes[from]--;
+        this.sizes[to]++;
+        this.districtOf[cell] = to;
+        this.oracle.move(cell % this.width, cell / this.width, to);
+    }
+
+    /**
+     * Computes the margin of the party over its strongest rival
+     * in a district.
+     * @param d the district
+     * @return the favored party's voters less the most voters of any
+     *         other party; positive exactly when the district favors it
+     */
+    private int margin(final int d) {
+        int base = d * PARTIES.length;
+        int rival = 0;
+        for (int p = 0; p < PARTIES.length; p++) {
+            if (p != this.party.ordinal()) {
+                rival = Math.max(rival, this.tally[base + p]);
+            }
+        }
+        return this.tally[base + this.party.ordinal()] - rival;
+    }
+
+    /**
+     * Computes a district's contribution to the score: one if it favors
+     * the party, and otherwise a penalty growing with the deficit.
+     * @param d the district
+     * @return the contribution
+     */
+    private double districtScore(final int d) {
+        int m = margin(d);
+        if (m > 0) {
+            return 1.0;
+        }
+        return CLOSENESS_WEIGHT * (m - 1) / this.sizes[d];
+    }
+
+    /**
+     * Determines whether a district favors the party.
+     * @param d the district
+     * @return 1 if the district favors the party; 0 otherwise
+     */
+    private int favors(final int d) {
+        int leader = PartyTally.leader(this.tally, d * PARTIES.length,
+                                       PARTIES.length);
+        return (leader == this.party.ordinal()) ? 1 : 0;
+    }
+
+    /**
+     * Counts the districts of a plan favoring a party.
+     * @param plan the plan
+     * @param favored the party
+     * @return the number of districts in which the party has more
+     *         voters than any other party
+     */
+    public static int seats(final DistrictPlan plan, final Party favored) {
+        int[] counts = new int[plan.numberOfDistricts() * PARTIES.length];
+        int[] labels = plan.labels();
+        byte[] ordinals = plan.region().partyOrdinals();
+        for (int cell = 0; cell < labels.length; cell++) {
+            counts[labels[cell] * PARTIES.length + ordinals[cell]]++;
+        }
+        int won = 0;
+        for (int d = 0; d < plan.numberOfDistricts(); d++) {
+            if (PartyTally.leader(counts, d * PARTIES.length, PARTIES.length)
+                == favored.ordinal()) {
+                won++;
+            }
+        }
+        return won;
+    }
+}
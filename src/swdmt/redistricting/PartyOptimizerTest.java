@@ -0,0 +1,80 @@
+package swdmt.redistricting;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static swdmt.redistricting.GridRegions.P0;
+import static swdmt.redistricting.GridRegions.P1;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+/**
+ * Tests for PartyOptimizer.
+ *
+ * @author  agent
+ * @version 20261017
+ */
+public class PartyOptimizerTest {
+    @Test
+    public void seatsTest() {
+        GridRegion region = new GridRegion(6, 1,
+                                           new byte[] {P0, P0, P1, P0, P1, P1});
+        DistrictPlan plan = new DistrictPlan(region, 3,
+                                             new int[] {0, 0, 1, 1, 2, 2});
+        assertThat(PartyOptimizer.seats(plan, Party.PARTY0), is(1));
+        assertThat(PartyOptimizer.seats(plan, Party.PARTY1), is(1));
+        assertThat(PartyOptimizer.seats(plan, Party.NONE), is(0));
+    }
+
+    @Test
+    public void improvesMinorityTest() {
+        GridRegion region = GridRegions.random(10, 10, 0.4, 5L);
+        PartyOptimizer optimizer = new PartyOptimizer(region, 5,
+                                                      Party.PARTY0, 1L);
+        int initial = optimizer.bestSeats();
+        DistrictPlan plan = optimizer.optimize(200_000L, 10_000L);
+        assertTrue(plan.isValid());
+        assertTrue(optimizer.bestSeats() > initial);
+        assertThat(PartyOptimizer.seats(plan, Party.PARTY0),
+                   is(optimizer.bestSeats()));
+        assertThat(optimizer.iterations(), is(200_000L));
+    }
+
+    @Test
+    public void unevenSizesStayBalancedTest() {
+        // 49 locations into 4 districts: sizes 12 and 13.
+        GridRegion region = GridRegions.random(7, 7, 0.45, 6L);
+        PartyOptimizer optimizer = new PartyOptimizer(region, 4,
+                                                      Party.PARTY0, 2L);
+        DistrictPlan plan = optimizer.optimize(50_000L, 10_000L);
+        assertTrue(plan.isValid());
+        int[] sizes = plan.districtSizes();
+        Arrays.sort(sizes);
+        assertThat(sizes[0], is(12));
+        assertThat(sizes[3], is(13));
+    }
+
+    @Test
+    public void sameSeedSamePlanTest() {
+        GridRegion region = GridRegions.random(8, 8, 0.4, 7L);
+        DistrictPlan first = new PartyOptimizer(region, 4, Party.PARTY0, 3L)
+                .optimize(20_000L, 60_000L);
+        DistrictPlan second = new PartyOptimizer(region, 4, Party.PARTY0, 3L)
+                .optimize(20_000L, 60_000L);
+        assertThat(first, is(second));
+    }
+
+    @Test
+    public void budgetsTest() {
+        PartyOptimizer optimizer = new PartyOptimizer(new GridRegion(5, 5), 5,
+                                                      Party.PARTY0, 0L);
+        optimizer.optimize(0L, 1_000L);
+        assertThat(optimizer.iterations(), is(0L));
+        optimizer.optimize(1_000_000L, 0L);
+        assertThat(optimizer.iterations(), is(0L));
+        assertThrows(IllegalArgumentException.class,
+                     () -> optimizer.optimize(-1L, 1L));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new PartyOptimizer(new GridRegion(2, 2), 5,
+                                              Party.PARTY0, 0L));
+    }
+}
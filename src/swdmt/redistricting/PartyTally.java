@@ -0,0 +1,261 @@
+package swdmt.redistricting;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+/**
+ * Counts the voters of each party in districts of a grid region
+ * without hashing.
+ * <p>Arbitrary districts are tallied in time proportional to their size
+ * by indexing the region's per-cell party column, which holds the
+ * {@link Party#ordinal()} of the voter at each cell in row-major order.
+ * Rectangles are tallied in constant time from a summed-area table per
+ * party: entry (x, y) of a party's table is the number of its voters in
+ * the cells with x-coordinate below x and y-coordinate below y.  Each
+ * table takes one int per cell and is built, in one pass over the
+ * region, when first needed, so parties never queried by rectangle cost
+ * nothing.</p>
+ * <p>A tally is safe for use by several threads.</p>
+ *
+ * @author agent
+ * @version 20261017
+ */
+public final class PartyTally {
+    /** The known parties, indexed by ordinal. */
+    private static final Party[] PARTIES = Party.values();
+    /** Leader ordinal of counts whose leading parties tie. */
+    static final int TIE = -1;
+
+    /** The region. */
+    private final GridRegion region;
+    /** Width of the region. */
+    private final int width;
+    /** Height of the region. */
+    private final int height;
+    /** Party ordinal of each cell, in row-major order. */
+    private final byte[] parties;
+    /** Summed-area table of each party, by ordinal; built on demand. */
+    private final AtomicReferenceArray<int[]> tables =
+            new AtomicReferenceArray<>(PARTIES.length);
+
+    /**
+     * Creates a tally for a region.
+     * @param theRegion the region, which must be a fully-populated
+     *        rectangle anchored at (0, 0)
+     * @throws IllegalArgumentException if the region is not a rectangle
+     *         anchored at (0, 0)
+     */
+    public PartyTally(final Region theRegion) {
+        this.region = GridRegion.of(theRegion);
+        this.width = this.region.width();
+        this.height = this.region.height();
+        this.parties = this.region.partyOrdinals();
+    }
+
+    /**
+     * Accesses the region.
+     * @return the region
+     */
+    public GridRegion region() {
+        return this.region;
+    }
+
+    /**
+     * Counts the voters of each party in a district.
+     * @param district the district
+     * @return the number of voters of each party, indexed by ordinal
+     * @throws IllegalArgumentException if a location of the district
+     *         is outside the region
+     */
+    public int[] tally(final District district) {
+        return tally(district.locationsView());
+    }
+
+    /**
+     * Counts the voters of each party at the given locations.
+     * @param locations the locations
+     * @return the number of voters of each party, indexed by ordinal
+     * @throws IllegalArgumentException if a location is outside the region
+     */
+    public int[] tally(final Collection<Location> locations) {
+        int[] counts = new int[PARTIES.length];
+        for (Location loc : locations) {
+            int x = loc.xCoordinate();
+            int y = loc.yCoordinate();
+            if (x < 0 || y < 0 || x >= this.width || y >= this.height) {
+                throw new IllegalArgumentException(
+                        "Location " + loc + " outside region");
+            }
+            counts[this.parties[y * this.width + x]]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Counts the voters of a party in a rectangle, in constant time
+     * once the party's table is built.
+     * @param party the party
+     * @param x the least x-coordinate of the rectangle
+     * @param y the least y-coordinate of the rectangle
+     * @param rectWidth the width of the rectangle
+     * @param rectHeight the height of the rectangle
+     * @return the number of voters of the party in the rectangle
+     * @throws IllegalArgumentException if the rectangle is not
+     *         within the region
+     */
+    public int count(final Party party, final int x, final int y,
+                     final int rectWidth, final int rectHeight) {
+        checkRectangle(x, y, rectWidth, rectHeight);
+        return rectangleSum(table(party.ordinal()), x, y,
+                            rectWidth, rectHeight);
+    }
+
+    /**
+     * Counts the voters of each party in a rectangle, in constant time
+     * once the parties' tables are built.
+     * @param x the least x-coordinate of the rectangle
+     * @param y the least y-coordinate of the rectangle
+     * @param rectWidth the width of the rectangle
+     * @param rectHeight the height of the rectangle
+     * @return the number of voters of each party, indexed by ordinal
+     * @throws IllegalArgumentException if the rectangle is not
+     *         within the region
+     */
+    public int[] tally(final int x, final int y,
+                       final int rectWidth, final int rectHeight) {
+        checkRectangle(x, y, rectWidth, rectHeight);
+        int[] counts = new int[PARTIES.length];
+        for (int p = 0; p < PARTIES.length; p++) {
+            counts[p] = rectangleSum(table(p), x, y, rectWidth, rectHeight);
+        }
+        return counts;
+    }
+
+    /**
+     * Determines the party with the most voters in a district.
+     * @param district the district
+     * @return the party with more voters than any other,
+     *         or null if the leading parties tie
+     * @throws IllegalArgumentException if a location of the district
+     *         is outside the region
+     */
+    public Party favoredParty(final District district) {
+        return leader(tally(district));
+    }
+
+    /**
+     * Determines the party with the most voters given per-party counts.
+     * @param counts the number of voters of each party, indexed by ordinal
+     * @return the party with more voters than any other,
+     *         or null if the leading parties tie
+     */
+    public static Party leader(final int[] counts) {
+        int winner = leader(counts, 0, counts.length);
+        return (winner == TIE) ? null : PARTIES[winner];
+    }
+
+    /**
+     * Determines the party with the most voters in one district of a
+     * table of per-district counts.  This is the rule every plan metric
+     * and search uses to decide which party a district favors.
+     * @param counts the counts of several districts, one run per district
+     * @param base the index of the district's count for ordinal 0
+     * @param parties the number of counts of the district
+     * @return the ordinal of the party with more voters than any other,
+     *         or TIE if the leading parties tie
+     */
+    static int leader(final int[] counts, final int base,
+                      final int parties) {
+        int winner = TIE;
+        int most = -1;
+        for (int p = 0; p < parties; p++) {
+            int count = counts[base + p];
+            if (count > most) {
+                most = count;
+                winner = p;
+            } else if (count == most) {
+                winner = TIE;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Computes twice the votes a party wastes in a two-party contest.
+     * A party with more votes than its rival wastes its votes beyond
+     * half of the two-party vote; otherwise, including on a tie, it
+     * wastes all of its votes.  Doubling keeps the result whole.
+     * @param votes the party's votes
+     * @param rivalVotes the rival's votes
+     * @return twice the wasted votes
+     */
+    static long doubledWastedVotes(final long votes, final long rivalVotes) {
+        return (votes > rivalVotes) ? votes - rivalVotes : 2 * votes;
+    }
+
+    /**
+     * Sums a rectangle of a summed-area table.
+     * @param table the table
+     * @param x the least x-coordinate of the rectangle
+     * @param y the least y-coordinate of the rectangle
+     * @param rectWidth the width of the rectangle
+     * @param rectHeight the height of the rectangle
+     * @return the sum over the rectangle
+     */
+    private int rectangleSum(final int[] table, final int x, final int y,
+                             final int rectWidth, final int rectHeight) {
+        int stride = this.width + 1;
+        int top = y * stride;
+        int bottom = (y + rectHeight) * stride;
+        return table[bottom + x + rectWidth] - table[bottom + x]
+               - table[top + x + rectWidth] + table[top + x];
+    }
+
+    /**
+     * Verifies that a rectangle lies within the region.
+     * @param x the least x-coordinate of the rectangle
+     * @param y the least y-coordinate of the rectangle
+     * @param rectWidth the width of the rectangle
+     * @param rectHeight the height of the rectangle
+     * @throws IllegalArgumentException if it does not
+     */
+    private void checkRectangle(final int x, final int y,
+                                final int rectWidth, final int rectHeight) {
+        if (x < 0 || y < 0 || rectWidth < 0 || rectHeight < 0
+            || rectWidth > this.width - x || rectHeight > this.height - y) {
+            throw new IllegalArgumentException(
+                    "Rectangle " + rectWidth + "x" + rectHeight + " at ("
+                    + x + ", " + y + ") outside " + this.width + "x"
+                    + this.height + " region");
+        }
+    }
+
+    /**
+     * Accesses the summed-area table of a party, building it if needed.
+     * Threads racing to build a table build equal tables; one is kept.
+     * @param ordinal the ordinal of the party
+     * @return the table, with (width + 1) x (height + 1) entries
+     */
+    private int[] table(final int ordinal) {
+        int[] table = this.tables.get(ordinal);
+        if (table != null) {
+            return table;
+        }
+        int stride = this.width + 1;
+        table = new int[stride * (this.height + 1)];
+        for (int y = 0; y < this.height; y++) {
+            int rowSum = 0;
+            int cell = y * this.width;
+            int above = y * stride;
+            int at = above + stride;
+            for (int x = 0; x < this.width; x++) {
+                if (this.parties[cell + x] == ordinal) {
+                    rowSum++;
+                }
+                table[at + x + 1] = table[above + x + 1] + rowSum;
+            }
+        }
+        if (this.tables.compareAndSet(ordinal, null, table)) {
+            return table;
+        }
+        return this.tables.get(ordinal);
+    }
+}
@@ -0,0 +1,120 @@
+package swdmt.redistricting;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+/**
+ * Tests for PartyTally.
+ *
+ * @author  agent
+ * @version 20261017
+ */
+public class PartyTallyTest {
+    @Test
+    public void rectanglesMatchDirectCountTest() {
+        GridRegion region = GridRegions.random(9, 7, 3L);
+        PartyTally tally = new PartyTally(region);
+        for (int x = 0; x <= 9; x++) {
+            for (int y = 0; y <= 7; y++) {
+                for (int w = 0; x + w <= 9; w++) {
+                    for (int h = 0; y + h <= 7; h++) {
+                        int[] expected = new int[Party.values().length];
+                        List<Location> locs = new ArrayList<>();
+                        for (int i = x; i < x + w; i++) {
+                            for (int j = y; j < y + h; j++) {
+                                expected[region.party(i, j).ordinal()]++;
+                                locs.add(Location.of(i, j));
+                            }
+                        }
+                        assertThat(tally.tally(x, y, w, h), is(expected));
+                        assertThat(tally.tally(locs), is(expected));
+                        assertThat(tally.count(Party.PARTY1, x, y, w, h),
+                                   is(expected[Party.PARTY1.ordinal()]));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void districtTallyMatchesVotersTest() {
+        GridRegion region = GridRegions.random(6, 6, 11L);
+        PartyTally tally = new PartyTally(region);
+        for (District d : Redistrictor.generateDistricts(region, 4)) {
+            int[] expected = new int[Party.values().length];
+            for (Voter v : region.voters()) {
+                if (d.locationsView().contains(v.location())) {
+                    expected[v.affiliation().ordinal()]++;
+                }
+            }
+            assertThat(tally.tally(d), is(expected));
+        }
+    }
+
+    @Test
+    public void favoredPartyTest() {
+        // PARTY0 = 2, PARTY1 = 3.
+        GridRegion region = new GridRegion(4, 1, new byte[] {2, 2, 3, 3});
+        PartyTally tally = new PartyTally(region);
+        District left = new District(Arrays.asList(Location.of(0, 0),
+                                                   Location.of(1, 0),
+                                                   Location.of(2, 0)));
+        assertThat(tally.favoredParty(left), is(Party.PARTY0));
+        District all = new District(region.locationsView());
+        assertThat(tally.favoredParty(all), is(nullValue()));
+        assertThat(PartyTally.leader(new int[] {0, 0, 1, 4, 0}),
+                   is(Party.PARTY1));
+    }
+
+    /**
+     * Pins down ties: a district whose leading parties tie favors no
+     * party, and both parties of a tied two-party contest waste all of
+     * their votes, in every metric and search built on this rule.
+     */
+    @Test
+    public void tieBehaviorTest() {
+        assertThat(PartyTally.leader(new int[] {0, 0, 2, 2, 0}),
+                   is(nullValue()));
+        assertThat(PartyTally.leader(new int[] {0, 1, 2, 2, 3}, 1, 3),
+                   is(PartyTally.TIE));
+        assertThat(PartyTally.doubledWastedVotes(2, 2), is(4L));
+        assertThat(PartyTally.doubledWastedVotes(3, 1), is(2L));
+        assertThat(PartyTally.doubledWastedVotes(1, 3), is(2L));
+        // District 0 ties 2 to 2; PARTY0 wins district 1 by 3 to 1.
+        GridRegion region = new GridRegion(4, 2, new byte[] {2, 2, 3, 3,
+                                                             2, 2, 2, 3});
+        DistrictPlan plan = new DistrictPlan(region, 2,
+                                             new int[] {0, 0, 0, 0,
+                                                        1, 1, 1, 1});
+        PlanMetrics metrics = new PlanMetrics(region).evaluate(plan);
+        assertThat(metrics.favoredParty(0), is(nullValue()));
+        assertThat(metrics.seats(Party.PARTY0), is(1));
+        assertThat(metrics.seats(Party.PARTY1), is(0));
+        assertThat(metrics.wastedVotes(Party.PARTY0), is(3.0));
+        assertThat(metrics.wastedVotes(Party.PARTY1), is(3.0));
+        assertThat(PartyOptimizer.seats(plan, Party.PARTY0), is(1));
+        assertThat(PartyOptimizer.seats(plan, Party.PARTY1), is(0));
+        EnsembleStatistics ensemble = new EnsembleStatistics(2);
+        ensemble.record(plan);
+        assertThat(ensemble.seats(Party.PARTY0), is(1L));
+        assertThat(ensemble.seats(Party.PARTY1), is(0L));
+        assertThat(ensemble.meanEfficiencyGap(), is(0.0));
+    }
+
+    @Test
+    public void invalidArgumentsTest() {
+        PartyTally tally = new PartyTally(new GridRegion(3, 2));
+        assertThrows(IllegalArgumentException.class,
+                     () -> tally.tally(1, 0, 3, 1));
+        assertThrows(IllegalArgumentException.class,
+                     () -> tally.count(Party.NONE, 0, 0, 1, 3));
+        assertThrows(IllegalArgumentException.class,
+                     () -> tally.tally(-1, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class,
+                     () -> tally.tally(Arrays.asList(Location.of(3, 0))));
+    }
+}
@@ -0,0 +1,383 @@
+package swdmt.redistricting;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+/**
+ * A thread-safe cache of the patterns of {@link StarGenerator},
+ * keyed by pattern size.
+ * <p>The number of patterns grows exponentially with their size, so the
+ * cache is bounded by the total number of locations it holds; when full
+ * it discards the least recently used sizes.  A pattern set larger than
+ * the whole bound is returned without being kept.  Cached pattern sets
+ * are unmodifiable and shared by every caller.</p>
+ * <p>A cache may also keep pattern files in a directory.  A pattern set
+ * missing from memory is then read from its file when one exists, and
+ * written to its file after being generated otherwise, so the patterns
+ * of each size are generated at most once across runs.  Threads
+ * requesting a size that another thread is already reading or
+ * generating wait for that work rather than repeating it.</p>
+ *
+ * @author agent
+ * @version 20261017
+ */
+public final class PatternCache {
+    /** Default bound on the number of locations held in memory. */
+    public static final long DEFAULT_MAX_LOCATIONS = 1L << 22;
+    /** System property naming the directory of the shared cache's files. */
+    public static final String DIRECTORY_PROPERTY =
+            "swdmt.redistricting.patterns";
+    /** First value of a pattern file. */
+    private static final int MAGIC = 0x53544152;
+    /** Version of the pattern file format. */
+    private static final int FORMAT_VERSION = 1;
+    /** Initial capacity of the map of pattern sets. */
+    private static final int INITIAL_CAPACITY = 16;
+    /** Load factor of the map of pattern sets. */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /** The cache used by {@link AllDistrictGen}. */
+    private static final PatternCache SHARED = new PatternCache(
+            DEFAULT_MAX_LOCATIONS, directoryOf(DIRECTORY_PROPERTY));
+
+    /** Bound on the number of locations held in memory. */
+    private final long maxLocations;
+    /** Directory of pattern files; null when there is none. */
+    private final Path directory;
+    /** Pattern sets by size, least recently used first. */
+    private final LinkedHashMap<Integer, List<List<Location>>> entries =
+            new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+    /** Pattern sets being read or generated, by size. */
+    private final Map<Integer, CompletableFuture<List<List<Location>>>>
+            pending = new HashMap<>();
+    /** Number of locations held in memory. */
+    private long locations;
+    /** Number of requests answered from memory or from pending work. */
+    private final LongAdder hits = new LongAdder();
+    /** Number of requests that read or generated their patterns. */
+    private final LongAdder misses = new LongAdder();
+    /** Number of pattern sets read from files. */
+    private final LongAdder fileLoads = new LongAdder();
+
+    /**
+     * Creates a cache held only in memory.
+     * @param maximumLocations bound on the number of locations held
+     * @throws IllegalArgumentException if the bound is negative
+     */
+    public PatternCache(final long maximumLocations) {
+        this(maximumLocations, null);
+    }
+
+    /**
+     * Creates a cache backed by a directory of pattern files.
+     * @param maximumLocations bound on the number of locations held
+     * @param fileDirectory directory of pattern files, created when first
+     *        written; null for a cache held only in memory
+     * @throws IllegalArgumentException if the bound is negative
+     */
+    public PatternCache(final long maximumLocations,
+                        final Path fileDirectory) {
+        if (maximumLocations < 0) {
+            throw new IllegalArgumentException(
+                    "Invalid bound of " + maximumLocations + " locations");
+        }
+        this.maxLocations = maximumLocations;
+        this.directory = fileDirectory;
+    }
+
+    /**
+     * Accesses the cache shared by the district generators.
+     * It holds up to {@link #DEFAULT_MAX_LOCATIONS} locations, and keeps
+     * pattern files in the directory named by the system property
+     * {@value #DIRECTORY_PROPERTY} if it is set.
+     * @return the shared cache
+     */
+    public static PatternCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Accesses the patterns of a given size, generating them only if they
+     * are neither in memory nor in a pattern file.
+     * @param n size of the patterns
+     * @return the unmodifiable patterns, in the order of
+     *         {@link StarGenerator#generatePattern(int)}
+     * @throws IllegalArgumentException if a pattern file is malformed
+     * @throws UncheckedIOException if a pattern file cannot be read
+     *         or written
+     */
+    public List<List<Location>> patterns(final int n) {
+        CompletableFuture<List<List<Location>>> work;
+        synchronized (this.entries) {
+            List<List<Location>> cached = this.entries.get(n);
+            if (cached != null) {
+                this.hits.increment();
+                return cached;
+            }
+            work = this.pending.get(n);
+            if (work != null) {
+                this.hits.increment();
+            } else {
+                this.misses.increment();
+                this.pending.put(n, new CompletableFuture<>());
+            }
+        }
+        if (work != null) {
+            return await(work);
+        }
+        List<List<Location>> patterns;
+        try {
+            patterns = load(n);
+        } catch (RuntimeException | Error e) {
+            synchronized (this.entries) {
+                work = this.pending.remove(n);
+            }
+            work.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (this.entries) {
+            work = this.pending.remove(n);
+            long weight = (long) patterns.size() * n;
+            if (weight <= this.maxLocations) {
+                this.entries.put(n, patterns);
+                this.locations += weight;
+                evict();
+            }
+        }
+        work.complete(patterns);
+        return patterns;
+    }
+
+    /**
+     * Waits for another thread to read or generate patterns.
+     * @param work the pending work
+     * @return the patterns
+     */
+    private static List<List<Location>> await(
+            final CompletableFuture<List<List<Location>>> work) {
+        try {
+            return work.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Accesses the number of requests answered from memory, or by
+     * waiting for another request to read or generate the patterns.
+     * @return the number of hits
+     */
+    public long hits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Accesses the number of requests that read or generated patterns.
+     * @return the number of misses
+     */
+    public long misses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Accesses the number of pattern sets read from pattern files.
+     * @return the number of file loads
+     */
+    public long fileLoads() {
+        return this.fileLoads.sum();
+    }
+
+    /**
+     * Accesses the number of locations held in memory.
+     * @return the number of locations
+     */
+    public long locations() {
+        synchronized (this.entries) {
+            return this.locations;
+        }
+    }
+
+    /**
+     * Discards every pattern set held in memory.
+     * Pattern files and counters are kept.
+     */
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+            this.locations = 0;
+        }
+    }
+
+    /**
+     * Discards the least recently used pattern sets until the cache
+     * is within its bound.
+     */
+    private void evict() {
+        Iterator<Map.Entry<Integer, List<List<Location>>>> it =
+                this.entries.entrySet().iterator();
+        while (this.locations > this.maxLocations && it.hasNext()) {
+            Map.Entry<Integer, List<List<Location>>> eldest = it.next();
+            this.locations -= (long) eldest.getValue().size()
+                              * eldest.getKey();
+            it.remove();
+        }
+    }
+
+    /**
+     * Obtains patterns missing from memory, from their file when
+     * there is one and by generating them otherwise.
+     * @param n size of the patterns
+     * @return the unmodifiable patterns
+     */
+    private List<List<Location>> load(final int n) {
+        if (this.directory != null && n > 0) {
+            Path file = fileOf(n);
+            if (Files.isRegularFile(file)) {
+                List<List<Location>> patterns = read(file, n);
+                this.fileLoads.increment();
+                return patterns;
+            }
+        }
+        List<List<Location>> patterns = new ArrayList<>();
+        for (ArrayList<Location> p : StarGenerator.generatePattern(n)) {
+            patterns.add(Collections.unmodifiableList(p));
+        }
+        patterns = Collections.unmodifiableList(patterns);
+        if (this.directory != null && n > 0) {
+            write(fileOf(n), n, patterns);
+        }
+        return patterns;
+    }
+
+    /**
+     * Names the pattern file of a size.
+     * @param n size of the patterns
+     * @return the path of the file
+     */
+    private Path fileOf(final int n) {
+        return this.directory.resolve("patterns-" + n + ".bin");
+    }
+
+    /**
+     * Reads a pattern file.
+     * Each location is stored as its x- and y-coordinates relative to
+     * the origin, one byte each.
+     * @param file the file
+     * @param n size of the patterns
+     * @return the unmodifiable patterns
+     */
+    private static List<List<Location>> read(final Path file, final int n) {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION
+                || in.readInt() != n) {
+                throw new IllegalArgumentException(
+                        "Malformed pattern file " + file);
+            }
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IllegalArgumentException(
+                        "Malformed pattern file " + file);
+            }
+            List<List<Location>> patterns = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Location[] pattern = new Location[n];
+                for (int j = 0; j < n; j++) {
+                    int x = in.readByte();
+                    int y = in.readByte();
+                    pattern[j] = Location.of(x, y);
+                }
+                patterns.add(Collections.unmodifiableList(
+                        Arrays.asList(pattern)));
+            }
+            if (in.read() >= 0) {
+                throw new IllegalArgumentException(
+                        "Malformed pattern file " + file);
+            }
+            return Collections.unmodifiableList(patterns);
+        } catch (EOFException e) {
+            throw new IllegalArgumentException(
+                    "Truncated pattern file " + file, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a pattern file, replacing any existing file only once
+     * the new one is complete.
+     * @param file the file
+     * @param n size of the patterns
+     * @param patterns the patterns
+     */
+    private static void write(final Path file, final int n,
+                              final List<List<Location>> patterns) {
+        if (n > Byte.MAX_VALUE) {
+            return;
+        }
+        Path temporary = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temporary = Files.createTempFile(file.getParent(),
+                                             "patterns-", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(
+                            Files.newOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(n);
+                out.writeInt(patterns.size());
+                for (List<Location> pattern : patterns) {
+                    for (Location loc : pattern) {
+                        out.writeByte(loc.xCoordinate());
+                        out.writeByte(loc.yCoordinate());
+                    }
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+            temporary = null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (temporary != null) {
+                temporary.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * Reads the directory named by a system property.
+     * @param property the name of the property
+     * @return the directory, or null if the property is not set
+     */
+    private static Path directoryOf(final String property) {
+        String name = System.getProperty(property);
+        return (name == null || name.isEmpty()) ? null : Paths.get(name);
+    }
+}
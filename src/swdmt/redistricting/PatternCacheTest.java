@@ -0,0 +1,142 @@
+package swdmt.redistricting;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+/**
+ * Tests for PatternCache.
+ *
+ * @author  agent
+ * @version 20261017
+ */
+public class PatternCacheTest {
+    /** Bound large enough for every pattern set used. */
+    private static final long BOUND = PatternCache.DEFAULT_MAX_LOCATIONS;
+
+    @Test
+    public void matchesGeneratorTest() {
+        PatternCache cache = new PatternCache(BOUND);
+        for (int n = 0; n <= 6; n++) {
+            List<List<Location>> patterns = cache.patterns(n);
+            List<ArrayList<Location>> generated =
+                    StarGenerator.generatePattern(n);
+            assertThat(patterns.size(), is(generated.size()));
+            for (int i = 0; i < patterns.size(); i++) {
+                assertThat(patterns.get(i), is(generated.get(i)));
+            }
+        }
+    }
+
+    @Test
+    public void hitsAndMissesTest() {
+        PatternCache cache = new PatternCache(BOUND);
+        List<List<Location>> first = cache.patterns(5);
+        assertThat(cache.misses(), is(1L));
+        assertThat(cache.hits(), is(0L));
+        assertThat(cache.patterns(5), is(sameInstance(first)));
+        assertThat(cache.patterns(5), is(sameInstance(first)));
+        assertThat(cache.hits(), is(2L));
+        assertThat(cache.misses(), is(1L));
+        assertThat(cache.locations(), is(63L * 5));
+        cache.clear();
+        assertThat(cache.locations(), is(0L));
+        cache.patterns(5);
+        assertThat(cache.misses(), is(2L));
+    }
+
+    @Test
+    public void patternsAreUnmodifiableTest() {
+        PatternCache cache = new PatternCache(BOUND);
+        List<List<Location>> patterns = cache.patterns(3);
+        assertThrows(UnsupportedOperationException.class,
+                     () -> patterns.remove(0));
+        assertThrows(UnsupportedOperationException.class,
+                     () -> patterns.get(0).add(new Location(9, 9)));
+    }
+
+    @Test
+    public void boundEvictsLeastRecentlyUsedTest() {
+        // Sizes 3, 4 and 5 hold 18, 76 and 315 locations.
+        PatternCache cache = new PatternCache(400);
+        cache.patterns(3);
+        cache.patterns(4);
+        cache.patterns(3);
+        cache.patterns(5);
+        assertThat(cache.locations(), is(18L + 315));
+        long misses = cache.misses();
+        cache.patterns(3);
+        assertThat(cache.misses(), is(misses));
+        cache.patterns(4);
+        assertThat(cache.misses(), is(misses + 1));
+        assertTrue(cache.locations() <= 400);
+    }
+
+    @Test
+    public void oversizedPatternsNotKeptTest() {
+        PatternCache cache = new PatternCache(100);
+        assertThat(cache.patterns(5).size(), is(63));
+        assertThat(cache.locations(), is(0L));
+        cache.patterns(5);
+        assertThat(cache.misses(), is(2L));
+    }
+
+    @Test
+    public void concurrentRequestsShareOneSetTest() throws Exception {
+        PatternCache cache = new PatternCache(BOUND);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<List<Location>>>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(pool.submit(() -> cache.patterns(7)));
+            }
+            List<List<Location>> kept = cache.patterns(7);
+            for (Future<List<List<Location>>> result : results) {
+                assertThat(result.get().size(), is(760));
+            }
+            assertThat(cache.patterns(7), is(sameInstance(kept)));
+            assertThat(cache.hits() + cache.misses(), is(18L));
+            assertThat(cache.misses(), is(1L));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void patternFileTest(@TempDir final Path directory) {
+        PatternCache writer = new PatternCache(0, directory);
+        List<List<Location>> generated = writer.patterns(6);
+        assertTrue(Files.isRegularFile(directory.resolve("patterns-6.bin")));
+        assertThat(writer.fileLoads(), is(0L));
+        PatternCache reader = new PatternCache(
+                BOUND, directory);
+        assertThat(reader.patterns(6), is(generated));
+        assertThat(reader.fileLoads(), is(1L));
+        assertThat(reader.misses(), is(1L));
+    }
+
+    @Test
+    public void malformedPatternFileTest(@TempDir final Path directory)
+            throws IOException {
+        Files.write(directory.resolve("patterns-4.bin"), new byte[] {1, 2});
+        PatternCache cache = new PatternCache(
+                BOUND, directory);
+        assertThrows(IllegalArgumentException.class, () -> cache.patterns(4));
+    }
+
+    @Test
+    public void invalidBoundTest() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new PatternCache(-1));
+    }
+}
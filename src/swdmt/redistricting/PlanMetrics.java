@@ -0,0 +1,525 @@
+package swdmt.redistricting;
+import java.util.Arrays;
+import java.util.Collection;
+/**
+ * Computes outcome metrics of district plans of a region, in one pass
+ * over its cells, reusing its buffers from plan to plan.
+ * <p>After a plan is evaluated, the engine reports, for that plan:</p>
+ * <ul>
+ * <li>the favored party of each district: the party with the most
+ *     voters in it, or none if the leading parties tie;</li>
+ * <li>the number of districts favoring each party;</li>
+ * <li>the votes wasted by PARTY0 and PARTY1, and the efficiency gap.
+ *     In each district the party with more of the two-party vote wastes
+ *     its votes beyond half of that vote and the other party wastes all
+ *     of its votes; the gap is PARTY0's wasted votes less PARTY1's,
+ *     divided by the two-party vote of the region;</li>
+ * <li>the mean-median difference: the mean of PARTY0's share of the
+ *     two-party vote over districts, less its median;</li>
+ * <li>the Polsby-Popper compactness of each district,
+ *     4&pi; &times; area / perimeter&sup2;, measuring area in cells and
+ *     perimeter in cell edges.</li>
+ * </ul>
+ * <p>Positive efficiency gaps and mean-median differences both indicate
+ * a plan that disadvantages PARTY0.  Buffers grow only when a plan has
+ * more districts than any before it, so evaluating many plans does not
+ * allocate per plan.  An engine is not safe for use by several threads;
+ * give each thread its own.</p>
+ * <p>Once a plan is evaluated, {@link #move(int, int, int)} reassigns a
+ * single cell and updates every metric but the mean-median difference
+ * in constant time, by withdrawing the two districts involved from the
+ * totals, adjusting their tallies and the edges around the cell, and
+ * adding them back, so local searches and Markov chains need not
+ * re-evaluate whole plans.</p>
+ *
+ * @author agent
+ * @version 20261017
+ */
+public final class PlanMetrics {
+    /** The known parties, indexed by ordinal. */
+    private static final Party[] PARTIES = Party.values();
+    /** Ordinal of PARTY0. */
+    private static final int ZERO = Party.PARTY0.ordinal();
+    /** Ordinal of PARTY1. */
+    private static final int ONE = Party.PARTY1.ordinal();
+    /** Favored-party entry of a district whose leading parties tie. */
+    private static final int NO_PARTY = PartyTally.TIE;
+
+    /** The region. */
+    private final GridRegion region;
+    /** Width of the region. */
+    private final int width;
+    /** Height of the region. */
+    private final int height;
+    /** Party ordinal of each cell. */
+    private final byte[] parties;
+    /** District of each cell in the plan evaluated. */
+    private final int[] labels;
+    /** Number of districts of the plan evaluated. */
+    private int numberOfDistricts;
+    /** Number of voters of each party in each district. */
+    private int[] tally = new int[0];
+    /** Number of cells of each district. */
+    private int[] area = new int[0];
+    /** Number of cell edges on the boundary of each district. */
+    private int[] perimeter = new int[0];
+    /** Ordinal of the favored party of each district, or NO_PARTY. */
+    private int[] favored = new int[0];
+    /** PARTY0's share of the two-party vote, for sorting. */
+    private double[] shares = new double[0];
+    /** Number of districts favoring each party. */
+    private final int[] seats = new int[PARTIES.length];
+    /** Twice the votes wasted by PARTY0. */
+    private long wastedZero;
+    /** Twice the votes wasted by PARTY1. */
+    private long wastedOne;
+    /** Two-party vote of the region. */
+    private long twoPartyVotes;
+
+    /**
+     * Creates an engine for plans of a region.
+     * @param theRegion the region, which must be a fully-populated
+     *        rectangle anchored at (0, 0)
+     * @throws IllegalArgumentException if the region is not a rectangle
+     *         anchored at (0, 0)
+     */
+    public PlanMetrics(final Region theRegion) {
+        this.region = GridRegion.of(theRegion);
+        this.width = this.region.width();
+        this.height = this.region.height();
+        this.parties = this.region.partyOrdinals();
+        this.labels = new int[this.parties.length];
+    }
+
+    /**
+     * Accesses the region.
+     * @return the region
+     */
+    public GridRegion region() {
+        return this.region;
+    }
+
+    /**
+     * Evaluates a plan given as districts, numbering them in iteration
+     * order.
+     * @param districts the districts, which must cover every location of
+     *        the region exactly once
+     * @return this engine, reporting the plan's metrics
+     * @throws IllegalArgumentException if the districts do not cover
+     *         every location of the region exactly once
+     */
+    public PlanMetrics evaluate(final Collection<District> districts) {
+        Arrays.fill(this.labels, -1);
+        int d = 0;
+        for (District district : districts) {
+            for (Location loc : district.locationsView()) {
+                int x = loc.xCoordinate();
+                int y = loc.yCoordinate();
+                if (x < 0 || y < 0 || x >= this.width || y >= this.height) {
+                    throw new IllegalArgumentException(
+                            "Location " + loc + " outside region");
+                }
+                int cell = y * this.width + x;
+                if (this.labels[cell] >= 0) {
+                    throw new IllegalArgumentException(
+                            "Location " + loc + " in several districts");
+                }
+                this.labels[cell] = d;
+            }
+            d++;
+        }
+        return evaluate(d);
+    }
+
+    /**
+     * Evaluates a plan.
+     * @param plan the plan, which must be of a region of the same
+     *        dimensions as this engine's
+     * @return this engine, reporting the plan's metrics
+     * @throws IllegalArgumentException if the plan's region differs
+     *         in dimensions
+     */
+    public PlanMetrics evaluate(final DistrictPlan plan) {
+        if (plan.region().width() != this.width
+            || plan.region().height() != this.height) {
+            throw new IllegalArgumentException(
+                    "Plan of " + plan.region().width() + "x"
+                    + plan.region().height() + " region, expected "
+                    + this.width + "x" + this.height);
+        }
+        return evaluate(plan.labels(), plan.numberOfDistricts());
+    }
+
+    /**
+     * Evaluates a plan given the district of each cell.
+     * @param districtOf the district of each cell, in row-major order
+     * @param districts the number of districts
+     * @return this engine, reporting the plan's metrics
+     * @throws IllegalArgumentException if a cell's district is not
+     *         between 0 and one less than the number of districts
+     */
+    PlanMetrics evaluate(final int[] districtOf, final int districts) {
+        System.arraycopy(districtOf, 0, this.labels, 0, this.labels.length);
+        return evaluate(districts);
+    }
+
+    /**
+     * Computes every metric of the plan held in the labels.
+     * @param districts the number of districts
+     * @return this engine
+     */
+    private PlanMetrics evaluate(final int districts) {
+        ensureCapacity(districts);
+        this.numberOfDistricts = districts;
+        Arrays.fill(this.tally, 0, districts * PARTIES.length, 0);
+        Arrays.fill(this.area, 0, districts, 0);
+        Arrays.fill(this.perimeter, 0, districts, 0);
+        for (int y = 0; y < this.height; y++) {
+            int row = y * this.width;
+            for (int x = 0; x < this.width; x++) {
+                int cell = row + x;
+                int d = this.labels[cell];
+                if (d < 0 || d >= districts) {
+                    throw new IllegalArgumentException(
+                            "Location " + Location.of(x, y)
+                            + ((d < 0) ? " in no district"
+                                       : " in unknown district " + d));
+                }
+                this.tally[d * PARTIES.length + this.parties[cell]]++;
+                this.area[d]++;
+                if (x == 0) {
+                    this.perimeter[d]++;
+                }
+                if (y == 0) {
+                    this.perimeter[d]++;
+                }
+                if (x == this.width - 1) {
+                    this.perimeter[d]++;
+                } else {
+                    countEdge(d, this.labels[cell + 1]);
+                }
+                if (y == this.height - 1) {
+                    this.perimeter[d]++;
+                } else {
+                    countEdge(d, this.labels[cell + this.width]);
+                }
+            }
+        }
+        summarize();
+        return this;
+    }
+
+    /**
+     * Moves a cell of the plan evaluated to another district, updating
+     * the metrics in constant time.
+     * The move is not checked for contiguity or balance of the districts;
+     * a district may even be left empty.
+     * @param x the x-coordinate of the cell
+     * @param y the y-coordinate of the cell
+     * @param to the district receiving the cell
+     * @return the district the cell left
+     * @throws IndexOutOfBoundsException if (x, y) is outside the region
+     *         or the receiving district is not a district of the plan
+     */
+    public int move(final int x, final int y, final int to) {
+        int from = district(x, y);
+        checked(to);
+        if (from == to) {
+            return from;
+        }
+        withdraw(from);
+        withdraw(to);
+        int cell = y * this.width + x;
+        int party = this.parties[cell];
+        this.tally[from * PARTIES.length + party]--;
+        this.tally[to * PARTIES.length + party]++;
+        this.area[from]--;
+        this.area[to]++;
+        moveEdge(from, to, (x == 0) ? -1 : this.labels[cell - 1]);
+        moveEdge(from, to,
+                 (x == this.width - 1) ? -1 : this.labels[cell + 1]);
+        moveEdge(from, to, (y == 0) ? -1 : this.labels[cell - this.width]);
+        moveEdge(from, to,
+                 (y == this.height - 1) ? -1 : this.labels[cell + this.width]);
+        this.labels[cell] = to;
+        include(from);
+        include(to);
+        return from;
+    }
+
+    /**
+     * Adjusts perimeters for one side of a cell moving between districts.
+     * @param from the district the cell leaves
+     * @param to the district the cell joins
+     * @param neighbor the district across the side, or -1 if the side is
+     *        on the boundary of the region
+     */
+    private void moveEdge(final int from, final int to, final int neighbor) {
+        if (neighbor == from) {
+            this.perimeter[from]++;
+            this.perimeter[to]++;
+        } else if (neighbor == to) {
+            this.perimeter[from]--;
+            this.perimeter[to]--;
+        } else {
+            this.perimeter[from]--;
+            this.perimeter[to]++;
+        }
+    }
+
+    /**
+     * Counts the edge between two adjacent cells toward the perimeters
+     * of their districts if the districts differ.
+     * @param d the district of one cell
+     * @param other the district of the other cell, possibly not yet
+     *        validated
+     */
+    private void countEdge(final int d, final int other) {
+        if (other != d && other >= 0 && other < this.numberOfDistricts) {
+            this.perimeter[d]++;
+            this.perimeter[other]++;
+        }
+    }
+
+    /**
+     * Derives the plan-wide metrics from the per-district tallies.
+     */
+    private void summarize() {
+        Arrays.fill(this.seats, 0);
+        this.wastedZero = 0;
+        this.wastedOne = 0;
+        this.twoPartyVotes = 0;
+        for (int d = 0; d < this.numberOfDistricts; d++) {
+            include(d);
+        }
+    }
+
+    /**
+     * Determines the favored party of a district from its tally and adds
+     * the district to the plan-wide totals.
+     * @param d the district
+     */
+    private void include(final int d) {
+        int base = d * PARTIES.length;
+        int leader = PartyTally.leader(this.tally, base, PARTIES.length);
+        this.favored[d] = leader;
+        if (leader != NO_PARTY) {
+            this.seats[leader]++;
+        }
+        addVotes(base, 1);
+    }
+
+    /**
+     * Removes a district from the plan-wide totals, as last included.
+     * @param d the district
+     */
+    private void withdraw(final int d) {
+        if (this.favored[d] != NO_PARTY) {
+            this.seats[this.favored[d]]--;
+        }
+        addVotes(d * PARTIES.length, -1);
+    }
+
+    /**
+     * Adds or removes a district's wasted and two-party votes.
+     * @param base the index of the district's first tally entry
+     * @param sign 1 to add the votes, -1 to remove them
+     */
+    private void addVotes(final int base, final int sign) {
+        long a = this.tally[base + ZERO];
+        long b = this.tally[base + ONE];
+        this.wastedZero += sign * PartyTally.doubledWastedVotes(a, b);
+        this.wastedOne += sign * PartyTally.doubledWastedVotes(b, a);
+        this.twoPartyVotes += sign * (a + b);
+    }
+
+    /**
+     * Grows the per-district buffers to hold a number of districts.
+     * @param districts the number of districts
+     */
+    private void ensureCapacity(final int districts) {
+        if (this.area.length < districts) {
+            this.tally = new int[districts * PARTIES.length];
+            this.area = new int[districts];
+            this.perimeter = new int[districts];
+            this.favored = new int[districts];
+            this.shares = new double[districts];
+        }
+    }
+
+    /**
+     * Accesses the number of districts of the plan evaluated.
+     * @return the number of districts
+     */
+    public int numberOfDistricts() {
+        return this.numberOfDistricts;
+    }
+
+    /**
+     * Accesses the district of a location in the plan evaluated.
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return the district number
+     * @throws IndexOutOfBoundsException if (x, y) is outside the region
+     */
+    public int district(final int x, final int y) {
+        if (x < 0 || y < 0 || x >= this.width || y >= this.height) {
+            throw new IndexOutOfBoundsException(
+                    "(" + x + ", " + y + ") outside region");
+        }
+        return this.labels[y * this.width + x];
+    }
+
+    /**
+     * Accesses the number of voters of a party in a district.
+     * @param d the district
+     * @param party the party
+     * @return the number of voters
+     */
+    public int votes(final int d, final Party party) {
+        return this.tally[checked(d) * PARTIES.length + party.ordinal()];
+    }
+
+    /**
+     * Determines the party favored by a district.
+     * @param d the district
+     * @return the party with more voters than any other,
+     *         or null if the leading parties tie
+     */
+    public Party favoredParty(final int d) {
+        int leader = this.favored[checked(d)];
+        return (leader == NO_PARTY) ? null : PARTIES[leader];
+    }
+
+    /**
+     * Accesses the number of districts favoring a party.
+     * @param party the party
+     * @return the number of districts
+     */
+    public int seats(final Party party) {
+        return this.seats[party.ordinal()];
+    }
+
+    /**
+     * Accesses the votes wasted by one of the two major parties.
+     * @param party PARTY0 or PARTY1
+     * @return the number of wasted votes, a multiple of one half
+     * @throws IllegalArgumentException if the party is neither
+     *         PARTY0 nor PARTY1
+     */
+    public double wastedVotes(final Party party) {
+        if (party == Party.PARTY0) {
+            return this.wastedZero / 2.0;
+        }
+        if (party == Party.PARTY1) {
+            return this.wastedOne / 2.0;
+        }
+        throw new IllegalArgumentException(
+                "Wasted votes are defined only for PARTY0 and PARTY1");
+    }
+
+    /**
+     * Computes the efficiency gap.
+     * @return PARTY0's wasted votes less PARTY1's, divided by the
+     *         two-party vote, or 0 if there are no two-party voters
+     */
+    public double efficiencyGap() {
+        if (this.twoPartyVotes == 0) {
+            return 0.0;
+        }
+        return (this.wastedZero - this.wastedOne) / (2.0 * this.twoPartyVotes);
+    }
+
+    /**
+     * Computes the mean-median difference of PARTY0's share of the
+     * two-party vote.  Districts without two-party voters are left out.
+     * Takes time O(k log k) for k districts.
+     * @return the mean share less the median share,
+     *         or 0 if no district has two-party voters
+     */
+    public double meanMedianDifference() {
+        int count = 0;
+        double sum = 0.0;
+        for (int d = 0; d < this.numberOfDistricts; d++) {
+            int base = d * PARTIES.length;
+            int a = this.tally[base + ZERO];
+            int total = a + this.tally[base + ONE];
+            if (total > 0) {
+                double share = (double) a / total;
+                this.shares[count++] = share;
+                sum += share;
+            }
+        }
+        if (count == 0) {
+            return 0.0;
+        }
+        Arrays.sort(this.shares, 0, count);
+        int middle = count / 2;
+        double median = (count % 2 == 1) ? this.shares[middle]
+                : (this.shares[middle - 1] + this.shares[middle]) / 2.0;
+        return sum / count - median;
+    }
+
+    /**
+     * Accesses the number of cells of a district.
+     * @param d the district
+     * @return the area
+     */
+    public int area(final int d) {
+        return this.area[checked(d)];
+    }
+
+    /**
+     * Accesses the number of cell edges on the boundary of a district,
+     * including edges on the boundary of the region.
+     * @param d the district
+     * @return the perimeter
+     */
+    public int perimeter(final int d) {
+        return this.perimeter[checked(d)];
+    }
+
+    /**
+     * Computes the Polsby-Popper compactness of a district.
+     * @param d the district
+     * @return 4&pi; &times; area / perimeter&sup2;, between 0 and 1;
+     *         0 for an empty district
+     */
+    public double polsbyPopper(final int d) {
+        int p = this.perimeter[checked(d)];
+        if (p == 0) {
+            return 0.0;
+        }
+        return 4.0 * Math.PI * this.area[d] / ((double) p * p);
+    }
+
+    /**
+     * Computes the mean Polsby-Popper compactness over districts.
+     * @return the mean compactness, or 0 if there are no districts
+     */
+    public double meanPolsbyPopper() {
+        if (this.numberOfDistricts == 0) {
+            return 0.0;
+        }
+        double sum = 0.0;
+        for (int d = 0; d < this.numberOfDistricts; d++) {
+            sum += polsbyPopper(d);
+        }
+        return sum / this.numberOfDistricts;
+    }
+
+    /**
+     * Verifies a district number.
+     * @param d the district number
+     * @return the district number
+     * @throws IndexOutOfBoundsException if it is not a district
+     *         of the plan evaluated
+     */
+    private int checked(final int d) {
+        if (d < 0 || d >= this.numberOfDistricts) {
+            throw new IndexOutOfBoundsException(
+                    "No district " + d + " among " + this.numberOfDistricts);
+        }
+        return d;
+    }
+}
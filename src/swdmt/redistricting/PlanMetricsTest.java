@@ -0,0 +1,244 @@
+package swdmt.redistricting;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.number.IsCloseTo.closeTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static swdmt.redistricting.GridRegions.P0;
+import static swdmt.redistricting.GridRegions.P1;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+/**
+ * Tests for PlanMetrics.
+ *
+ * @author  agent
+ * @version 20261017
+ */
+public class PlanMetricsTest {
+    /** Tolerance of floating-point comparisons. */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Creates the 5x5 example region of Redistricting.md,
+     * with Party A as PARTY0 and Party B as PARTY1.
+     * @return the region
+     */
+    private static GridRegion specificationRegion() {
+        byte[] parties = new byte[25];
+        Arrays.fill(parties, P1);
+        int[][] partyA = {{0, 0}, {0, 1}, {1, 1}, {1, 2}, {1, 4},
+                          {2, 0}, {3, 2}, {3, 3}, {4, 4}};
+        for (int[] loc : partyA) {
+            parties[loc[0] * 5 + loc[1]] = P0;
+        }
+        return new GridRegion(5, 5, parties);
+    }
+
+    /**
+     * Creates the districts made of the rows of a 5x5 region.
+     * @return the districts, in row order
+     */
+    private static List<District> rows() {
+        List<District> districts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            List<Location> row = new ArrayList<>();
+            for (int j = 0; j < 5; j++) {
+                row.add(Location.of(j, i));
+            }
+            districts.add(new District(row));
+        }
+        return districts;
+    }
+
+    @Test
+    public void specificationExampleTest() {
+        PlanMetrics metrics = new PlanMetrics(specificationRegion());
+        metrics.evaluate(rows());
+        assertThat(metrics.numberOfDistricts(), is(5));
+        assertThat(metrics.favoredParty(1), is(Party.PARTY0));
+        assertThat(metrics.favoredParty(0), is(Party.PARTY1));
+        assertThat(metrics.seats(Party.PARTY0), is(1));
+        assertThat(metrics.seats(Party.PARTY1), is(4));
+        assertThat(metrics.votes(1, Party.PARTY0), is(3));
+        // Wasted: PARTY0 2 + 0.5 + 1 + 2 + 1; PARTY1 0.5 + 2 + 1.5
+        // + 0.5 + 1.5.
+        assertThat(metrics.wastedVotes(Party.PARTY0), is(6.5));
+        assertThat(metrics.wastedVotes(Party.PARTY1), is(6.0));
+        assertThat(metrics.efficiencyGap(), closeTo(0.02, EPSILON));
+        // Shares 0.4, 0.6, 0.2, 0.4, 0.2: mean 0.36, median 0.4.
+        assertThat(metrics.meanMedianDifference(), closeTo(-0.04, EPSILON));
+        assertThat(metrics.area(2), is(5));
+        assertThat(metrics.perimeter(2), is(12));
+        assertThat(metrics.polsbyPopper(2),
+                   closeTo(4 * Math.PI * 5 / 144, EPSILON));
+        assertThat(metrics.meanPolsbyPopper(),
+                   closeTo(4 * Math.PI * 5 / 144, EPSILON));
+    }
+
+    @Test
+    public void tiedDistrictFavorsNoPartyTest() {
+        GridRegion region = new GridRegion(2, 2, new byte[] {P0, P1,
+                                                             P1, P0});
+        PlanMetrics metrics = new PlanMetrics(region);
+        metrics.evaluate(new DistrictPlan(region, 1, new int[4]));
+        assertThat(metrics.favoredParty(0), is(nullValue()));
+        assertThat(metrics.seats(Party.PARTY0), is(0));
+        assertThat(metrics.seats(Party.PARTY1), is(0));
+        assertThat(metrics.perimeter(0), is(8));
+        assertThat(metrics.polsbyPopper(0), closeTo(Math.PI / 4, EPSILON));
+        assertThat(metrics.meanMedianDifference(), is(0.0));
+    }
+
+    @Test
+    public void planMatchesDistrictsTest() {
+        GridRegion region = specificationRegion();
+        PlanMetrics fromPlan = new PlanMetrics(region);
+        PlanMetrics fromDistricts = new PlanMetrics(region);
+        ReComChain chain = new ReComChain(region, 5, 7L);
+        for (int i = 0; i < 50; i++) {
+            chain.step();
+            DistrictPlan plan = chain.plan();
+            fromPlan.evaluate(plan);
+            fromDistricts.evaluate(plan.toDistrictList());
+            int total = 0;
+            for (int d = 0; d < 5; d++) {
+                assertThat(fromPlan.favoredParty(d),
+                           is(fromDistricts.favoredParty(d)));
+                assertThat(fromPlan.perimeter(d),
+                           is(fromDistricts.perimeter(d)));
+                total += fromPlan.area(d);
+            }
+            assertThat(total, is(25));
+            assertThat(fromPlan.efficiencyGap(),
+                       is(fromDistricts.efficiencyGap()));
+            assertThat(fromPlan.seats(Party.PARTY0),
+                       is(PartyOptimizer.seats(plan, Party.PARTY0)));
+        }
+    }
+
+    @Test
+    public void perimeterMatchesBoundaryEdgesTest() {
+        GridRegion region = new GridRegion(6, 4);
+        DistrictPlan plan = ReComChain.initialPlan(region, 5);
+        PlanMetrics metrics = new PlanMetrics(region).evaluate(plan);
+        for (int d = 0; d < 5; d++) {
+            int edges = 0;
+            for (int y = 0; y < 4; y++) {
+                for (int x = 0; x < 6; x++) {
+                    if (plan.district(x, y) != d) {
+                        continue;
+                    }
+                    int[][] neighbors = {{x + 1, y}, {x - 1, y},
+                                         {x, y + 1}, {x, y - 1}};
+                    for (int[] n : neighbors) {
+                        if (n[0] < 0 || n[1] < 0 || n[0] >= 6 || n[1] >= 4
+                            || plan.district(n[0], n[1]) != d) {
+                            edges++;
+                        }
+                    }
+                }
+            }
+            assertThat(metrics.perimeter(d), is(edges));
+        }
+    }
+
+    @Test
+    public void buffersReusedAcrossDistrictCountsTest() {
+        GridRegion region = specificationRegion();
+        PlanMetrics metrics = new PlanMetrics(region);
+        metrics.evaluate(ReComChain.initialPlan(region, 25));
+        assertThat(metrics.seats(Party.PARTY0), is(9));
+        metrics.evaluate(rows());
+        assertThat(metrics.numberOfDistricts(), is(5));
+        assertThat(metrics.seats(Party.PARTY0), is(1));
+        assertThat(metrics.seats(Party.PARTY1), is(4));
+        assertThrows(IndexOutOfBoundsException.class,
+                     () -> metrics.area(5));
+    }
+
+    @Test
+    public void invalidDistrictsTest() {
+        PlanMetrics metrics = new PlanMetrics(new GridRegion(2, 2));
+        List<District> partial = Arrays.asList(new District(Arrays.asList(
+                Location.of(0, 0), Location.of(1, 0))));
+        assertThrows(IllegalArgumentException.class,
+                     () -> metrics.evaluate(partial));
+        List<District> overlapping = new ArrayList<>(partial);
+        overlapping.add(new District(Arrays.asList(
+                Location.of(1, 0), Location.of(0, 1), Location.of(1, 1))));
+        assertThrows(IllegalArgumentException.class,
+                     () -> metrics.evaluate(overlapping));
+        List<District> outside = Arrays.asList(new District(Arrays.asList(
+                Location.of(2, 0))));
+        assertThrows(IllegalArgumentException.class,
+                     () -> metrics.evaluate(outside));
+        assertThrows(IllegalArgumentException.class,
+                     () -> metrics.evaluate(
+                             ReComChain.initialPlan(new GridRegion(3, 2), 2)));
+        assertThrows(IllegalArgumentException.class,
+                     () -> metrics.wastedVotes(Party.THIRDPARTY));
+    }
+
+    @Test
+    public void moveMatchesEvaluationTest() {
+        GridRegion region = new GridRegion(8, 6);
+        PlanMetrics moved = new PlanMetrics(region);
+        moved.evaluate(ReComChain.initialPlan(region, 4));
+        PlanMetrics fresh = new PlanMetrics(region);
+        int[] labels = new int[48];
+        Random random = new Random(11L);
+        for (int i = 0; i < 500; i++) {
+            int x = random.nextInt(8);
+            int y = random.nextInt(6);
+            int to = random.nextInt(4);
+            int from = moved.district(x, y);
+            assertThat(moved.move(x, y, to), is(from));
+            for (int cell = 0; cell < 48; cell++) {
+                labels[cell] = moved.district(cell % 8, cell / 8);
+            }
+            fresh.evaluate(labels, 4);
+            for (int d = 0; d < 4; d++) {
+                assertThat(moved.area(d), is(fresh.area(d)));
+                assertThat(moved.perimeter(d), is(fresh.perimeter(d)));
+                assertThat(moved.votes(d, Party.PARTY0),
+                           is(fresh.votes(d, Party.PARTY0)));
+                assertThat(moved.favoredParty(d), is(fresh.favoredParty(d)));
+            }
+            for (Party p : Party.values()) {
+                assertThat(moved.seats(p), is(fresh.seats(p)));
+            }
+            assertThat(moved.wastedVotes(Party.PARTY0),
+                       is(fresh.wastedVotes(Party.PARTY0)));
+            assertThat(moved.wastedVotes(Party.PARTY1),
+                       is(fresh.wastedVotes(Party.PARTY1)));
+            assertThat(moved.efficiencyGap(), is(fresh.efficiencyGap()));
+            assertThat(moved.meanMedianDifference(),
+                       is(fresh.meanMedianDifference()));
+        }
+    }
+
+    @Test
+    public void moveFlipsSeatTest() {
+        PlanMetrics metrics = new PlanMetrics(specificationRegion());
+        metrics.evaluate(rows());
+        // Moving PARTY0 voter (1, 1) into row 0 leaves both rows tied.
+        assertThat(metrics.move(1, 1, 0), is(1));
+        assertThat(metrics.favoredParty(1), is(nullValue()));
+        assertThat(metrics.favoredParty(0), is(nullValue()));
+        assertThat(metrics.seats(Party.PARTY0), is(0));
+        assertThat(metrics.seats(Party.PARTY1), is(3));
+        assertThat(metrics.area(0), is(6));
+        assertThat(metrics.perimeter(0), is(14));
+        assertThat(metrics.perimeter(1), is(12));
+        assertThat(metrics.move(1, 1, 1), is(0));
+        assertThat(metrics.seats(Party.PARTY0), is(1));
+        assertThat(metrics.perimeter(0), is(12));
+        assertThrows(IndexOutOfBoundsException.class,
+                     () -> metrics.move(5, 0, 0));
+        assertThrows(IndexOutOfBoundsException.class,
+                     () -> metrics.move(0, 0, 5));
+    }
+}
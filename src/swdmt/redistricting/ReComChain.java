@@ -0,0 +1,473 @@
+package swdmt.redistricting;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+/**
+ * A Markov chain over complete, valid partitions of a grid region,
+ * using recombination (ReCom) steps.
+ * Each step chooses two adjacent districts, merges them, draws a random
+ * spanning tree of the merged cells, and cuts one tree edge whose removal
+ * leaves two pieces with the same sizes as the original pair.
+ * If no tree edge splits the pair that way, the chain stays in place.
+ * <p>Because each step preserves the multiset of district sizes and
+ * each piece of a cut tree is connected, every state is contiguous and
+ * its district sizes differ by at most one, provided the initial plan is.
+ * The spanning tree is the minimum spanning tree for independent random
+ * edge weights (Kruskal's algorithm over a random edge order),
+ * as is customary for ReCom.</p>
+ * <p>All randomness comes from the supplied generator, so a chain
+ * started from the same plan with the same seed visits the same states.
+ * Chains are not thread-safe; run independent chains on separate
+ * threads, each with its own generator.</p>
+ *
+ * @author agent
+ * @version 20261017
+ */
+public final class ReComChain {
+    /** X-offsets of the four adjacent neighbors. */
+    private static final int[] NEIGHBOR_DX = {1, -1, 0, 0};
+    /** Y-offsets of the four adjacent neighbors. */
+    private static final int[] NEIGHBOR_DY = {0, 0, 1, -1};
+    /** Number of adjacent neighbors of a cell. */
+    private static final int NEIGHBORS = 4;
+
+    /** The region partitioned. */
+    private final GridRegion region;
+    /** Width of the region. */
+    private final int width;
+    /** Height of the region. */
+    private final int height;
+    /** Number of districts. */
+    private final int numberOfDistricts;
+    /** District number of each cell; the current state. */
+    private final int[] districtOf;
+    /** Source of randomness. */
+    private final SplittableRandom random;
+    /** Adjacent neighbors, NEIGHBORS slots per cell; -1 if off the grid. */
+    private final int[] neighborOf;
+
+    /** Stamps marking cells of the current merged pair. */
+    private final int[] stampOf;
+    /** Index within the merged pair of each stamped cell. */
+    private final int[] localOf;
+    /** Cell of each index within the merged pair. */
+    private final int[] cellOf;
+    /** First endpoint of each edge within the merged pair. */
+    private final int[] edgeFrom;
+    /** Second endpoint of each edge within the merged pair. */
+    private final int[] edgeTo;
+    /** Union-find parent of each index within the merged pair. */
+    private final int[] unionParent;
+    /** Union-find rank of each index within the merged pair. */
+    private final int[] unionRank;
+    /** Spanning tree neighbors, NEIGHBORS slots per index. */
+    private final int[] treeAdjacent;
+    /** Number of spanning tree neighbors of each index. */
+    private final int[] treeDegree;
+    /** Breadth-first order of the spanning tree. */
+    private final int[] order;
+    /** Parent of each index in the rooted spanning tree. */
+    private final int[] treeParent;
+    /** Number of indexes in the subtree rooted at each index. */
+    private final int[] subtreeSize;
+    /** Current stamp. */
+    private int stamp;
+    /** Number of cells in the current merged pair. */
+    private int pairCells;
+    /** Number of edges within the current merged pair. */
+    private int pairEdges;
+    /** Number of cells of the pair's first district. */
+    private int firstSize;
+
+    /** Number of steps taken. */
+    private long steps;
+    /** Number of steps that changed the plan. */
+    private long acceptedSteps;
+
+    /**
+     * Creates a chain over the partitions of a region into the
+     * specified number of districts, starting from the plan
+     * produced by {@link Redistrictor#generateDistricts(Region, int)}.
+     * @param theRegion the region, which must be a fully-populated
+     *        rectangle anchored at (0, 0)
+     * @param districts the number of districts
+     * @param seed the seed of the random number generator
+     * @throws IllegalArgumentException if the region is not a rectangle
+     *         anchored at (0, 0), or the number of districts is less than
+     *         one or more than the number of locations
+     */
+    public ReComChain(final Region theRegion, final int districts,
+                      final long seed) {
+        this(initialPlan(theRegion, districts), new SplittableRandom(seed));
+    }
+
+    /**
+     * Creates a chain starting from the specified plan.
+     * @param initial the initial plan
+     * @param generator the source of randomness, used only by this chain
+     * @throws IllegalArgumentException if the initial plan is not valid
+     */
+    public ReComChain(final DistrictPlan initial,
+                      final SplittableRandom generator) {
+        if (!initial.isValid()) {
+            throw new IllegalArgumentException(
+                    "Initial plan must be contiguous and balanced");
+        }
+        this.region = initial.region();
+        this.width = this.region.width();
+        this.height = this.region.height();
+        this.numberOfDistricts = initial.numberOfDistricts();
+        this.districtOf = initial.labels().clone();
+        this.random = generator;
+        int cells = this.districtOf.length;
+        this.neighborOf = new int[NEIGHBORS * cells];
+        for (int cell = 0; cell < cells; cell++) {
+            for (int dir = 0; dir < NEIGHBORS; dir++) {
+                int x = cell % this.width + NEIGHBOR_DX[dir];
+                int y = cell / this.width + NEIGHBOR_DY[dir];
+                this.neighborOf[NEIGHBORS * cell + dir] =
+                        (x < 0 || y < 0 || x >= this.width || y >= this.height)
+                        ? -1 : y * this.width + x;
+            }
+        }
+        this.stampOf = new int[cells];
+        this.localOf = new int[cells];
+        this.cellOf = new int[cells];
+        this.edgeFrom = new int[2 * cells];
+        this.edgeTo = new int[2 * cells];
+        this.unionParent = new int[cells];
+        this.unionRank = new int[cells];
+        this.treeAdjacent = new int[NEIGHBORS * cells];
+        this.treeDegree = new int[cells];
+        this.order = new int[cells];
+        this.treeParent = new int[cells];
+        this.subtreeSize = new int[cells];
+    }
+
+    /**
+     * Creates the snaking plan of a region.
+     * @param theRegion the region
+     * @param districts the number of districts
+     * @return the plan
+     * @throws IllegalArgumentException if the region is not a rectangle
+     *         anchored at (0, 0), or the number of districts is invalid
+     */
+    static DistrictPlan initialPlan(final Region theRegion,
+                                    final int districts) {
+        if (districts < 1 || districts > theRegion.size()) {
+            throw new IllegalArgumentException(
+                    "Cannot divide " + theRegion.size() + " locations into "
+                    + districts + " districts");
+        }
+        GridRegion grid = GridRegion.of(theRegion);
+        List<District> snake = new ArrayList<>(
+                Redistrictor.generateDistricts(grid, districts));
+        // Number districts by least location so the plan is reproducible.
+        snake.sort(Comparator.comparing(
+                district -> Collections.min(district.locationsView())));
+        return DistrictPlan.of(grid, snake);
+    }
+
+    /**
+     * Accesses the region partitioned by this chain.
+     * @return the region
+     */
+    public GridRegion region() {
+        return this.region;
+    }
+
+    /**
+     * Accesses the number of districts of each plan.
+     * @return the number of districts
+     */
+    public int numberOfDistricts() {
+        return this.numberOfDistricts;
+    }
+
+    /**
+     * Accesses the number of steps taken so far.
+     * @return the number of steps
+     */
+    public long steps() {
+        return this.steps;
+    }
+
+    /**
+     * Accesses the number of steps so far that changed the plan.
+     * @return the number of accepted steps
+     */
+    public long acceptedSteps() {
+        return this.acceptedSteps;
+    }
+
+    /**
+     * Creates a snapshot of the current state.
+     * @return the current plan
+     */
+    public DistrictPlan plan() {
+        return new DistrictPlan(this.region, this.numberOfDistricts,
+                                this.districtOf.clone(), false);
+    }
+
+    /**
+     * Accesses the district number of every cell in the current state,
+     * without copying.  The array changes as the chain steps;
+     * callers must not modify it.
+     * @return the district numbers
+     */
+    int[] labels() {
+        return this.districtOf;
+    }
+
+    /**
+     * Provides the states of this chain as an infinite stream:
+     * the current plan, then the plan after each further step.
+     * Stepping the chain by other means while consuming the stream
+     * affects the plans the stream provides.
+     * @return the stream of plans
+     */
+    public Stream<DistrictPlan> stream() {
+        return stream(1);
+    }
+
+    /**
+     * Provides every so many states of this chain as an infinite stream:
+     * the current plan, then the plan after each further
+     * <code>stepsBetweenPlans</code> steps.
+     * @param stepsBetweenPlans the number of steps between plans
+     * @return the stream of plans
+     * @throws IllegalArgumentException if stepsBetweenPlans is less than 1
+     */
+    public Stream<DistrictPlan> stream(final int stepsBetweenPlans) {
+        if (stepsBetweenPlans < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid steps between plans " + stepsBetweenPlans);
+        }
+        return Stream.iterate(plan(), previous -> {
+            for (int i = 0; i < stepsBetweenPlans; i++) {
+                step();
+            }
+            return plan();
+        });
+    }
+
+    /**
+     * Takes one recombination step.
+     * @return true if the plan changed; false if the chain stayed in place
+     */
+    public boolean step() {
+        this.steps++;
+        if (this.numberOfDistricts < 2) {
+            return false;
+        }
+        int first;
+        int second;
+        int start;
+        do {
+            start = this.random.nextInt(this.districtOf.length);
+            int next = this.neighborOf[NEIGHBORS * start
+                                       + this.random.nextInt(NEIGHBORS)];
+            first = this.districtOf[start];
+            second = (next < 0) ? first : this.districtOf[next];
+        } while (first == second);
+        gatherPair(start, first, second);
+        randomSpanningTree();
+        int cut = chooseCut();
+        if (cut < 0) {
+            return false;
+        }
+        relabel(cut, first, second);
+        this.acceptedSteps++;
+        return true;
+    }
+
+    /**
+     * Advances the stamp marking the current merged pair.  When the stamp
+     * would overflow, every mark is cleared and stamps restart at 1, so
+     * that no stale mark can equal a later stamp.
+     */
+    private void nextStamp() {
+        if (this.stamp == Integer.MAX_VALUE) {
+            Arrays.fill(this.stampOf, 0);
+            this.stamp = 0;
+        }
+        this.stamp++;
+    }
+
+    /**
+     * Finds the cells of two adjacent districts and the grid edges
+     * joining them, assigning each cell an index within the pair.
+     * @param start a cell of the pair
+     * @param first one district of the pair
+     * @param second the other district of the pair
+     */
+    private void gatherPair(final int start, final int first,
+                            final int second) {
+        nextStamp();
+        this.stampOf[start] = this.stamp;
+        this.localOf[start] = 0;
+        this.cellOf[0] = start;
+        int found = 1;
+        int edges = 0;
+        int firstCells = 0;
+        for (int head = 0; head < found; head++) {
+            int cell = this.cellOf[head];
+            if (this.districtOf[cell] == first) {
+                firstCells++;
+            }
+            for (int dir = 0; dir < NEIGHBORS; dir++) {
+                int next = this.neighborOf[NEIGHBORS * cell + dir];
+                if (next < 0) {
+                    continue;
+                }
+                int label = this.districtOf[next];
+                if (label != first && label != second) {
+                    continue;
+                }
+                if (this.stampOf[next] != this.stamp) {
+                    this.stampOf[next] = this.stamp;
+                    this.localOf[next] = found;
+                    this.cellOf[found] = next;
+                    found++;
+                }
+                if (next > cell) {
+                    this.edgeFrom[edges] = head;
+                    this.edgeTo[edges] = this.localOf[next];
+                    edges++;
+                }
+            }
+        }
+        this.pairCells = found;
+        this.pairEdges = edges;
+        this.firstSize = firstCells;
+    }
+
+    /**
+     * Draws a random spanning tree of the pair gathered by
+     * {@link #gatherPair(int, int, int)} and roots it at index 0,
+     * recording the breadth-first order, parents, and subtree sizes.
+     */
+    private void randomSpanningTree() {
+        int cells = this.pairCells;
+        int edges = this.pairEdges;
+        for (int i = 0; i < cells; i++) {
+            this.unionParent[i] = i;
+            this.unionRank[i] = 0;
+            this.treeDegree[i] = 0;
+        }
+        int joined = 0;
+        for (int i = 0; i < edges && joined < cells - 1; i++) {
+            int pick = i + this.random.nextInt(edges - i);
+            int from = this.edgeFrom[pick];
+            int to = this.edgeTo[pick];
+            this.edgeFrom[pick] = this.edgeFrom[i];
+            this.edgeTo[pick] = this.edgeTo[i];
+            int rootFrom = find(from);
+            int rootTo = find(to);
+            if (rootFrom == rootTo) {
+                continue;
+            }
+            if (this.unionRank[rootFrom] < this.unionRank[rootTo]) {
+                this.unionParent[rootFrom] = rootTo;
+            } else {
+                this.unionParent[rootTo] = rootFrom;
+                if (this.unionRank[rootFrom] == this.unionRank[rootTo]) {
+                    this.unionRank[rootFrom]++;
+                }
+            }
+            this.treeAdjacent[NEIGHBORS * from + this.treeDegree[from]++] = to;
+            this.treeAdjacent[NEIGHBORS * to + this.treeDegree[to]++] = from;
+            joined++;
+        }
+        this.order[0] = 0;
+        this.treeParent[0] = -1;
+        int tail = 1;
+        for (int head = 0; head < tail; head++) {
+            int node = this.order[head];
+            for (int j = 0; j < this.treeDegree[node]; j++) {
+                int child = this.treeAdjacent[NEIGHBORS * node + j];
+                if (child != this.treeParent[node]) {
+                    this.treeParent[child] = node;
+                    this.order[tail++] = child;
+                }
+            }
+        }
+        for (int i = cells - 1; i >= 0; i--) {
+            int node = this.order[i];
+            this.subtreeSize[node] = 1;
+            for (int j = 0; j < this.treeDegree[node]; j++) {
+                int child = this.treeAdjacent[NEIGHBORS * node + j];
+                if (child != this.treeParent[node]) {
+                    this.subtreeSize[node] += this.subtreeSize[child];
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the union-find root of an index, halving paths as it goes.
+     * @param index the index
+     * @return the root of its set
+     */
+    private int find(final int index) {
+        int node = index;
+        while (this.unionParent[node] != node) {
+            this.unionParent[node] = this.unionParent[this.unionParent[node]];
+            node = this.unionParent[node];
+        }
+        return node;
+    }
+
+    /**
+     * Chooses uniformly among the tree edges whose removal splits the
+     * pair into pieces the sizes of the two original districts.
+     * An edge is identified by its child endpoint.
+     * @return the child endpoint of the chosen edge, or -1 if none splits
+     */
+    private int chooseCut() {
+        int secondSize = this.pairCells - this.firstSize;
+        int chosen = -1;
+        int candidates = 0;
+        for (int node = 1; node < this.pairCells; node++) {
+            int size = this.subtreeSize[node];
+            if (size == this.firstSize || size == secondSize) {
+                candidates++;
+                if (this.random.nextInt(candidates) == 0) {
+                    chosen = node;
+                }
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * Assigns the pair's cells to the two districts according to the cut:
+     * the subtree below the cut becomes the district of its size.
+     * @param cut the child endpoint of the cut edge
+     * @param first one district of the pair
+     * @param second the other district of the pair
+     */
+    private void relabel(final int cut, final int first, final int second) {
+        int below = (this.subtreeSize[cut] == this.firstSize) ? first : second;
+        int above = (below == first) ? second : first;
+        for (int i = 0; i < this.pairCells; i++) {
+            this.districtOf[this.cellOf[i]] = above;
+        }
+        this.order[0] = cut;
+        int tail = 1;
+        for (int head = 0; head < tail; head++) {
+            int node = this.order[head];
+            this.districtOf[this.cellOf[node]] = below;
+            for (int j = 0; j < this.treeDegree[node]; j++) {
+                int child = this.treeAdjacent[NEIGHBORS * node + j];
+                if (child != this.treeParent[node]) {
+                    this.order[tail++] = child;
+                }
+            }
+        }
+    }
+}
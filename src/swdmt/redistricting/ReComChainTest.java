@@ -0,0 +1,93 @@
+package swdmt.redistricting;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+/**
+ * Tests for ReComChain.
+ *
+ * @author  agent
+ * @version 20261017
+ */
+public class ReComChainTest {
+    @Test
+    public void everyStateValidTest() {
+        // 100 locations into 7 districts: sizes 14 and 15.
+        ReComChain chain = new ReComChain(new GridRegion(10, 10), 7, 1L);
+        for (int i = 0; i < 500; i++) {
+            chain.step();
+            DistrictPlan plan = chain.plan();
+            assertTrue(plan.isValid());
+            assertThat(plan.numberOfDistricts(), is(7));
+        }
+        assertThat(chain.steps(), is(500L));
+        assertTrue(chain.acceptedSteps() > 0);
+    }
+
+    @Test
+    public void sameSeedSameStatesTest() {
+        List<DistrictPlan> first = new ReComChain(new GridRegion(8, 6), 4, 42L)
+                .stream().limit(50).collect(Collectors.toList());
+        List<DistrictPlan> second = new ReComChain(new GridRegion(8, 6), 4, 42L)
+                .stream().limit(50).collect(Collectors.toList());
+        assertThat(first, is(second));
+        List<DistrictPlan> other = new ReComChain(new GridRegion(8, 6), 4, 43L)
+                .stream().limit(50).collect(Collectors.toList());
+        assertFalse(first.equals(other));
+    }
+
+    @Test
+    public void streamStartsWithCurrentPlanTest() {
+        ReComChain chain = new ReComChain(new GridRegion(6, 6), 3, 7L);
+        DistrictPlan initial = chain.plan();
+        List<DistrictPlan> plans = chain.stream(10).limit(3)
+                                        .collect(Collectors.toList());
+        assertThat(plans.get(0), is(initial));
+        assertThat(chain.steps(), is(20L));
+        assertThrows(IllegalArgumentException.class, () -> chain.stream(0));
+    }
+
+    @Test
+    public void chainMovesTest() {
+        ReComChain chain = new ReComChain(new GridRegion(6, 6), 4, 3L);
+        DistrictPlan initial = chain.plan();
+        for (int i = 0; i < 100; i++) {
+            chain.step();
+        }
+        assertFalse(chain.plan().equals(initial));
+    }
+
+    @Test
+    public void singleDistrictStaysTest() {
+        ReComChain chain = new ReComChain(new GridRegion(3, 3), 1, 0L);
+        assertFalse(chain.step());
+        assertThat(chain.plan().districtSizes()[0], is(9));
+    }
+
+    @Test
+    public void invalidArgumentsTest() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new ReComChain(new GridRegion(3, 3), 0, 0L));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new ReComChain(new GridRegion(3, 3), 10, 0L));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new ReComChain(new Region(5), 2, 0L));
+        DistrictPlan broken = new DistrictPlan(new GridRegion(3, 1), 2,
+                                               new int[] {0, 1, 0});
+        assertThrows(IllegalArgumentException.class,
+                     () -> new ReComChain(broken, new SplittableRandom(0L)));
+    }
+
+    @Test
+    public void acceptsRegionTest() {
+        ReComChain chain = new ReComChain(new Region(16), 4, 5L);
+        assertThat(chain.region().width(), is(4));
+        chain.step();
+        assertTrue(chain.plan().isValid());
+    }
+}
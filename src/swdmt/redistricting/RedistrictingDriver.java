@@ -8,6 +8,7 @@ import javax.swing.JOptionPane;
  * I/O driver for Redistricting application.
  *
  * @author Dr. Jody Paul
+ * @author agent
  * @version 20191130
  */
 public final class RedistrictingDriver {
@@ -63,6 +64,7 @@ public final class RedistrictingDriver {
         Set<District> districts
                 = Redistrictor.generateDistricts(region, numDistricts);
         System.out.println("Created set of districts " + districts);
+        System.out.println(Renderer.renderDistrictsAsASCII(region, districts));
     }
 
     /**
@@ -5,6 +5,10 @@ import java.util.List;
 import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 /**
  * A redistrictor attempts to determine a set of districts
  * for a given region under specified constraints.
@@ -18,12 +22,18 @@ import java.util.Iterator;
  * Most functionality is available via utility methods.
  *
  * @author Dr. Jody Paul
- * @version 20191201
+ * @author agent
+ * @version 20261017
  */
 public final class Redistrictor implements java.io.Serializable {
     /** Serialization version requirement. */
     private static final long serialVersionUID = 3L;
 
+    /** Default iteration budget of party optimization. */
+    private static final long OPTIMIZE_ITERATIONS = 2_000_000L;
+    /** Default time budget of party optimization, in milliseconds. */
+    private static final long OPTIMIZE_MILLIS = 2_000L;
+
     /** Region associated with this redistrictor. */
     private Region region;
 
@@ -65,16 +75,12 @@ public final class Redistrictor implements java.io.Serializable {
         List<List<Location>> districtLocs = new ArrayList<List<Location>>();
         int numberOfDistricts = (numDistricts < 1) ? 1 : numDistricts;
         int minimumNumberOfVotersPerDistrict
-                = theRegion.numberOfVoters() / numDistricts;
+                = theRegion.numberOfVoters() / numberOfDistricts;
         int numberOfAugmentedDistricts
-                = theRegion.numberOfVoters() % numDistricts;
-        Iterator<Location> locit = theRegion.locations().iterator();
+                = theRegion.numberOfVoters() % numberOfDistricts;
 
-        Location[] snakingLocations =
-          new Location[theRegion.locations().size()];
-        for (int i = 0; i < theRegion.locations().size(); i++) {
-          snakingLocations[i] = locit.next();
-        }
+        Location[] snakingLocations = theRegion.locationsView()
+                .toArray(new Location[theRegion.size()]);
 
         Arrays.sort(snakingLocations, new SnakingLocationComparer());
 
@@ -109,6 +115,8 @@ public final class Redistrictor implements java.io.Serializable {
      * then a single district is returned.
      * Otherwise, a set is created that contains all 
      * districts of the specified size.
+     * A GridRegion is enumerated over its own width and height;
+     * any other region is taken to be a square of its side size.
      * @param theRegion the region
      * @param districtSize the size of the districts
      * @return a set of all districts of the specified size
@@ -119,18 +127,17 @@ public final class Redistrictor implements java.io.Serializable {
         Set<District> districts = new HashSet<District>();
         if (districtSize > 0 && theRegion.size() > 0) {
             if (theRegion.size() <= districtSize) {
-                districts.add(new District(theRegion.locations()));
+                districts.add(new District(theRegion.locationsView()));
             } else if (districtSize == 1) {
-                for (Location loc : theRegion.locations()) {
+                for (Location loc : theRegion.locationsView()) {
                     List<Location> locList = new ArrayList<Location>(1);
                     locList.add(loc);
                     districts.add(new District(locList));
                 }
             } else {
-              int size = theRegion.sideSize();
               ArrayList<District> allDistricts =
-                AllDistrictGen.generateDistricts(size,
-                                                 size,
+                AllDistrictGen.generateDistricts(gridWidth(theRegion),
+                                                 gridHeight(theRegion),
                                                  districtSize);
               for (District d : allDistricts) {
                 districts.add(d);
@@ -140,16 +147,120 @@ public final class Redistrictor implements java.io.Serializable {
         return districts;
     }
 
+    /**
+     * Accesses the number of columns over which to enumerate districts.
+     * @param theRegion the region
+     * @return the width of a grid region; otherwise the side size
+     */
+    private static int gridWidth(final Region theRegion) {
+        if (theRegion instanceof GridRegion) {
+            return ((GridRegion) theRegion).width();
+        }
+        return theRegion.sideSize();
+    }
+
+    /**
+     * Accesses the number of rows over which to enumerate districts.
+     * @param theRegion the region
+     * @return the height of a grid region; otherwise the side size
+     */
+    private static int gridHeight(final Region theRegion) {
+        if (theRegion instanceof GridRegion) {
+            return ((GridRegion) theRegion).height();
+        }
+        return theRegion.sideSize();
+    }
+
     /**
      * Utility: Iterator over all districts of the specified size
      * for a given region.
+     * Districts are generated on demand rather than collected
+     * up front, so memory use stays bounded and iteration may
+     * be abandoned early at no further cost.
      * @param theRegion the region
      * @param districtSize the size of the districts
-     * @return a set of all districts of the specified size
+     * @return an iterator over all districts of the specified size
      */
     public static Iterator<District> allDistrictsOfSpecificSizeIterator(
                                     final Region theRegion,
                                     final int districtSize) {
+        if (districtSize > 1 && theRegion.size() > districtSize) {
+            return AllDistrictGen.districtIterator(gridWidth(theRegion),
+                                                   gridHeight(theRegion),
+                                                   districtSize);
+        }
         return allDistrictsOfSpecificSize(theRegion, districtSize).iterator();
     }
+
+    /**
+     * Utility: Stream of all districts of the specified size
+     * for a given region.
+     * The stream is lazy; short-circuiting operations such as
+     * <code>filter(...).findFirst()</code> generate only as many
+     * districts as they examine.
+     * @param theRegion the region
+     * @param districtSize the size of the districts
+     * @return a sequential stream of all districts of the specified size
+     */
+    public static Stream<District> allDistrictsOfSpecificSizeStream(
+                                    final Region theRegion,
+                                    final int districtSize) {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(
+                        allDistrictsOfSpecificSizeIterator(theRegion,
+                                                           districtSize),
+                        Spliterator.DISTINCT | Spliterator.NONNULL),
+                false);
+    }
+
+    /**
+     * Utility: Searches for districts favoring a party;
+     * implements the Party Preference Parameter.
+     * Maximizes the number of districts in which the party has more
+     * voters than any other party, using simulated annealing with a
+     * default budget and seed.
+     * @param theRegion the region to be redistricted, which must be a
+     *        fully-populated rectangle anchored at (0, 0)
+     * @param numDistricts the number of districts for the region
+     * @param favored the party to favor
+     * @return contiguous districts differing in size by at most one
+     * @throws IllegalArgumentException if the region is not a rectangle
+     *         anchored at (0, 0), or the number of districts is less than
+     *         one or more than the number of locations
+     * @see PartyOptimizer
+     */
+    public static Set<District> optimizeForParty(final Region theRegion,
+                                                 final int numDistricts,
+                                                 final Party favored) {
+        return optimizeForParty(theRegion, numDistricts, favored,
+                                OPTIMIZE_ITERATIONS, OPTIMIZE_MILLIS, 0L);
+    }
+
+    /**
+     * Utility: Searches for districts favoring a party within a budget.
+     * The search stops after the given number of iterations or
+     * the given time, whichever comes first.
+     * @param theRegion the region to be redistricted, which must be a
+     *        fully-populated rectangle anchored at (0, 0)
+     * @param numDistricts the number of districts for the region
+     * @param favored the party to favor
+     * @param maxIterations the largest number of moves to attempt
+     * @param maxMillis the longest time to search, in milliseconds
+     * @param seed the seed of the random number generator
+     * @return contiguous districts differing in size by at most one
+     * @throws IllegalArgumentException if the region is not a rectangle
+     *         anchored at (0, 0), the number of districts is less than
+     *         one or more than the number of locations,
+     *         or a budget is negative
+     * @see PartyOptimizer
+     */
+    public static Set<District> optimizeForParty(final Region theRegion,
+                                                 final int numDistricts,
+                                                 final Party favored,
+                                                 final long maxIterations,
+                                                 final long maxMillis,
+                                                 final long seed) {
+        return new PartyOptimizer(theRegion, numDistricts, favored, seed)
+                .optimize(maxIterations, maxMillis).toDistricts();
+    }
 }
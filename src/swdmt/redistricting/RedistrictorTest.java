@@ -4,15 +4,22 @@ import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.AnyOf.anyOf;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static java.time.Duration.ofMillis;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.Set;
 /**
  * Tests for redistrictor.
  *
  * @author  Dr. Jody Paul
- * @version 20191006
+ * @author  agent
+ * @version 20261017
  */
 public class RedistrictorTest {
     /**
@@ -193,6 +200,10 @@ public class RedistrictorTest {
         assertThat(Redistrictor.allDistrictsOfSpecificSize(region, 9).size(), is(1));
     }
 
+    /**
+     * Checks the number of placements of every fixed polyomino
+     * of the specified size, including branched shapes.
+     */
     @Test
     public void allDistrictsOfSpecificSizeTest() {
         Region region;
@@ -203,16 +214,16 @@ public class RedistrictorTest {
         region = new Region(9);
         assertThat(Redistrictor.allDistrictsOfSpecificSize(region, 2).size(), is(12));
         assertThat(Redistrictor.allDistrictsOfSpecificSize(region, 3).size(), is(22));
-        assertThat(Redistrictor.allDistrictsOfSpecificSize(region, 4).size(), is(28));
-        assertThat(Redistrictor.allDistrictsOfSpecificSize(region, 8).size(), is(5));
+        assertThat(Redistrictor.allDistrictsOfSpecificSize(region, 4).size(), is(36));
+        assertThat(Redistrictor.allDistrictsOfSpecificSize(region, 8).size(), is(9));
         region = new Region(16);
         assertThat(Redistrictor.allDistrictsOfSpecificSize(region, 2).size(), is(24));
         assertThat(Redistrictor.allDistrictsOfSpecificSize(region, 3).size(), is(52));
-        assertThat(Redistrictor.allDistrictsOfSpecificSize(region, 4).size(), is(89));
+        assertThat(Redistrictor.allDistrictsOfSpecificSize(region, 4).size(), is(113));
         region = new Region(25);
         assertThat(Redistrictor.allDistrictsOfSpecificSize(region, 2).size(), is(40));
         assertThat(Redistrictor.allDistrictsOfSpecificSize(region, 3).size(), is(94));
-        assertThat(Redistrictor.allDistrictsOfSpecificSize(region, 4).size(), is(180));
+        assertThat(Redistrictor.allDistrictsOfSpecificSize(region, 4).size(), is(228));
         region = new Region(64);
         assertThat(Redistrictor.allDistrictsOfSpecificSize(region, 2).size(), is(112));
     }
@@ -265,5 +276,105 @@ public class RedistrictorTest {
             assertTrue(d.contiguityValid(), "Contiguity error for district " + d);
         }
     }
-}
 
+    /**
+     * Checks that the lazy iterator yields exactly the districts
+     * collected by allDistrictsOfSpecificSize.
+     */
+    @Test
+    public void allDistrictsOfSpecificSizeIteratorMatchesSetTest() {
+        int[][] cases = {{0, 1}, {1, 2}, {4, 1}, {4, 2}, {9, 4}, {9, 8},
+                         {9, 9}, {16, 5}, {25, 4}};
+        for (int[] c : cases) {
+            Region region = new Region(c[0]);
+            Set<Set<Location>> expected = new HashSet<>();
+            for (District d : Redistrictor.allDistrictsOfSpecificSize(region, c[1])) {
+                expected.add(new HashSet<>(d.locations()));
+            }
+            Set<Set<Location>> actual = new HashSet<>();
+            int count = 0;
+            Iterator<District> it =
+                    Redistrictor.allDistrictsOfSpecificSizeIterator(region, c[1]);
+            while (it.hasNext()) {
+                actual.add(new HashSet<>(it.next().locations()));
+                count++;
+            }
+            assertThat("Region " + c[0] + ", size " + c[1], count, is(expected.size()));
+            assertThat(actual, is(expected));
+            assertThrows(NoSuchElementException.class, it::next);
+        }
+    }
+
+    @Test
+    public void allDistrictsOfSpecificSizeStreamCountTest() {
+        Region region = new Region(16);
+        assertThat(Redistrictor.allDistrictsOfSpecificSizeStream(region, 4).count(),
+                   is(113L));
+        assertThat(Redistrictor.allDistrictsOfSpecificSizeStream(region, 0).count(),
+                   is(0L));
+    }
+
+    /**
+     * Checks that a short-circuiting stream operation completes
+     * without enumerating every district of a large region.
+     */
+    @Test
+    public void allDistrictsOfSpecificSizeStreamShortCircuitTest() {
+        Region region = new Region(2500);
+        Location target = new Location(0, 5);
+        assertTimeout(ofMillis(5000L), () -> {
+            Optional<District> found = Redistrictor
+                    .allDistrictsOfSpecificSizeStream(region, 9)
+                    .filter(d -> d.locations().contains(target))
+                    .findFirst();
+            assertTrue(found.isPresent());
+            assertThat(found.get().size(), is(9));
+            assertTrue(found.get().contiguityValid());
+        });
+    }
+
+    /**
+     * Checks that optimizing for a minority party yields valid districts
+     * favoring it more often than the snaking districts do.
+     */
+    @Test
+    public void optimizeForPartyTest() {
+        // PARTY0 holds the left 4 of 10 columns: 40% of the voters.
+        byte[] parties = new byte[100];
+        for (int i = 0; i < parties.length; i++) {
+            parties[i] = (byte) ((i % 10 < 4) ? Party.PARTY0.ordinal()
+                                              : Party.PARTY1.ordinal());
+        }
+        GridRegion region = new GridRegion(10, 10, parties);
+        DistrictPlan snake = DistrictPlan.of(region,
+                Redistrictor.generateDistricts(region, 5));
+        assertThat(PartyOptimizer.seats(snake, Party.PARTY0), is(2));
+        Set<District> districts = Redistrictor.optimizeForParty(
+                region, 5, Party.PARTY0, 200_000L, 10_000L, 1L);
+        assertThat(districts.size(), is(5));
+        DistrictPlan plan = DistrictPlan.of(region, districts);
+        assertTrue(plan.isValid());
+        assertTrue(PartyOptimizer.seats(plan, Party.PARTY0) > 2);
+    }
+
+    /**
+     * Checks that districts of a grid region are enumerated over its
+     * own width and height.
+     */
+    @Test
+    public void allDistrictsOfSpecificSizeOblongTest() {
+        // Dominoes in a 3x2 grid: 2 per row and 3 per column.
+        GridRegion region = new GridRegion(3, 2);
+        Set<District> districts =
+                Redistrictor.allDistrictsOfSpecificSize(region, 2);
+        assertThat(districts.size(), is(7));
+        for (District d : districts) {
+            for (Location loc : d.locations()) {
+                assertTrue(region.locations().contains(loc));
+            }
+        }
+        long streamed = Redistrictor
+                .allDistrictsOfSpecificSizeStream(region, 2).count();
+        assertThat(streamed, is(7L));
+    }
+}
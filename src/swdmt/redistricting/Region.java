@@ -5,6 +5,7 @@ import java.util.Set;
 import java.util.HashSet;
 import java.util.TreeSet;
 import java.util.Collection;
+import java.util.Collections;
 /**
  * A region represents a politically-defined area comprised
  * of locations and voters that occupy those locations.
@@ -14,7 +15,8 @@ import java.util.Collection;
  * Zero or more voters may be associated with each location.
  *
  * @author Dr. Jody Paul
- * @version 20191128
+ * @author agent
+ * @version 20261017
  */
 public class Region implements java.io.Serializable {
     /** Serialization version requirement. */
@@ -29,12 +31,15 @@ public class Region implements java.io.Serializable {
     /** The association of locations with voters. */
     private Map<Location, Voter> voterMap = new HashMap<>();
 
+    /** Unmodifiable view of the locations; created on first use. */
+    private transient Set<Location> locationView;
+
     /**
      * Computes a default length of the side of the grid containing this region.
      * @return the length of a side
      */
     public int sideSize() {
-        int numberOfLocations = locations.size();
+        int numberOfLocations = size();
         int sideSize = (int) Math.round(Math.sqrt(numberOfLocations));
         return sideSize;
     }
@@ -125,6 +130,20 @@ public class Region implements java.io.Serializable {
         return new TreeSet<Location>(this.locations);
     }
 
+    /**
+     * Accesses the locations in this region without copying them.
+     * The view is unmodifiable, reflects the region's own ordering of
+     * locations, and is the same object on every call.
+     * Use {@link #size()} when only the number of locations is needed.
+     * @return an unmodifiable view of the locations
+     */
+    public Collection<Location> locationsView() {
+        if (this.locationView == null) {
+            this.locationView = Collections.unmodifiableSet(this.locations);
+        }
+        return this.locationView;
+    }
+
     /**
      * Accesses the number of voters in this region.
      * @return the number of voters
@@ -2,6 +2,7 @@ package swdmt.redistricting;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTimeout;
 import static java.time.Duration.ofMillis;
 import org.junit.jupiter.api.AfterEach;
@@ -13,6 +14,7 @@ import java.util.HashSet;
  * Tests for class Region.
  *
  * @author  Dr. Jody Paul
+ * @author  agent
  * @version 20211130
  */
 public class RegionTest {
@@ -192,4 +194,21 @@ public class RegionTest {
             assertThat("Region with no voters in the location set test failed; given Location set size 1 and Voter set size 1 produced wrong number of voters in the region.", region.numberOfVoters(), is(0));
         });
     }
+
+    /**
+    * Test case for the read-only view of locations.
+    * The view matches the copied locations, cannot be modified,
+    * and is not copied on each access.
+    */
+    @Test
+    public void locationsViewTest() {
+        Region region = new Region(9);
+        assertThat(region.locationsView(), is(region.locations()));
+        assertThat(region.locationsView().size(), is(region.size()));
+        assertSame(region.locationsView(), region.locationsView());
+        assertThrows(UnsupportedOperationException.class, () -> {
+            region.locationsView().add(new Location(5, 5));
+        });
+        assertThat(region.size(), is(9));
+    }
 }
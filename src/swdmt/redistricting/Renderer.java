@@ -1,7 +1,10 @@
 package swdmt.redistricting;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Map;
-import java.util.TreeMap;
 /**
  * Utility class for rendering regions and districts.
  * <p>Basic versions use ASCII text graphics.</p>
@@ -11,7 +14,8 @@ import java.util.TreeMap;
  * is shown using '*'.</p>
  *
  * @author Dr. Jody Paul
- * @version 20191128.1
+ * @author agent
+ * @version 20261017
  */
 public final class Renderer {
     /** Render of unknown cell content. */
@@ -26,6 +30,48 @@ public final class Renderer {
     private static final String CELL_EMPTY_MIDDLE = "   |";
     /** Render of the middle of a cell with an associated resident. */
     private static final String CELL_ANY_MIDDLE = " " + ANY + " |";
+    /** Distance of the content of a cell from the end of its middle. */
+    private static final int CELL_CONTENT_FROM_END = 3;
+    /** Index entry of a cell outside the region. */
+    private static final byte CELL_OUTSIDE = 0;
+    /** Index entry of a location without a known affiliation. */
+    private static final byte CELL_LOCATION = 1;
+    /** Index entry of the first party; later parties follow by ordinal. */
+    private static final byte CELL_PARTY = 2;
+    /** The known parties, indexed by ordinal. */
+    private static final Party[] PARTIES = Party.values();
+    /** Render of a horizontal edge within a district. */
+    private static final char THIN_HORIZONTAL = '-';
+    /** Render of a horizontal edge between districts. */
+    private static final char THICK_HORIZONTAL = '=';
+    /** Render of a vertical edge between districts. */
+    private static final char THICK_VERTICAL = '#';
+    /** Widest district label that fits in a cell. */
+    private static final int LABEL_WIDTH = 3;
+    /** Index entry of a location in no district. */
+    private static final int NO_DISTRICT = -1;
+    /** Index entry of a cell outside the region. */
+    private static final int OUTSIDE_REGION = -2;
+    /** ANSI escapes selecting the background colors of districts. */
+    private static final String[] ANSI_BACKGROUND = {
+        "\u001B[41m", "\u001B[42m", "\u001B[43m",
+        "\u001B[44m", "\u001B[45m", "\u001B[46m"
+    };
+    /** ANSI escape restoring the default colors. */
+    private static final String ANSI_RESET = "\u001B[0m";
+    /** Most characters the ANSI escapes add to a cell. */
+    private static final int ANSI_OVERHEAD =
+            ANSI_BACKGROUND[0].length() + ANSI_RESET.length();
+    /** Position of the least x-coordinate among bounds. */
+    private static final int BOUNDS_MIN_X = 0;
+    /** Position of the least y-coordinate among bounds. */
+    private static final int BOUNDS_MIN_Y = 1;
+    /** Position of the width among bounds. */
+    private static final int BOUNDS_WIDTH = 2;
+    /** Position of the height among bounds. */
+    private static final int BOUNDS_HEIGHT = 3;
+    /** Number of bounds. */
+    private static final int BOUNDS_LENGTH = 4;
 
     /**
      * Hide the constructor of this utility class.
@@ -40,86 +86,458 @@ public final class Renderer {
      * @param region the region to be rendered
      * @return the rendering of the given region
      * @TODO render non-rectangular regions
+     * @see #renderAsASCII(Appendable, boolean, Region)
      */
     public static String renderAsASCII(final boolean showAffiliation,
                                        final Region region) {
-        String rendering = "";
-        // Return immediately if region is null or has no locations.
+        StringBuilder rendering = new StringBuilder();
+        try {
+            renderAsASCII(rendering, showAffiliation, region);
+        } catch (IOException e) {
+            // A StringBuilder does not throw IOException.
+            throw new UncheckedIOException(e);
+        }
+        return rendering.toString();
+    }
+
+    /**
+     * Renders a region as ASCII graphics, writing directly to the given
+     * destination one row at a time.
+     * The rendering is the same as that of
+     * {@link #renderAsASCII(boolean, Region)}, covering the rectangle
+     * that bounds the region's locations.
+     * <p>Time is linear in the number of cells rendered.  A
+     * {@link GridRegion} is read in place, so the only extra memory is
+     * one row of output; other regions are first indexed at one byte per
+     * cell.</p>
+     * @param out the destination of the rendering
+     * @param showAffiliation true to show party affiliation; false otherwise
+     * @param region the region to be rendered; nothing is written if it
+     *        is null or has no locations
+     * @throws IOException if the destination throws IOException
+     */
+    public static void renderAsASCII(final Appendable out,
+                                     final boolean showAffiliation,
+                                     final Region region)
+            throws IOException {
         if (region == null || region.size() < 1) {
-            return rendering;
-        }
-
-        // Determine locations at x-coordinate and y-coordinate boundaries.
-        Collection<Location> locs = region.locations();
-        Location locWithMinimumX = locs
-                .stream()
-                .min((loc1, loc2) -> Integer.compare(loc1.xCoordinate(),
-                                                     loc2.xCoordinate()))
-                .orElse(null);
-        Location locWithMinimumY = locs
-                .stream()
-                .min((loc1, loc2) -> Integer.compare(loc1.yCoordinate(),
-                                                     loc2.yCoordinate()))
-                .orElse(null);
-        Location locWithMaximumX = locs
-                .stream()
-                .max((loc1, loc2) -> Integer.compare(loc1.xCoordinate(),
-                                                     loc2.xCoordinate()))
-                .orElse(null);
-        Location locWithMaximumY = locs
-                .stream()
-                .max((loc1, loc2) -> Integer.compare(loc1.yCoordinate(),
-                                                     loc2.yCoordinate()))
-                .orElse(null);
-
-        // Construct location:voter mapping.
-        Map<Location, Voter> voterMap = new TreeMap<>();
-        for (Voter vot : region.voters()) {
-            voterMap.put(vot.location(), vot);
-        }
-
-        int numRows = 1 + locWithMaximumY.yCoordinate()
-                        - locWithMinimumY.yCoordinate();
-        int numCols = 1 + locWithMaximumX.xCoordinate()
-                        - locWithMinimumX.xCoordinate();
+            return;
+        }
+        GridRegion grid = (region instanceof GridRegion)
+                          ? (GridRegion) region : null;
+        int[] bounds = bounds(region);
+        int numCols = bounds[BOUNDS_WIDTH];
+        int numRows = bounds[BOUNDS_HEIGHT];
+        byte[] cells = null;
+        if (grid == null) {
+            cells = denseIndex(region, showAffiliation, bounds[BOUNDS_MIN_X],
+                               bounds[BOUNDS_MIN_Y], numCols, numRows);
+        }
 
         // Render a row border.
-        String horizontalBorder = CORNER;
-        for (int i = 0; i < numCols; i++) {
-            horizontalBorder += CELL_BORDER;
+        char[] border = new char[CORNER.length()
+                                 + numCols * CELL_BORDER.length() + 1];
+        int length = copy(CORNER, border, 0);
+        for (int c = 0; c < numCols; c++) {
+            length = copy(CELL_BORDER, border, length);
         }
-        horizontalBorder += "\n";
+        border[length++] = '\n';
 
-        // Render the region.
-        rendering = horizontalBorder;
+        // Render the region, reusing one buffer for every row.
+        char[] row = new char[EDGE.length()
+                              + numCols * CELL_ANY_MIDDLE.length() + 1];
+        write(out, border, length);
         for (int r = 0; r < numRows; r++) {
-            String rowMiddle = EDGE;
+            int at = copy(EDGE, row, 0);
             for (int c = 0; c < numCols; c++) {
-                Location currentLoc = new Location(c, r);
-                if (locs.contains(currentLoc)) {
-                    if (showAffiliation) {
-                        if (voterMap.keySet().contains(currentLoc)) {
-                            rowMiddle += CELL_ANY_MIDDLE
-                                         .replace('*',
-                                                  voterMap
-                                                  .get(currentLoc)
-                                                  .affiliation()
-                                                  .id());
-                        } else {
-                            rowMiddle += CELL_ANY_MIDDLE;
-                        }
-                    } else {
-                        rowMiddle += CELL_ANY_MIDDLE;
-                    }
+                char content;
+                if (grid != null) {
+                    content = showAffiliation ? grid.party(c, r).id()
+                                              : ANY.charAt(0);
                 } else {
-                    rowMiddle += CELL_EMPTY_MIDDLE;
+                    content = contentOf(cells[r * numCols + c]);
+                }
+                if (content == ' ') {
+                    at = copy(CELL_EMPTY_MIDDLE, row, at);
+                } else {
+                    at = copy(CELL_ANY_MIDDLE, row, at);
+                    row[at - CELL_CONTENT_FROM_END] = content;
+                }
+            }
+            row[at++] = '\n';
+            write(out, row, at);
+            write(out, border, length);
+        }
+    }
+
+    /**
+     * Renders districts of a region as an ASCII-graphic string.
+     * @param region the region whose districts are rendered
+     * @param districts the districts
+     * @return the rendering of the districts
+     * @see #renderDistricts(Appendable, Region, Collection, boolean)
+     */
+    public static String renderDistrictsAsASCII(
+            final Region region, final Collection<District> districts) {
+        StringBuilder rendering = new StringBuilder();
+        try {
+            renderDistricts(rendering, region, districts, false);
+        } catch (IOException e) {
+            // A StringBuilder does not throw IOException.
+            throw new UncheckedIOException(e);
+        }
+        return rendering.toString();
+    }
+
+    /**
+     * Renders the districts of a plan as an ASCII-graphic string.
+     * @param plan the plan
+     * @return the rendering of the plan's districts
+     * @see #renderDistricts(Appendable, Region, Collection, boolean)
+     */
+    public static String renderDistrictsAsASCII(final DistrictPlan plan) {
+        StringBuilder rendering = new StringBuilder();
+        try {
+            renderDistricts(rendering, plan, false);
+        } catch (IOException e) {
+            // A StringBuilder does not throw IOException.
+            throw new UncheckedIOException(e);
+        }
+        return rendering.toString();
+    }
+
+    /**
+     * Renders districts of a region, writing directly to the given
+     * destination one line at a time.
+     * The grid covers the rectangle that bounds the region's locations.
+     * Edges between cells of the same district are drawn thin
+     * (<code>-</code> and <code>|</code>); edges between different
+     * districts, and around the region, are drawn thick
+     * (<code>=</code> and <code>#</code>).  Each cell shows the label
+     * of its district: districts are numbered from 0 in the order in
+     * which their first location appears, row by row.  A location in no
+     * district is shown empty, as is a cell outside the region, which
+     * has no edges of its own.  A location in several districts is
+     * shown in the last of them.
+     * <p>The cell-to-district index is built once, in time linear in
+     * the number of cells and district locations, so rendering takes
+     * linear time whatever the number of districts.</p>
+     * @param out the destination of the rendering
+     * @param region the region whose districts are rendered; nothing is
+     *        written if it is null or has no locations
+     * @param districts the districts
+     * @param ansi true to also color each district's cells with ANSI
+     *        terminal background colors
+     * @throws IOException if the destination throws IOException
+     */
+    public static void renderDistricts(final Appendable out,
+                                       final Region region,
+                                       final Collection<District> districts,
+                                       final boolean ansi)
+            throws IOException {
+        if (region == null || region.size() < 1) {
+            return;
+        }
+        int[] bounds = bounds(region);
+        int minX = bounds[BOUNDS_MIN_X];
+        int minY = bounds[BOUNDS_MIN_Y];
+        int numCols = bounds[BOUNDS_WIDTH];
+        int numRows = bounds[BOUNDS_HEIGHT];
+        int[] index = new int[numCols * numRows];
+        if (region instanceof GridRegion) {
+            Arrays.fill(index, NO_DISTRICT);
+        } else {
+            Arrays.fill(index, OUTSIDE_REGION);
+            for (Location loc : region.locationsView()) {
+                index[(loc.yCoordinate() - minY) * numCols
+                      + loc.xCoordinate() - minX] = NO_DISTRICT;
+            }
+        }
+        int d = 0;
+        for (District district : districts) {
+            for (Location loc : district.locationsView()) {
+                int x = loc.xCoordinate() - minX;
+                int y = loc.yCoordinate() - minY;
+                if (x >= 0 && y >= 0 && x < numCols && y < numRows
+                    && index[y * numCols + x] != OUTSIDE_REGION) {
+                    index[y * numCols + x] = d;
                 }
             }
-            rowMiddle += "\n";
-            rendering += rowMiddle + horizontalBorder;
+            d++;
         }
+        renderIndex(out, index, numCols, numRows, d, ansi);
+    }
+
+    /**
+     * Renders the districts of a plan, writing directly to the given
+     * destination one line at a time, as
+     * {@link #renderDistricts(Appendable, Region, Collection, boolean)}
+     * does; the plan itself serves as the cell-to-district index.
+     * @param out the destination of the rendering
+     * @param plan the plan
+     * @param ansi true to also color each district's cells with ANSI
+     *        terminal background colors
+     * @throws IOException if the destination throws IOException
+     */
+    public static void renderDistricts(final Appendable out,
+                                       final DistrictPlan plan,
+                                       final boolean ansi)
+            throws IOException {
+        GridRegion region = plan.region();
+        renderIndex(out, plan.labels(), region.width(), region.height(),
+                    plan.numberOfDistricts(), ansi);
+    }
 
-        return rendering;
+    /**
+     * Renders a cell-to-district index with district edges and labels.
+     * @param out the destination of the rendering
+     * @param index the district of each cell in row-major order, or
+     *        {@link #NO_DISTRICT} or {@link #OUTSIDE_REGION}
+     * @param numCols the number of columns
+     * @param numRows the number of rows
+     * @param districts the number of districts
+     * @param ansi true to color cells with ANSI background colors
+     * @throws IOException if the destination throws IOException
+     */
+    private static void renderIndex(final Appendable out, final int[] index,
+                                    final int numCols, final int numRows,
+                                    final int districts, final boolean ansi)
+            throws IOException {
+        int[] labelOf = new int[districts];
+        Arrays.fill(labelOf, -1);
+        int labels = 0;
+        int cellWidth = CELL_BORDER.length();
+        char[] line = new char[1 + numCols * cellWidth + 1
+                               + (ansi ? numCols * ANSI_OVERHEAD : 0)];
+        for (int r = 0; r <= numRows; r++) {
+            // Render the edges above row r.
+            int at = 0;
+            for (int c = 0; c <= numCols; c++) {
+                int above = cellAt(index, numCols, numRows, c, r - 1);
+                int below = cellAt(index, numCols, numRows, c, r);
+                boolean corner = above != OUTSIDE_REGION
+                        || below != OUTSIDE_REGION
+                        || cellAt(index, numCols, numRows, c - 1, r - 1)
+                           != OUTSIDE_REGION
+                        || cellAt(index, numCols, numRows, c - 1, r)
+                           != OUTSIDE_REGION;
+                line[at++] = corner ? CORNER.charAt(0) : ' ';
+                if (c < numCols) {
+                    char edge = edge(above, below, THIN_HORIZONTAL,
+                                     THICK_HORIZONTAL);
+                    for (int i = 0; i < cellWidth - 1; i++) {
+                        line[at++] = edge;
+                    }
+                }
+            }
+            line[at++] = '\n';
+            write(out, line, at);
+            if (r == numRows) {
+                break;
+            }
+            // Render the cells of row r and the edges between them.
+            at = 0;
+            for (int c = 0; c <= numCols; c++) {
+                int left = cellAt(index, numCols, numRows, c - 1, r);
+                int right = cellAt(index, numCols, numRows, c, r);
+                line[at++] = edge(left, right, EDGE.charAt(0), THICK_VERTICAL);
+                if (c == numCols) {
+                    break;
+                }
+                if (right < 0) {
+                    at = copy("   ", line, at);
+                    continue;
+                }
+                if (labelOf[right] < 0) {
+                    labelOf[right] = labels++;
+                }
+                int label = labelOf[right];
+                if (ansi) {
+                    at = copy(ANSI_BACKGROUND[label % ANSI_BACKGROUND.length],
+                              line, at);
+                }
+                at = copy(labelText(label), line, at);
+                if (ansi) {
+                    at = copy(ANSI_RESET, line, at);
+                }
+            }
+            line[at++] = '\n';
+            write(out, line, at);
+        }
+    }
+
+    /**
+     * Accesses the district of a cell, treating cells beyond the grid
+     * as outside the region.
+     * @param index the cell-to-district index
+     * @param numCols the number of columns
+     * @param numRows the number of rows
+     * @param c the column
+     * @param r the row
+     * @return the district, {@link #NO_DISTRICT}, or
+     *         {@link #OUTSIDE_REGION}
+     */
+    private static int cellAt(final int[] index, final int numCols,
+                              final int numRows, final int c, final int r) {
+        if (c < 0 || r < 0 || c >= numCols || r >= numRows) {
+            return OUTSIDE_REGION;
+        }
+        return index[r * numCols + c];
+    }
+
+    /**
+     * Chooses the character of the edge between two cells.
+     * @param first the district of one cell
+     * @param second the district of the other cell
+     * @param thin the character of an edge within a district
+     * @param thick the character of an edge between districts
+     * @return a space if both cells are outside the region, the thin
+     *         character if both are in the same district or in none,
+     *         and the thick character otherwise
+     */
+    private static char edge(final int first, final int second,
+                             final char thin, final char thick) {
+        if (first == OUTSIDE_REGION && second == OUTSIDE_REGION) {
+            return ' ';
+        }
+        if (first == second && first != OUTSIDE_REGION) {
+            return thin;
+        }
+        return thick;
+    }
+
+    /**
+     * Formats a district label to the width of a cell.
+     * @param label the label
+     * @return the label, padded or replaced by {@link #ANY} to fit
+     */
+    private static String labelText(final int label) {
+        String text = Integer.toString(label);
+        switch (text.length()) {
+            case 1:
+                return " " + text + " ";
+            case 2:
+                return text + " ";
+            case LABEL_WIDTH:
+                return text;
+            default:
+                return " " + ANY + " ";
+        }
+    }
+
+    /**
+     * Determines the rectangle bounding a region's locations.
+     * @param region a region with at least one location
+     * @return the least x- and y-coordinates, width, and height,
+     *         at positions BOUNDS_MIN_X, BOUNDS_MIN_Y, BOUNDS_WIDTH,
+     *         and BOUNDS_HEIGHT
+     */
+    private static int[] bounds(final Region region) {
+        int[] bounds = new int[BOUNDS_LENGTH];
+        if (region instanceof GridRegion) {
+            bounds[BOUNDS_WIDTH] = ((GridRegion) region).width();
+            bounds[BOUNDS_HEIGHT] = ((GridRegion) region).height();
+            return bounds;
+        }
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        for (Location loc : region.locationsView()) {
+            minX = Math.min(minX, loc.xCoordinate());
+            minY = Math.min(minY, loc.yCoordinate());
+            maxX = Math.max(maxX, loc.xCoordinate());
+            maxY = Math.max(maxY, loc.yCoordinate());
+        }
+        bounds[BOUNDS_MIN_X] = minX;
+        bounds[BOUNDS_MIN_Y] = minY;
+        bounds[BOUNDS_WIDTH] = maxX - minX + 1;
+        bounds[BOUNDS_HEIGHT] = maxY - minY + 1;
+        return bounds;
+    }
+
+    /**
+     * Indexes the cells of a region's bounding rectangle in row-major
+     * order: 0 for a cell outside the region, 1 for a location without
+     * a known affiliation, and 2 plus the party ordinal otherwise.
+     * @param region the region
+     * @param showAffiliation true to record party affiliation
+     * @param minX the least x-coordinate of the region
+     * @param minY the least y-coordinate of the region
+     * @param numCols the width of the rectangle
+     * @param numRows the height of the rectangle
+     * @return the index
+     */
+    private static byte[] denseIndex(final Region region,
+                                     final boolean showAffiliation,
+                                     final int minX, final int minY,
+                                     final int numCols, final int numRows) {
+        byte[] cells = new byte[numCols * numRows];
+        for (Location loc : region.locationsView()) {
+            cells[(loc.yCoordinate() - minY) * numCols
+                  + loc.xCoordinate() - minX] = CELL_LOCATION;
+        }
+        if (showAffiliation) {
+            for (Voter vot : region.voters()) {
+                Location loc = vot.location();
+                int cell = (loc.yCoordinate() - minY) * numCols
+                           + loc.xCoordinate() - minX;
+                if (cell >= 0 && cell < cells.length
+                    && cells[cell] != CELL_OUTSIDE) {
+                    cells[cell] = (byte) (CELL_PARTY
+                                          + vot.affiliation().ordinal());
+                }
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Determines the character shown within an indexed cell.
+     * @param cell the index entry of the cell
+     * @return the character, or a space for a cell outside the region
+     */
+    private static char contentOf(final byte cell) {
+        if (cell == CELL_OUTSIDE) {
+            return ' ';
+        }
+        if (cell == CELL_LOCATION) {
+            return ANY.charAt(0);
+        }
+        return PARTIES[cell - CELL_PARTY].id();
+    }
+
+    /**
+     * Copies a string into a buffer.
+     * @param text the string
+     * @param buffer the buffer
+     * @param at the position at which to copy
+     * @return the position following the copy
+     */
+    private static int copy(final String text, final char[] buffer,
+                            final int at) {
+        text.getChars(0, text.length(), buffer, at);
+        return at + text.length();
+    }
+
+    /**
+     * Writes the start of a buffer to a destination, without copying
+     * when the destination is a writer.
+     * @param out the destination
+     * @param buffer the characters to write
+     * @param length the number of characters to write
+     * @throws IOException if the destination throws IOException
+     */
+    private static void write(final Appendable out, final char[] buffer,
+                              final int length)
+            throws IOException {
+        if (out instanceof Writer) {
+            ((Writer) out).write(buffer, 0, length);
+        } else if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(buffer, 0, length);
+        } else {
+            out.append(CharBuffer.wrap(buffer, 0, length));
+        }
     }
 
     /**
@@ -1,14 +1,24 @@
 package swdmt.redistricting;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.HashSet;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
 /**
  * The test class for Renderer.
  *
  * @author  Dr. Jody Paul
+ * @author  agent
  * @version 20191201
  */
 public class RendererTest {
@@ -265,4 +275,135 @@ public class RendererTest {
                    + "+---+---+---+---+---+---+\n",
                      Renderer.renderAsASCII(true, region5));
     }
+
+    /** Check rendering to an Appendable matches rendering to a string. */
+    @Test
+    public void renderAsASCIIAppendableTest() throws IOException {
+        GridRegion grid = new GridRegion(3, 2, new byte[] {0, 1, 2, 3, 4, 2});
+        Region[] regions = {new Region(16), grid, new Region(grid.voters())};
+        for (Region region : regions) {
+            for (boolean affiliation : new boolean[] {false, true}) {
+                StringWriter writer = new StringWriter();
+                Renderer.renderAsASCII(writer, affiliation, region);
+                assertEquals(Renderer.renderAsASCII(affiliation, region),
+                             writer.toString());
+            }
+        }
+        assertEquals(Renderer.renderAsASCII(true, grid),
+                     Renderer.renderAsASCII(true, new Region(grid.voters())));
+        assertEquals("+---+---+---+\n"
+                   + "| " + R_NO + " | " + R_UN + " | " + R_P0 + " |\n"
+                   + "+---+---+---+\n"
+                   + "| " + R_P1 + " | " + R_TP + " | " + R_P0 + " |\n"
+                   + "+---+---+---+\n",
+                     Renderer.renderAsASCII(true, grid));
+    }
+
+    /** Check rendering covers the rectangle bounding the locations. */
+    @Test
+    public void renderAsASCIIOffsetRegionTest() {
+        Set<Location> locs = new TreeSet<>();
+        locs.add(new Location(3, 2));
+        locs.add(new Location(5, 2));
+        Region region = new Region(locs, new HashSet<Voter>());
+        assertEquals("+---+---+---+\n"
+                   + "| " + R_AR + " |   | " + R_AR + " |\n"
+                   + "+---+---+---+\n",
+                     Renderer.renderAsASCII(region));
+    }
+
+    /**
+     * Check rendering of a 4000x4000 region streams every character.
+     * The 30 s limit only catches a return to quadratic rendering;
+     * RendererBenchmark measures the speed.
+     */
+    @Test
+    public void renderAsASCIILargeGridRegionTest() throws IOException {
+        final int side = 4000;
+        long[] written = new long[1];
+        Writer counter = new Writer() {
+            @Override
+            public void write(final char[] cbuf, final int off,
+                              final int len) {
+                written[0] += len;
+            }
+
+            @Override
+            public void flush() { }
+
+            @Override
+            public void close() { }
+        };
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () ->
+                Renderer.renderAsASCII(counter, true,
+                                       new GridRegion(side, side)));
+        long lineLength = 4L * side + 2;
+        assertEquals(lineLength * (2L * side + 1), written[0]);
+    }
+
+    /** Check rendering of districts with thick edges between them. */
+    @Test
+    public void renderDistrictsAsASCIITest() {
+        GridRegion region = new GridRegion(4, 2);
+        List<District> districts = new ArrayList<>();
+        districts.add(new District(Arrays.asList(
+                new Location(2, 0), new Location(3, 0),
+                new Location(3, 1))));
+        districts.add(new District(Arrays.asList(
+                new Location(0, 0), new Location(1, 0),
+                new Location(0, 1), new Location(1, 1),
+                new Location(2, 1))));
+        assertEquals("+===+===+===+===+\n"
+                   + "# 0 | 0 # 1 | 1 #\n"
+                   + "+---+---+===+---+\n"
+                   + "# 0 | 0 | 0 # 1 #\n"
+                   + "+===+===+===+===+\n",
+                     Renderer.renderDistrictsAsASCII(region, districts));
+    }
+
+    /** Check rendering of unassigned locations and cells outside. */
+    @Test
+    public void renderDistrictsAsASCIIPartialTest() {
+        Set<Location> locs = new TreeSet<>();
+        locs.add(new Location(0, 0));
+        locs.add(new Location(1, 0));
+        locs.add(new Location(1, 1));
+        Region region = new Region(locs, new HashSet<Voter>());
+        List<District> districts = new ArrayList<>();
+        districts.add(new District(Arrays.asList(new Location(1, 1))));
+        assertEquals("+===+===+\n"
+                   + "#   |   #\n"
+                   + "+===+===+\n"
+                   + "    # 0 #\n"
+                   + "    +===+\n",
+                     Renderer.renderDistrictsAsASCII(region, districts));
+        assertEquals("", Renderer.renderDistrictsAsASCII(new Region(),
+                                                         districts));
+    }
+
+    /** Check rendering a plan matches rendering its districts. */
+    @Test
+    public void renderDistrictsPlanTest() throws IOException {
+        DistrictPlan plan = ReComChain.initialPlan(new GridRegion(7, 5), 6);
+        String rendering = Renderer.renderDistrictsAsASCII(plan);
+        assertEquals(Renderer.renderDistrictsAsASCII(plan.region(),
+                                                     plan.toDistricts()),
+                     rendering);
+        StringWriter colored = new StringWriter();
+        Renderer.renderDistricts(colored, plan, true);
+        assertTrue(colored.toString().contains("\u001B["));
+        assertEquals(rendering,
+                     colored.toString().replaceAll("\u001B\\[[0-9]+m", ""));
+    }
+
+    /** Check rendering a large plan labels every district. */
+    @Test
+    public void renderDistrictsLargePlanTest() {
+        DistrictPlan plan =
+                ReComChain.initialPlan(new GridRegion(300, 300), 1500);
+        String rendering = Renderer.renderDistrictsAsASCII(plan);
+        assertEquals((4 * 300 + 2) * (2 * 300 + 1), rendering.length());
+        assertTrue(rendering.contains("999"));
+        assertTrue(rendering.contains(" " + R_AR + " "));
+    }
 }
@@ -7,91 +7,167 @@ import java.util.ArrayList;
  * Generates a list of possible districts originating from an
  * origin point of size N.
  *
- *
+ * <p>Patterns are the fixed polyominoes of size N, enumerated with
+ * Redelmeier's untried-set algorithm.  Each fixed polyomino is produced
+ * exactly once, translated so that its least location (by
+ * {@link Location#compareTo(Object)}: lowest y-coordinate, then lowest
+ * x-coordinate) is the origin.  Every other location of a pattern
+ * therefore has a positive y-coordinate, or a zero y-coordinate and a
+ * positive x-coordinate.</p>
  *
  * @author Jessica
- * @version 1.0
+ * @author agent
+ * @version 1.1
  */
 public final class StarGenerator {
+  /** Number of orthogonal neighbours of a cell. */
+  private static final int NEIGHBOURS = 4;
+
   /**
   * Returns all patterns of length n that originate from an origin point.
+  * Every call generates the patterns afresh; {@link PatternCache}
+  * keeps them for repeated use.
   * @param n length of patterns
   * @return generated pattern
   */
   public static ArrayList<ArrayList<Location>> generatePattern(final int n) {
     ArrayList<ArrayList<Location>> builtPatterns =
       new ArrayList<ArrayList<Location>>();
-    ArrayList<Location> visited = new ArrayList<Location>();
-    Location currentCoord = new Location(0, 0);
-
-    traverse(new ArrayList<Location>(), currentCoord, n, builtPatterns);
-
+    if (n > 0) {
+      new Enumeration(n, builtPatterns).run();
+    }
     return builtPatterns;
   }
 
   /**
-  * Will recursively build all possible size and patterns starting from
-  * the origin.
-  * @param visited all locations already visited
-  * @param current current location on grid during traversal
-  * @param moves the number of remaining traversals
-  * @param builtPatterns all patterns that are fully built
+  * Counts the patterns of length n without building them.
+  * The result is the number of fixed polyominoes of size n.
+  * @param n length of patterns
+  * @return number of patterns generatePattern(n) would return
   */
-  private static void traverse(final ArrayList<Location> visited,
-                               final Location current,
-                               final int moves,
-                               final ArrayList<ArrayList<Location>>
-                                     builtPatterns) {
-    int remainingMoves = moves - 1;
-
-    ArrayList<Location> newChain = new ArrayList<Location>(visited);
-    newChain.add(current);
-
-    if (remainingMoves == 0) {
-      builtPatterns.add(newChain);
-      return;
+  public static long countPatterns(final int n) {
+    if (n < 1) {
+      return 0;
     }
+    Enumeration enumeration = new Enumeration(n, null);
+    enumeration.run();
+    return enumeration.count;
+  }
 
-    Location northCoordinate = new Location(current.xCoordinate(),
-                                            current.yCoordinate() - 1);
-    if (!contains(visited, northCoordinate)) {
-      traverse(newChain, northCoordinate, remainingMoves, builtPatterns);
+  /**
+  * A single run of Redelmeier's algorithm.
+  * Cells are indexed within a (2n - 1) x n window whose origin column
+  * is n - 1, which is large enough to hold every pattern.
+  */
+  private static final class Enumeration {
+    /** Pattern size. */
+    private final int size;
+    /** Width of the cell window. */
+    private final int width;
+    /** Cells already reached by the current branch. */
+    private final boolean[] reached;
+    /** Cells of the pattern under construction. */
+    private final int[] cells;
+    /** Destination of built patterns; null when only counting. */
+    private final ArrayList<ArrayList<Location>> builtPatterns;
+    /** Number of patterns found. */
+    private long count;
+
+    /**
+    * Prepares an enumeration.
+    * @param n pattern size
+    * @param patterns destination of built patterns, or null to count only
+    */
+    Enumeration(final int n, final ArrayList<ArrayList<Location>> patterns) {
+      this.size = n;
+      this.width = 2 * n - 1;
+      this.reached = new boolean[this.width * n];
+      this.cells = new int[n];
+      this.builtPatterns = patterns;
     }
 
-    Location southCoordinate = new Location(current.xCoordinate(),
-                                            current.yCoordinate() + 1);
-    if (!contains(visited, southCoordinate)) {
-      traverse(newChain, southCoordinate, remainingMoves, builtPatterns);
+    /**
+    * Enumerates every pattern, starting from the origin.
+    */
+    void run() {
+      int origin = this.size - 1;
+      this.reached[origin] = true;
+      extend(new int[] {origin}, 1, 0);
     }
 
-    Location eastCoordinate = new Location(current.xCoordinate() + 1,
-                                           current.yCoordinate());
-    if (!contains(visited, eastCoordinate)) {
-      traverse(newChain, eastCoordinate, remainingMoves, builtPatterns);
+    /**
+    * Adds each untried cell in turn to the pattern under construction.
+    * A cell that has been tried stays reached, so later siblings never
+    * produce a pattern containing it a second time.
+    * @param untried cells adjacent to the pattern and not yet tried
+    * @param untriedCount number of valid entries in untried
+    * @param depth number of cells already in the pattern
+    */
+    private void extend(final int[] untried, final int untriedCount,
+                        final int depth) {
+      int remaining = untriedCount;
+      while (remaining > 0) {
+        int cell = untried[--remaining];
+        this.cells[depth] = cell;
+        if (depth + 1 == this.size) {
+          emit();
+          continue;
+        }
+        int[] next = new int[remaining + NEIGHBOURS];
+        System.arraycopy(untried, 0, next, 0, remaining);
+        int nextCount = remaining;
+        int x = cell % this.width;
+        int y = cell / this.width;
+        nextCount = offer(next, nextCount, x, y - 1);
+        nextCount = offer(next, nextCount, x, y + 1);
+        nextCount = offer(next, nextCount, x + 1, y);
+        nextCount = offer(next, nextCount, x - 1, y);
+        extend(next, nextCount, depth + 1);
+        for (int i = remaining; i < nextCount; i++) {
+          this.reached[next[i]] = false;
+        }
+      }
     }
 
-
-    Location westCoordinate = new Location(current.xCoordinate() - 1,
-                                           current.yCoordinate());
-    if (!contains(visited, westCoordinate)) {
-      traverse(newChain, westCoordinate, remainingMoves, builtPatterns);
+    /**
+    * Appends a cell to the untried list if it may belong to a pattern
+    * and has not yet been reached.
+    * @param untried the untried list
+    * @param untriedCount number of valid entries in untried
+    * @param x window column of the cell
+    * @param y window row of the cell
+    * @return the new number of valid entries in untried
+    */
+    private int offer(final int[] untried, final int untriedCount,
+                      final int x, final int y) {
+      boolean allowed = y > 0 || (y == 0 && x > this.size - 1);
+      if (!allowed || y >= this.size || x < 0 || x >= this.width) {
+        return untriedCount;
+      }
+      int cell = y * this.width + x;
+      if (this.reached[cell]) {
+        return untriedCount;
+      }
+      this.reached[cell] = true;
+      untried[untriedCount] = cell;
+      return untriedCount + 1;
     }
-  }
 
-  /**
-  * Checks if location is within the Location List.
-  * @param coordinates location within List
-  * @param coordinate location to check
-  * @return Whether the given location lives in the List
-  */
-  private static boolean contains(final ArrayList<Location> coordinates,
-                                  final Location coordinate) {
-    for (Location cord : coordinates) {
-      if (cord.equals(coordinate)) {
-        return true;
+    /**
+    * Records the completed pattern.
+    */
+    private void emit() {
+      this.count++;
+      if (this.builtPatterns == null) {
+        return;
       }
+      ArrayList<Location> pattern = new ArrayList<Location>(this.size);
+      for (int cell : this.cells) {
+        pattern.add(Location.of(cell % this.width - (this.size - 1),
+                                cell / this.width));
+      }
+      this.builtPatterns.add(pattern);
     }
-    return false;
   }
 
   /**
@@ -101,4 +177,3 @@ public final class StarGenerator {
   private StarGenerator() {
   }
 }
-
@@ -0,0 +1,73 @@
+package swdmt.redistricting;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+/**
+ * Tests for StarGenerator.
+ *
+ * @author  agent
+ * @version 20261017
+ */
+public class StarGeneratorTest {
+    /** Fixed polyominoes of size n (OEIS A001168), starting at n = 1. */
+    private static final long[] FIXED_POLYOMINOES = {
+        1L, 2L, 6L, 19L, 63L, 216L, 760L, 2725L, 9910L, 36446L,
+        135268L, 505861L, 1903890L, 7204874L
+    };
+
+    @Test
+    public void countPatternsMatchesFixedPolyominoSequenceTest() {
+        for (int n = 1; n <= FIXED_POLYOMINOES.length; n++) {
+            assertThat("Fixed polyomino count for n = " + n,
+                       StarGenerator.countPatterns(n),
+                       is(FIXED_POLYOMINOES[n - 1]));
+        }
+    }
+
+    @Test
+    public void nonPositiveSizeHasNoPatternsTest() {
+        assertThat(StarGenerator.countPatterns(0), is(0L));
+        assertThat(StarGenerator.generatePattern(0).size(), is(0));
+        assertThat(StarGenerator.generatePattern(-3).size(), is(0));
+    }
+
+    @Test
+    public void generatePatternProducesEachPolyominoOnceTest() {
+        for (int n = 1; n <= 8; n++) {
+            ArrayList<ArrayList<Location>> patterns =
+                    StarGenerator.generatePattern(n);
+            assertThat((long) patterns.size(), is(FIXED_POLYOMINOES[n - 1]));
+            Set<Set<Location>> distinct = new HashSet<>();
+            for (ArrayList<Location> pattern : patterns) {
+                assertThat(pattern.size(), is(n));
+                assertTrue(pattern.contains(new Location(0, 0)));
+                for (Location loc : pattern) {
+                    assertTrue(loc.compareTo(new Location(0, 0)) >= 0,
+                               "Pattern extends before the origin: " + loc);
+                }
+                assertTrue(new District(pattern).contiguityValid());
+                assertTrue(distinct.add(new HashSet<>(pattern)),
+                           "Duplicate pattern of size " + n);
+            }
+        }
+    }
+
+    @Test
+    public void generatePatternIncludesBranchedShapesTest() {
+        Set<Set<Location>> patterns = new HashSet<>();
+        for (ArrayList<Location> pattern : StarGenerator.generatePattern(5)) {
+            patterns.add(new HashSet<>(pattern));
+        }
+        ArrayList<Location> plus = new ArrayList<>();
+        plus.add(new Location(0, 0));
+        plus.add(new Location(-1, 1));
+        plus.add(new Location(0, 1));
+        plus.add(new Location(1, 1));
+        plus.add(new Location(0, 2));
+        assertTrue(patterns.contains(new HashSet<>(plus)));
+    }
+}
@@ -0,0 +1,338 @@
+package swdmt.redistricting;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+/**
+ * Loads grid regions from text files of voters, one voter per line,
+ * without creating an object per voter.
+ * <p>Each line holds the x-coordinate, the y-coordinate and the
+ * {@link Party#id()} of a voter, separated by commas or tabs, as in
+ * <code>3,4,1</code>; spaces around the fields are ignored.  Blank lines
+ * are skipped, and so is the first line when it does not begin with a
+ * digit, taking it for a header.  Cells of the region without a voter
+ * in the file hold a voter of unknown party (Party.NONE).</p>
+ * <p>The file is read through one reused byte buffer and each voter is
+ * written straight into the party column of the region, so memory use
+ * does not grow with the length of the file beyond one byte per cell.
+ * When the dimensions of the region are not given, a first pass over
+ * the file finds them.  After each load the loader reports the number
+ * of voters read and the rate at which they were read.</p>
+ * <p>A loader is not safe for use by several threads; give each thread
+ * its own.</p>
+ *
+ * @author agent
+ * @version 20261017
+ */
+public final class VoterFileLoader {
+    /** Number of bytes of the read buffer; the longest line allowed. */
+    private static final int BUFFER_BYTES = 1 << 16;
+    /** Number of distinct byte values. */
+    private static final int BYTE_VALUES = 1 << Byte.SIZE;
+    /** Cell entry of a cell without a voter yet. */
+    private static final byte EMPTY = -1;
+    /** Number of nanoseconds per second. */
+    private static final double NANOS_PER_SECOND = 1e9;
+    /** Radix of coordinates. */
+    private static final int RADIX = 10;
+    /** Party ordinal of each identification byte, or -1 if none. */
+    private static final byte[] ORDINAL_OF_ID = new byte[BYTE_VALUES];
+
+    static {
+        Arrays.fill(ORDINAL_OF_ID, EMPTY);
+        for (Party p : Party.values()) {
+            ORDINAL_OF_ID[p.id()] = (byte) p.ordinal();
+        }
+    }
+
+    /** The read buffer. */
+    private final byte[] bytes = new byte[BUFFER_BYTES];
+    /** Index of the next byte of the line being parsed. */
+    private int cursor;
+    /** Largest x-coordinate found by the pass over the file. */
+    private int maxX;
+    /** Largest y-coordinate found by the pass over the file. */
+    private int maxY;
+    /** Number of voters read by the pass over the file. */
+    private long voters;
+    /** Number of voters read by the last load. */
+    private long rows;
+    /** Duration of the last load, in nanoseconds. */
+    private long nanos;
+
+    /**
+     * Loads a region, finding its dimensions in a first pass over the
+     * file: the region is the smallest rectangle anchored at (0, 0)
+     * containing every voter.
+     * @param file the file of voters
+     * @return the region
+     * @throws IllegalArgumentException if a line is malformed, two lines
+     *         give the same location, or the region would have more than
+     *         Integer.MAX_VALUE cells
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public GridRegion load(final Path file) {
+        long start = System.nanoTime();
+        pass(file, null, 0, 0);
+        long width = this.maxX + 1L;
+        long height = this.maxY + 1L;
+        if (width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Region of " + width + "x" + height + " too large");
+        }
+        return fill(file, (int) width, (int) height, start);
+    }
+
+    /**
+     * Loads a region of given dimensions.
+     * @param file the file of voters
+     * @param width the number of columns
+     * @param height the number of rows
+     * @return the region
+     * @throws IllegalArgumentException if the dimensions are invalid,
+     *         a line is malformed or outside the region, or two lines
+     *         give the same location
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public GridRegion load(final Path file, final int width,
+                           final int height) {
+        return fill(file, width, height, System.nanoTime());
+    }
+
+    /**
+     * Accesses the number of voters read by the last load.
+     * @return the number of voters
+     */
+    public long rows() {
+        return this.rows;
+    }
+
+    /**
+     * Accesses the duration of the last load.
+     * @return the duration in nanoseconds
+     */
+    public long elapsedNanos() {
+        return this.nanos;
+    }
+
+    /**
+     * Computes the rate at which the last load read voters.
+     * @return the number of voters read per second, or 0 if none
+     */
+    public double rowsPerSecond() {
+        if (this.nanos == 0) {
+            return 0.0;
+        }
+        return this.rows * NANOS_PER_SECOND / this.nanos;
+    }
+
+    /**
+     * Fills a region from a file and records the statistics of the load.
+     * @param file the file of voters
+     * @param width the number of columns
+     * @param height the number of rows
+     * @param start the time the load started, from System.nanoTime()
+     * @return the region
+     */
+    private GridRegion fill(final Path file, final int width,
+                            final int height, final long start) {
+        if (width < 0 || height < 0
+            || (long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Invalid region dimensions " + width + "x" + height);
+        }
+        byte[] cells = new byte[width * height];
+        Arrays.fill(cells, EMPTY);
+        pass(file, cells, width, height);
+        byte none = (byte) Party.NONE.ordinal();
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == EMPTY) {
+                cells[i] = none;
+            }
+        }
+        this.rows = this.voters;
+        this.nanos = System.nanoTime() - start;
+        return new GridRegion(width, height, cells, false);
+    }
+
+    /**
+     * Reads every line of a file, either placing each voter in the cells
+     * or, when there are no cells, finding the largest coordinates.
+     * @param file the file of voters
+     * @param cells the party ordinal of each cell, EMPTY where no voter
+     *        has been placed; null to find the largest coordinates
+     * @param width the number of columns of the cells
+     * @param height the number of rows of the cells
+     */
+    private void pass(final Path file, final byte[] cells,
+                      final int width, final int height) {
+        this.maxX = -1;
+        this.maxY = -1;
+        this.voters = 0;
+        ByteBuffer buffer = ByteBuffer.wrap(this.bytes);
+        long line = 0;
+        try (FileChannel channel = FileChannel.open(file,
+                                                    StandardOpenOption.READ)) {
+            boolean end = false;
+            while (!end) {
+                end = channel.read(buffer) < 0;
+                int limit = buffer.position();
+                int from = 0;
+                for (int i = 0; i < limit; i++) {
+                    if (this.bytes[i] == '\n') {
+                        parseLine(from, i, ++line, cells, width, height);
+                        from = i + 1;
+                    }
+                }
+                if (end && from < limit) {
+                    parseLine(from, limit, ++line, cells, width, height);
+                    from = limit;
+                }
+                if (from == 0 && limit == this.bytes.length) {
+                    throw new IllegalArgumentException(
+                            "Line " + (line + 1) + " longer than "
+                            + BUFFER_BYTES + " bytes");
+                }
+                System.arraycopy(this.bytes, from, this.bytes, 0,
+                                 limit - from);
+                buffer.position(limit - from);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses one line and places or measures its voter.
+     * @param from the index of the first byte of the line
+     * @param to the index of the line terminator, or of the end of input
+     * @param line the line number, for messages
+     * @param cells the cells, or null to find the largest coordinates
+     * @param width the number of columns of the cells
+     * @param height the number of rows of the cells
+     */
+    private void parseLine(final int from, final int to, final long line,
+                           final byte[] cells, final int width,
+                           final int height) {
+        int end = to;
+        while (end > from && isSpace(this.bytes[end - 1])) {
+            end--;
+        }
+        this.cursor = from;
+        skipSpaces(end);
+        if (this.cursor == end
+            || (line == 1 && !isDigit(this.bytes[this.cursor]))) {
+            return;
+        }
+        int x = coordinate(end, line);
+        separator(end, line);
+        int y = coordinate(end, line);
+        separator(end, line);
+        if (this.cursor != end - 1) {
+            throw malformed(line);
+        }
+        int id = this.bytes[this.cursor] & (BYTE_VALUES - 1);
+        int ordinal = ORDINAL_OF_ID[id];
+        if (ordinal == EMPTY) {
+            throw new IllegalArgumentException(
+                    "Unknown party '" + (char) id + "' on line " + line);
+        }
+        this.voters++;
+        if (cells == null) {
+            this.maxX = Math.max(this.maxX, x);
+            this.maxY = Math.max(this.maxY, y);
+            return;
+        }
+        if (x >= width || y >= height) {
+            throw new IllegalArgumentException(
+                    "Location (" + x + ", " + y + ") on line " + line
+                    + " outside " + width + "x" + height + " region");
+        }
+        int cell = y * width + x;
+        if (cells[cell] != EMPTY) {
+            throw new IllegalArgumentException(
+                    "Location (" + x + ", " + y + ") on line " + line
+                    + " already has a voter");
+        }
+        cells[cell] = (byte) ordinal;
+    }
+
+    /**
+     * Parses a non-negative decimal coordinate at the cursor.
+     * @param end the end of the line
+     * @param line the line number, for messages
+     * @return the coordinate
+     */
+    private int coordinate(final int end, final long line) {
+        int start = this.cursor;
+        int value = 0;
+        while (this.cursor < end && isDigit(this.bytes[this.cursor])) {
+            int digit = this.bytes[this.cursor++] - '0';
+            if (value > (Integer.MAX_VALUE - digit) / RADIX) {
+                throw malformed(line);
+            }
+            value = value * RADIX + digit;
+        }
+        if (this.cursor == start) {
+            throw malformed(line);
+        }
+        return value;
+    }
+
+    /**
+     * Skips a comma or tab at the cursor, with any spaces around it.
+     * @param end the end of the line
+     * @param line the line number, for messages
+     */
+    private void separator(final int end, final long line) {
+        skipSpaces(end);
+        if (this.cursor == end || (this.bytes[this.cursor] != ','
+                                   && this.bytes[this.cursor] != '\t')) {
+            throw malformed(line);
+        }
+        this.cursor++;
+        skipSpaces(end);
+    }
+
+    /**
+     * Advances the cursor past spaces.
+     * @param end the end of the line
+     */
+    private void skipSpaces(final int end) {
+        while (this.cursor < end && isSpace(this.bytes[this.cursor])) {
+            this.cursor++;
+        }
+    }
+
+    /**
+     * Creates the exception reporting a malformed line.
+     * @param line the line number
+     * @return the exception
+     */
+    private static IllegalArgumentException malformed(final long line) {
+        return new IllegalArgumentException(
+                "Malformed line " + line
+                + ", expected x, y and party separated by commas or tabs");
+    }
+
+    /**
+     * Determines whether a byte is a space or carriage return.
+     * @param b the byte
+     * @return true if it is
+     */
+    private static boolean isSpace(final byte b) {
+        return b == ' ' || b == '\r';
+    }
+
+    /**
+     * Determines whether a byte is a decimal digit.
+     * @param b the byte
+     * @return true if it is
+     */
+    private static boolean isDigit(final byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
@@ -0,0 +1,117 @@
+package swdmt.redistricting;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+/**
+ * Tests for VoterFileLoader.
+ *
+ * @author  agent
+ * @version 20261017
+ */
+public class VoterFileLoaderTest {
+    /**
+     * Writes a file of text.
+     * @param directory the directory
+     * @param text the contents
+     * @return the file
+     * @throws IOException if the file cannot be written
+     */
+    private static Path file(final Path directory, final String text)
+            throws IOException {
+        Path file = directory.resolve("voters.csv");
+        Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    @Test
+    public void csvAndTsvTest(@TempDir final Path directory)
+            throws IOException {
+        VoterFileLoader loader = new VoterFileLoader();
+        GridRegion region = loader.load(file(directory,
+                "x,y,party\r\n0,0,0\r\n1, 0 ,1\r\n\r\n0\t1\tU\r\n1,1,T"));
+        assertThat(region.width(), is(2));
+        assertThat(region.height(), is(2));
+        assertThat(region.party(0, 0), is(Party.PARTY0));
+        assertThat(region.party(1, 0), is(Party.PARTY1));
+        assertThat(region.party(0, 1), is(Party.UNAFFILIATED));
+        assertThat(region.party(1, 1), is(Party.THIRDPARTY));
+        assertThat(loader.rows(), is(4L));
+        assertTrue(loader.rowsPerSecond() > 0);
+    }
+
+    @Test
+    public void givenDimensionsTest(@TempDir final Path directory)
+            throws IOException {
+        VoterFileLoader loader = new VoterFileLoader();
+        GridRegion region = loader.load(file(directory, "2\t1\t1\n"), 4, 3);
+        assertThat(region.size(), is(12));
+        assertThat(region.party(2, 1), is(Party.PARTY1));
+        assertThat(region.party(0, 0), is(Party.NONE));
+        assertThat(loader.rows(), is(1L));
+        assertThat(loader.load(file(directory, ""), 0, 0).size(), is(0));
+        assertThat(loader.load(file(directory, "\n\n")).size(), is(0));
+    }
+
+    @Test
+    public void matchesVotersTest(@TempDir final Path directory)
+            throws IOException {
+        int width = 300;
+        int height = 700;
+        Random random = new Random(3L);
+        Party[] parties = Party.values();
+        Path file = directory.resolve("large.tsv");
+        byte[] ordinals = new byte[width * height];
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            for (int y = height - 1; y >= 0; y--) {
+                for (int x = 0; x < width; x++) {
+                    Party p = parties[random.nextInt(parties.length)];
+                    ordinals[y * width + x] = (byte) p.ordinal();
+                    out.write(x + "\t" + y + "\t" + p.id() + "\n");
+                }
+            }
+        }
+        GridRegion expected = new GridRegion(width, height, ordinals);
+        VoterFileLoader loader = new VoterFileLoader();
+        GridRegion region = loader.load(file);
+        assertThat(region.partyOrdinals(), is(expected.partyOrdinals()));
+        assertThat(region.voters(), is(expected.voters()));
+        assertThat(loader.rows(), is((long) width * height));
+    }
+
+    @Test
+    public void malformedFileTest(@TempDir final Path directory)
+            throws IOException {
+        VoterFileLoader loader = new VoterFileLoader();
+        String[] bad = {"0,0,0\nx,y,party\n", "0;0;0\n", "0,0\n",
+                        "0,0,0,0\n", "0,0,X\n", "0,0,0\n-1,0,0\n",
+                        "0,0,0\n0,0,1\n", "99999999999,0,0\n",
+                        "0,0,01\n"};
+        for (String text : bad) {
+            Path file = file(directory, text);
+            assertThrows(IllegalArgumentException.class,
+                         () -> loader.load(file), text);
+        }
+        Path outside = file(directory, "2,0,0\n");
+        assertThrows(IllegalArgumentException.class,
+                     () -> loader.load(outside, 2, 2));
+        Path huge = file(directory, "70000,70000,0\n");
+        assertThrows(IllegalArgumentException.class,
+                     () -> loader.load(huge));
+        StringBuilder longLine = new StringBuilder("0,0,0");
+        for (int i = 0; i < 1 << 16; i++) {
+            longLine.append(' ');
+        }
+        Path spaces = file(directory, longLine.toString());
+        assertThrows(IllegalArgumentException.class,
+                     () -> loader.load(spaces));
+    }
+}